@@ -0,0 +1,189 @@
+package io.github.bestheroz.mybatis;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/** 벤치마크용 엔티티. 컬럼 수만 다르고 String, Integer, Instant, Boolean, Long 컬럼이 차례로 반복된다. */
+final class BenchmarkEntities {
+  private static final Instant BASE_TIME = Instant.parse("2025-01-01T00:00:00Z");
+
+  private BenchmarkEntities() {}
+
+  @Table(name = "entity5")
+  static class Entity5 {
+    @Column private Long id;
+    @Column private String column1;
+    @Column private Integer column2;
+    @Column private Instant column3;
+    @Column private Boolean column4;
+
+    Entity5(long seed) {
+      this.id = seed;
+      this.column1 = "value-" + seed;
+      this.column2 = (int) seed;
+      this.column3 = BASE_TIME.plusSeconds(seed);
+      this.column4 = seed % 2 == 0;
+    }
+  }
+
+  interface Entity5Repository extends MybatisRepository<Entity5> {}
+
+  @Table(name = "entity20")
+  static class Entity20 {
+    @Column private Long id;
+    @Column private String column1;
+    @Column private Integer column2;
+    @Column private Instant column3;
+    @Column private Boolean column4;
+    @Column private Long column5;
+    @Column private String column6;
+    @Column private Integer column7;
+    @Column private Instant column8;
+    @Column private Boolean column9;
+    @Column private Long column10;
+    @Column private String column11;
+    @Column private Integer column12;
+    @Column private Instant column13;
+    @Column private Boolean column14;
+    @Column private Long column15;
+    @Column private String column16;
+    @Column private Integer column17;
+    @Column private Instant column18;
+    @Column private Boolean column19;
+
+    Entity20(long seed) {
+      this.id = seed;
+      this.column1 = "value-" + seed;
+      this.column2 = (int) seed;
+      this.column3 = BASE_TIME.plusSeconds(seed);
+      this.column4 = seed % 2 == 0;
+      this.column5 = seed * 31;
+      this.column6 = "value-" + seed;
+      this.column7 = (int) seed;
+      this.column8 = BASE_TIME.plusSeconds(seed);
+      this.column9 = seed % 2 == 0;
+      this.column10 = seed * 31;
+      this.column11 = "value-" + seed;
+      this.column12 = (int) seed;
+      this.column13 = BASE_TIME.plusSeconds(seed);
+      this.column14 = seed % 2 == 0;
+      this.column15 = seed * 31;
+      this.column16 = "value-" + seed;
+      this.column17 = (int) seed;
+      this.column18 = BASE_TIME.plusSeconds(seed);
+      this.column19 = seed % 2 == 0;
+    }
+  }
+
+  interface Entity20Repository extends MybatisRepository<Entity20> {}
+
+  @Table(name = "entity50")
+  static class Entity50 {
+    @Column private Long id;
+    @Column private String column1;
+    @Column private Integer column2;
+    @Column private Instant column3;
+    @Column private Boolean column4;
+    @Column private Long column5;
+    @Column private String column6;
+    @Column private Integer column7;
+    @Column private Instant column8;
+    @Column private Boolean column9;
+    @Column private Long column10;
+    @Column private String column11;
+    @Column private Integer column12;
+    @Column private Instant column13;
+    @Column private Boolean column14;
+    @Column private Long column15;
+    @Column private String column16;
+    @Column private Integer column17;
+    @Column private Instant column18;
+    @Column private Boolean column19;
+    @Column private Long column20;
+    @Column private String column21;
+    @Column private Integer column22;
+    @Column private Instant column23;
+    @Column private Boolean column24;
+    @Column private Long column25;
+    @Column private String column26;
+    @Column private Integer column27;
+    @Column private Instant column28;
+    @Column private Boolean column29;
+    @Column private Long column30;
+    @Column private String column31;
+    @Column private Integer column32;
+    @Column private Instant column33;
+    @Column private Boolean column34;
+    @Column private Long column35;
+    @Column private String column36;
+    @Column private Integer column37;
+    @Column private Instant column38;
+    @Column private Boolean column39;
+    @Column private Long column40;
+    @Column private String column41;
+    @Column private Integer column42;
+    @Column private Instant column43;
+    @Column private Boolean column44;
+    @Column private Long column45;
+    @Column private String column46;
+    @Column private Integer column47;
+    @Column private Instant column48;
+    @Column private Boolean column49;
+
+    Entity50(long seed) {
+      this.id = seed;
+      this.column1 = "value-" + seed;
+      this.column2 = (int) seed;
+      this.column3 = BASE_TIME.plusSeconds(seed);
+      this.column4 = seed % 2 == 0;
+      this.column5 = seed * 31;
+      this.column6 = "value-" + seed;
+      this.column7 = (int) seed;
+      this.column8 = BASE_TIME.plusSeconds(seed);
+      this.column9 = seed % 2 == 0;
+      this.column10 = seed * 31;
+      this.column11 = "value-" + seed;
+      this.column12 = (int) seed;
+      this.column13 = BASE_TIME.plusSeconds(seed);
+      this.column14 = seed % 2 == 0;
+      this.column15 = seed * 31;
+      this.column16 = "value-" + seed;
+      this.column17 = (int) seed;
+      this.column18 = BASE_TIME.plusSeconds(seed);
+      this.column19 = seed % 2 == 0;
+      this.column20 = seed * 31;
+      this.column21 = "value-" + seed;
+      this.column22 = (int) seed;
+      this.column23 = BASE_TIME.plusSeconds(seed);
+      this.column24 = seed % 2 == 0;
+      this.column25 = seed * 31;
+      this.column26 = "value-" + seed;
+      this.column27 = (int) seed;
+      this.column28 = BASE_TIME.plusSeconds(seed);
+      this.column29 = seed % 2 == 0;
+      this.column30 = seed * 31;
+      this.column31 = "value-" + seed;
+      this.column32 = (int) seed;
+      this.column33 = BASE_TIME.plusSeconds(seed);
+      this.column34 = seed % 2 == 0;
+      this.column35 = seed * 31;
+      this.column36 = "value-" + seed;
+      this.column37 = (int) seed;
+      this.column38 = BASE_TIME.plusSeconds(seed);
+      this.column39 = seed % 2 == 0;
+      this.column40 = seed * 31;
+      this.column41 = "value-" + seed;
+      this.column42 = (int) seed;
+      this.column43 = BASE_TIME.plusSeconds(seed);
+      this.column44 = seed % 2 == 0;
+      this.column45 = seed * 31;
+      this.column46 = "value-" + seed;
+      this.column47 = (int) seed;
+      this.column48 = BASE_TIME.plusSeconds(seed);
+      this.column49 = seed % 2 == 0;
+    }
+  }
+
+  interface Entity50Repository extends MybatisRepository<Entity50> {}
+}
@@ -0,0 +1,74 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.BenchmarkEntities.Entity20;
+import io.github.bestheroz.mybatis.BenchmarkEntities.Entity20Repository;
+import io.github.bestheroz.mybatis.BenchmarkEntities.Entity5;
+import io.github.bestheroz.mybatis.BenchmarkEntities.Entity50;
+import io.github.bestheroz.mybatis.BenchmarkEntities.Entity50Repository;
+import io.github.bestheroz.mybatis.BenchmarkEntities.Entity5Repository;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.ibatis.builder.annotation.ProviderContext;
+
+/** 벤치마크 공통: 컬럼 수별 엔티티/mapper 와 MyBatis 가 넘겨주는 ProviderContext 를 만든다. */
+final class BenchmarkSupport {
+  private BenchmarkSupport() {}
+
+  static Object entity(final int columns, final long seed) {
+    switch (columns) {
+      case 5:
+        return new Entity5(seed);
+      case 20:
+        return new Entity20(seed);
+      case 50:
+        return new Entity50(seed);
+      default:
+        throw new IllegalArgumentException("unsupported column count: " + columns);
+    }
+  }
+
+  static List<Object> entities(final int columns, final int rows) {
+    List<Object> entities = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      entities.add(entity(columns, i));
+    }
+    return entities;
+  }
+
+  static Set<Long> ids(final int size) {
+    Set<Long> ids = new LinkedHashSet<>();
+    for (long i = 0; i < size; i++) {
+      ids.add(i);
+    }
+    return ids;
+  }
+
+  /** ProviderContext 는 MyBatis 내부에서만 생성하므로 reflection 으로 만든다 (mapperType 만 사용) */
+  static ProviderContext providerContext(final int columns) {
+    try {
+      Constructor<ProviderContext> constructor =
+          ProviderContext.class.getDeclaredConstructor(Class.class, Method.class, String.class);
+      constructor.setAccessible(true);
+      return constructor.newInstance(mapperType(columns), null, null);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("cannot create ProviderContext", e);
+    }
+  }
+
+  private static Class<?> mapperType(final int columns) {
+    switch (columns) {
+      case 5:
+        return Entity5Repository.class;
+      case 20:
+        return Entity20Repository.class;
+      case 50:
+        return Entity50Repository.class;
+      default:
+        throw new IllegalArgumentException("unsupported column count: " + columns);
+    }
+  }
+}
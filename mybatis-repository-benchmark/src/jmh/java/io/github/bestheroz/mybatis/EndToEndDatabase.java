@@ -0,0 +1,137 @@
+package io.github.bestheroz.mybatis;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+
+/**
+ * end-to-end 벤치마크용 embedded H2 (MySQL 호환 모드) 와 MyBatis 설정. Spring 의 SqlSessionTemplate 처럼 연산마다
+ * auto-commit SqlSession 을 열고 mapper 프록시를 통해 리포지토리 메서드를 호출한다.
+ */
+final class EndToEndDatabase {
+  static final int SEED_USERS = 10_000;
+  static final int MAX_AGE = 100;
+
+  private static final Instant BASE_TIME = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Table(name = "bench_user")
+  static class BenchUser {
+    @Column private Long id;
+    @Column private String loginId;
+    @Column private String name;
+    @Column private Integer age;
+    @Column private Boolean active;
+    @Column private Instant createdAt;
+
+    BenchUser() {}
+
+    BenchUser(String loginId, long seed) {
+      this.loginId = loginId;
+      this.name = "name-" + seed;
+      this.age = (int) (seed % MAX_AGE);
+      this.active = seed % 3 != 0;
+      this.createdAt = BASE_TIME.plusSeconds(seed);
+    }
+  }
+
+  /** id 가 없는 엔티티 (MybatisNoIdRepository) */
+  @Table(name = "bench_event")
+  static class BenchEvent {
+    @Column private Long userId;
+    @Column private String type;
+    @Column private Instant createdAt;
+
+    BenchEvent() {}
+
+    BenchEvent(long userId, long seed) {
+      this.userId = userId;
+      this.type = "event-" + (seed % 10);
+      this.createdAt = BASE_TIME.plusSeconds(seed);
+    }
+  }
+
+  interface BenchUserRepository extends MybatisRepository<BenchUser> {}
+
+  interface BenchEventRepository extends MybatisNoIdRepository<BenchEvent> {}
+
+  private final PooledDataSource dataSource;
+  private final SqlSessionFactory sqlSessionFactory;
+
+  EndToEndDatabase(final int maxConnections) {
+    dataSource =
+        new PooledDataSource(
+            "org.h2.Driver",
+            "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "sa",
+            "");
+    dataSource.setPoolMaximumActiveConnections(maxConnections);
+    dataSource.setPoolMaximumIdleConnections(maxConnections);
+
+    Configuration configuration =
+        new Configuration(new Environment("bench", new JdbcTransactionFactory(), dataSource));
+    configuration.setMapUnderscoreToCamelCase(true);
+    configuration.addMapper(BenchUserRepository.class);
+    configuration.addMapper(BenchEventRepository.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  void createSchema() {
+    executeDdl(
+        "DROP TABLE IF EXISTS bench_user",
+        "DROP TABLE IF EXISTS bench_event",
+        "CREATE TABLE bench_user (id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+            + " login_id VARCHAR(64) NOT NULL, name VARCHAR(64), age INT, active BOOLEAN,"
+            + " created_at TIMESTAMP)",
+        "CREATE UNIQUE INDEX ux_bench_user_login_id ON bench_user (login_id)",
+        "CREATE INDEX ix_bench_user_age ON bench_user (age)",
+        "CREATE TABLE bench_event (user_id BIGINT, type VARCHAR(32), created_at TIMESTAMP)",
+        "CREATE INDEX ix_bench_event_user_id ON bench_event (user_id)");
+
+    List<BenchUser> users = new ArrayList<>(SEED_USERS);
+    for (int i = 0; i < SEED_USERS; i++) {
+      users.add(new BenchUser("seed-" + i, i));
+    }
+    users(repository -> repository.insertBatch(users));
+  }
+
+  <R> R users(final Function<BenchUserRepository, R> operation) {
+    try (SqlSession session = sqlSessionFactory.openSession(true)) {
+      return operation.apply(session.getMapper(BenchUserRepository.class));
+    }
+  }
+
+  <R> R events(final Function<BenchEventRepository, R> operation) {
+    try (SqlSession session = sqlSessionFactory.openSession(true)) {
+      return operation.apply(session.getMapper(BenchEventRepository.class));
+    }
+  }
+
+  void close() {
+    executeDdl("SHUTDOWN");
+    dataSource.forceCloseAll();
+  }
+
+  private void executeDdl(final String... statements) {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      for (String sql : statements) {
+        statement.execute(sql);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("H2 setup failed", e);
+    }
+  }
+}
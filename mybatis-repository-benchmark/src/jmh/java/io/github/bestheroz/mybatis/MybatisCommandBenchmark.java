@@ -0,0 +1,124 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * provider 메서드별 SQL 생성 비용. MyBatis 처럼 호출마다 새 ParamMap 을 넘기므로 bind-parameter 모드의 바인딩 비용도 포함된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MybatisCommandBenchmark {
+  @Param({"5", "20", "50"})
+  private int columns;
+
+  @Param({"10", "100", "1000"})
+  private int inSize;
+
+  @Param({"false", "true"})
+  private boolean bindParameterMode;
+
+  private MybatisCommand command;
+  private ProviderContext context;
+  private Object entity;
+  private Map<String, Object> whereConditions;
+  private Map<String, Object> updateMap;
+  private List<String> orderByConditions;
+  private List<Object> lastKeys;
+
+  @Setup
+  public void setUp() {
+    MybatisRepositoryProperties.getInstance().setBindParameterMode(bindParameterMode);
+    command = new MybatisCommand();
+    context = BenchmarkSupport.providerContext(columns);
+    entity = BenchmarkSupport.entity(columns, 1L);
+
+    whereConditions = new LinkedHashMap<>();
+    whereConditions.put("id:in", BenchmarkSupport.ids(inSize));
+    whereConditions.put("column1", "value-1");
+    whereConditions.put("column2:lt", 100);
+
+    updateMap = new LinkedHashMap<>();
+    updateMap.put("column1", "updated");
+    updateMap.put("column2", 2);
+
+    orderByConditions = Arrays.asList("-column3", "id");
+    lastKeys = Arrays.asList("2025-01-01 00:00:00.000", 100L);
+  }
+
+  @TearDown
+  public void tearDown() {
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Benchmark
+  public String provideCountSQL() {
+    return command.provideCountSQL(context, params(whereConditions));
+  }
+
+  @Benchmark
+  public String provideSelectOneSQL() {
+    return command.provideSelectOneSQL(context, params(whereConditions));
+  }
+
+  @Benchmark
+  public String provideSelectSQL() {
+    Map<String, Object> params = params(Collections.emptySet());
+    params.put("param3", Collections.emptySet());
+    params.put("param4", whereConditions);
+    params.put("param5", orderByConditions);
+    params.put("param6", 20);
+    params.put("param7", 40);
+    return command.provideSelectSQL(context, params);
+  }
+
+  @Benchmark
+  public String provideSelectKeysetSQL() {
+    Map<String, Object> params = params(whereConditions);
+    params.put("param3", orderByConditions);
+    params.put("param4", lastKeys);
+    params.put("param5", 21);
+    return command.provideSelectKeysetSQL(context, params);
+  }
+
+  @Benchmark
+  public String provideUpdateSQL() {
+    Map<String, Object> params = params(updateMap);
+    params.put("param3", whereConditions);
+    return command.provideUpdateSQL(context, params);
+  }
+
+  @Benchmark
+  public String provideDeleteSQL() {
+    return command.provideDeleteSQL(context, params(whereConditions));
+  }
+
+  @Benchmark
+  public String provideInsertSQL() {
+    return command.provideInsertSQL(context, params(entity));
+  }
+
+  /** mapper 호출 시 MyBatis 가 만드는 ParamMap(param1 = context, param2 = 첫 번째 인자, …) */
+  private static Map<String, Object> params(final Object param2) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("param1", null);
+    params.put("param2", param2);
+    return params;
+  }
+}
@@ -0,0 +1,161 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.EndToEndDatabase.BenchEvent;
+import io.github.bestheroz.mybatis.EndToEndDatabase.BenchUser;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * MyBatis mapper 프록시, ProviderSqlSource, JDBC 드라이버를 모두 거치는 end-to-end 벤치마크. embedded H2 (MySQL 호환
+ * 모드) 를 사용하므로 외부 DB 없이 실행된다.
+ *
+ * <p>Throughput 으로 ops/sec 를, SampleTime 으로 p50/p99/p999 지연 시간을 기록한다. 스레드 수별 실행은
+ * MybatisEndToEndBenchmarkRunner 를 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MybatisEndToEndBenchmark {
+  private static final int MAX_CONNECTIONS = 64;
+  private static final int BATCH_SIZE = 100;
+  private static final int DELETE_POOL_SIZE = 5_000;
+
+  @Param({"false", "true"})
+  private boolean bindParameterMode;
+
+  private EndToEndDatabase database;
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Setup
+  public void setUp() {
+    MybatisRepositoryProperties.getInstance().setBindParameterMode(bindParameterMode);
+    database = new EndToEndDatabase(MAX_CONNECTIONS);
+    database.createSchema();
+  }
+
+  @TearDown
+  public void tearDown() {
+    database.close();
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  /** deleteByMap 대상 행. iteration 마다 스레드별로 미리 넣어 두고 하나씩 지운다 */
+  @State(Scope.Thread)
+  public static class DeleteTargets {
+    private final Deque<String> loginIds = new ArrayDeque<>();
+    private final String prefix = "delete-" + UUID.randomUUID() + "-";
+
+    @Setup(Level.Iteration)
+    public void fill(MybatisEndToEndBenchmark benchmark) {
+      List<BenchUser> users = new ArrayList<>(DELETE_POOL_SIZE);
+      for (int i = loginIds.size(); i < DELETE_POOL_SIZE; i++) {
+        String loginId = prefix + benchmark.sequence.incrementAndGet();
+        users.add(new BenchUser(loginId, i));
+        loginIds.add(loginId);
+      }
+      if (!users.isEmpty()) {
+        benchmark.database.users(repository -> repository.insertBatch(users));
+      }
+    }
+
+    /** 다 쓰면 없는 loginId 로 DELETE 를 실행한다 (0 행) */
+    String next() {
+      String loginId = loginIds.poll();
+      return loginId == null ? prefix + "missing" : loginId;
+    }
+  }
+
+  @Benchmark
+  public Optional<BenchUser> getItemById() {
+    long id = randomUserId();
+    return database.users(repository -> repository.getItemById(id));
+  }
+
+  @Benchmark
+  public List<BenchUser> getItemsByMapOrderByLimitOffset() {
+    Map<String, Object> where = new HashMap<>();
+    where.put("age", ThreadLocalRandom.current().nextInt(EndToEndDatabase.MAX_AGE));
+    where.put("active", true);
+    List<String> orderBy = Collections.singletonList("-id");
+    return database.users(
+        repository -> repository.getItemsByMapOrderByLimitOffset(where, orderBy, 20, 0));
+  }
+
+  @Benchmark
+  public long countByMap() {
+    Map<String, Object> where =
+        Collections.singletonMap(
+            "age:gte", ThreadLocalRandom.current().nextInt(EndToEndDatabase.MAX_AGE));
+    return database.users(repository -> repository.countByMap(where));
+  }
+
+  @Benchmark
+  public BenchUser insert() {
+    long seed = sequence.incrementAndGet();
+    BenchUser user = new BenchUser("insert-" + seed, seed);
+    database.users(
+        repository -> {
+          repository.insert(user);
+          return null;
+        });
+    return user;
+  }
+
+  /** MybatisNoIdRepository 의 multi-row insertBatch */
+  @Benchmark
+  public int insertBatch() {
+    long userId = randomUserId();
+    List<BenchEvent> events = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      events.add(new BenchEvent(userId, i));
+    }
+    return database.events(repository -> repository.insertBatch(events));
+  }
+
+  @Benchmark
+  public long updateMapById() {
+    long id = randomUserId();
+    Map<String, Object> updateMap = Collections.singletonMap("name", "updated-" + id);
+    database.users(
+        repository -> {
+          repository.updateMapById(updateMap, id);
+          return null;
+        });
+    return id;
+  }
+
+  @Benchmark
+  public String deleteByMap(DeleteTargets targets) {
+    String loginId = targets.next();
+    database.users(
+        repository -> {
+          repository.deleteByMap(Collections.singletonMap("loginId", loginId));
+          return null;
+        });
+    return loginId;
+  }
+
+  private static long randomUserId() {
+    return ThreadLocalRandom.current().nextLong(1, EndToEndDatabase.SEED_USERS + 1);
+  }
+}
@@ -0,0 +1,47 @@
+package io.github.bestheroz.mybatis;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * MybatisEndToEndBenchmark 를 스레드 수별로 실행하고 결과를 스레드 수마다 JSON 파일로 남긴다.
+ *
+ * <p>인자: 결과 디렉토리, 스레드 수 목록 (쉼표 구분, 기본 1,2,4,8,16,32,64)
+ */
+public final class MybatisEndToEndBenchmarkRunner {
+  private static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+
+  private MybatisEndToEndBenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException {
+    File reportDir = new File(args.length > 0 ? args[0] : "build/reports/jmh/e2e");
+    String threadCounts = args.length > 1 ? args[1] : DEFAULT_THREADS;
+    if (!reportDir.isDirectory() && !reportDir.mkdirs()) {
+      throw new IllegalStateException("cannot create report directory: " + reportDir);
+    }
+
+    for (String threadCount : threadCounts.split(",")) {
+      int threads = Integer.parseInt(threadCount.trim());
+      Options options =
+          new OptionsBuilder()
+              .include(MybatisEndToEndBenchmark.class.getName())
+              .threads(threads)
+              .forks(1)
+              .warmupIterations(2)
+              .warmupTime(TimeValue.seconds(2))
+              .measurementIterations(3)
+              .measurementTime(TimeValue.seconds(3))
+              .timeUnit(TimeUnit.MILLISECONDS)
+              .resultFormat(ResultFormatType.JSON)
+              .result(new File(reportDir, "threads-" + threads + ".json").getPath())
+              .build();
+      new Runner(options).run();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * insertBatch 의 multi-row INSERT SQL 생성 비용. 단일 INSERT 문과 insertBatchMaxRows/Bytes 로 나눈 chunk 를
+ * 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MybatisInsertBatchBenchmark {
+  @Param({"5", "20", "50"})
+  private int columns;
+
+  @Param({"100", "1000", "10000"})
+  private int rows;
+
+  private MybatisCommand command;
+  private List<Object> entities;
+
+  @Setup
+  public void setUp() {
+    command = new MybatisCommand();
+    entities = BenchmarkSupport.entities(columns, rows);
+  }
+
+  @Benchmark
+  public String buildInsertBatchSQL() {
+    return command.buildInsertBatchSQL(entities);
+  }
+
+  /** MULTI_ROW 모드의 insertBatch 와 같은 경로: chunk 로 나누고 chunk 마다 SQL 을 만든다 */
+  @Benchmark
+  public void splitAndBuildInsertBatchSQL(Blackhole blackhole) {
+    for (List<Object> chunk : MybatisCommand.splitInsertBatch(entities)) {
+      blackhole.consume(command.buildInsertBatchSQL(chunk));
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package io.github.bestheroz.mybatis;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** 값 하나의 SQL 리터럴 변환(formatValueForSQL)과 엔티티 → Map 변환(toMap) 비용 */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MybatisValueBenchmark {
+  @Param({"5", "20", "50"})
+  private int columns;
+
+  private MybatisClauseBuilder clauseBuilder;
+  private Object entity;
+  private String stringValue;
+  private Instant instantValue;
+
+  @Setup
+  public void setUp() {
+    MybatisStringHelper stringHelper = new MybatisStringHelper();
+    clauseBuilder = new MybatisClauseBuilder(stringHelper, new MybatisEntityHelper(stringHelper));
+    entity = BenchmarkSupport.entity(columns, 1L);
+    stringValue = "It's a benchmark value";
+    instantValue = Instant.parse("2025-01-02T12:34:56Z");
+  }
+
+  @Benchmark
+  public String formatStringValue() {
+    return clauseBuilder.formatValueForSQL(stringValue);
+  }
+
+  @Benchmark
+  public String formatInstantValue() {
+    return clauseBuilder.formatValueForSQL(instantValue);
+  }
+
+  @Benchmark
+  public String formatLongValue() {
+    return clauseBuilder.formatValueForSQL(123456789L);
+  }
+
+  @Benchmark
+  public Map<String, Object> toMap() {
+    return MybatisCommand.toMap(entity);
+  }
+}
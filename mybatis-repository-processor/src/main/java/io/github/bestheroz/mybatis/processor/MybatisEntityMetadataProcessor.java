@@ -0,0 +1,299 @@
+package io.github.bestheroz.mybatis.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * @Table 엔티티마다 io.github.bestheroz.mybatis.MybatisGeneratedMetadata 구현 클래스를 생성한다.
+ *
+ * <p>런타임의 MybatisEntityMetadata 리플렉션 스캔과 같은 규칙(@Column 필드, 클래스 → 상위 클래스 선언 순서, 컬럼명/테이블명
+ * CamelCase→snake_case, @Id 또는 id 필드)을 따른다. private 이 아닌 필드는 생성 코드에서 직접 읽는다.
+ */
+@SupportedAnnotationTypes({"jakarta.persistence.Table", "javax.persistence.Table"})
+public class MybatisEntityMetadataProcessor extends AbstractProcessor {
+  static final String CLASS_NAME_SUFFIX = "_MybatisMetadata";
+  private static final String GENERATED_INTERFACE =
+      "io.github.bestheroz.mybatis.MybatisGeneratedMetadata";
+
+  private final Set<String> generatedNames = new HashSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(
+      final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.CLASS) {
+          generate((TypeElement) element);
+        }
+      }
+    }
+    // 다른 프로세서도 @Table 을 처리할 수 있도록 claim 하지 않는다
+    return false;
+  }
+
+  private void generate(final TypeElement entity) {
+    if (!isAccessible(entity)) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.NOTE, "private entity is skipped, reflection will be used", entity);
+      return;
+    }
+    String packageName =
+        processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+    String binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+    String simpleName =
+        (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_')
+            + CLASS_NAME_SUFFIX;
+    String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    if (!generatedNames.add(qualifiedName)) {
+      return;
+    }
+
+    List<VariableElement> fields = scanColumnFields(entity);
+    String[] columnNames = new String[fields.size()];
+    int idIndex = -1;
+    for (int i = 0; i < fields.size(); i++) {
+      VariableElement field = fields.get(i);
+      String name = readName(findAnnotation(field, "Column"));
+      columnNames[i] = name != null ? name : camelCaseToSnakeCase(field.getSimpleName().toString());
+      if (findAnnotation(field, "Id") != null
+          || (idIndex == -1 && field.getSimpleName().contentEquals("id"))) {
+        idIndex = i;
+      }
+    }
+    String tableName = readName(findAnnotation(entity, "Table"));
+    if (tableName == null) {
+      tableName = camelCaseToSnakeCase(entity.getSimpleName().toString()).toLowerCase();
+    }
+
+    String source =
+        render(packageName, simpleName, entity, fields, columnNames, tableName, idIndex);
+    try (Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedName, entity).openWriter()) {
+      writer.write(source);
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Failed to generate " + qualifiedName + ": " + e, entity);
+    }
+  }
+
+  private String render(
+      final String packageName,
+      final String simpleName,
+      final TypeElement entity,
+      final List<VariableElement> fields,
+      final String[] columnNames,
+      final String tableName,
+      final int idIndex) {
+    StringBuilder sb = new StringBuilder(1024);
+    if (!packageName.isEmpty()) {
+      sb.append("package ").append(packageName).append(";\n\n");
+    }
+    sb.append("/** mybatis-repository-processor 가 ")
+        .append(entity.getQualifiedName())
+        .append(" 로부터 생성한 메타데이터 */\n");
+    sb.append("public final class ")
+        .append(simpleName)
+        .append(" implements ")
+        .append(GENERATED_INTERFACE)
+        .append(" {\n");
+    sb.append("  private static final String[] FIELD_NAMES = {");
+    for (int i = 0; i < fields.size(); i++) {
+      sb.append(i == 0 ? "" : ", ").append(literal(fields.get(i).getSimpleName().toString()));
+    }
+    sb.append("};\n");
+    sb.append("  private static final String[] COLUMN_NAMES = {");
+    for (int i = 0; i < columnNames.length; i++) {
+      sb.append(i == 0 ? "" : ", ").append(literal(columnNames[i]));
+    }
+    sb.append("};\n\n");
+
+    sb.append("  @Override\n  public String getTableName() {\n    return ")
+        .append(literal(tableName))
+        .append(";\n  }\n\n");
+    sb.append("  @Override\n  public String[] getFieldNames() {\n")
+        .append("    return FIELD_NAMES.clone();\n  }\n\n");
+    sb.append("  @Override\n  public String[] getColumnNames() {\n")
+        .append("    return COLUMN_NAMES.clone();\n  }\n\n");
+    sb.append("  @Override\n  public int getIdIndex() {\n    return ")
+        .append(idIndex)
+        .append(";\n  }\n\n");
+
+    StringBuilder readable = new StringBuilder();
+    StringBuilder getters = new StringBuilder();
+    for (int i = 0; i < fields.size(); i++) {
+      VariableElement field = fields.get(i);
+      if (!isReadable(field, packageName)) {
+        continue;
+      }
+      TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+      readable.append("      case ").append(i).append(":\n");
+      getters
+          .append("      case ")
+          .append(i)
+          .append(":\n        return ((")
+          .append(declaringType.getQualifiedName())
+          .append(") entity).")
+          .append(field.getSimpleName())
+          .append(";\n");
+    }
+    sb.append("  @Override\n  public boolean isReadable(int index) {\n    switch (index) {\n")
+        .append(readable)
+        .append(readable.length() == 0 ? "" : "        return true;\n")
+        .append("      default:\n        return false;\n    }\n  }\n\n");
+    sb.append("  @Override\n  public Object getValue(Object entity, int index) {\n")
+        .append("    switch (index) {\n")
+        .append(getters)
+        .append("      default:\n")
+        .append("        throw new IllegalArgumentException(")
+        .append("\"Field is not readable: \" + index);\n")
+        .append("    }\n  }\n}\n");
+    return sb.toString();
+  }
+
+  // ===========================================
+  // Element 조회
+  // ===========================================
+
+  /** 클래스 → 상위 클래스 순서로 @Column 필드를 모은다. */
+  private List<VariableElement> scanColumnFields(final TypeElement entity) {
+    List<VariableElement> columnFields = new ArrayList<>();
+    TypeElement current = entity;
+    while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        if (findAnnotation(field, "Column") != null) {
+          columnFields.add(field);
+        }
+      }
+      TypeMirror superclass = current.getSuperclass();
+      current =
+          superclass.getKind() == TypeKind.DECLARED
+              ? (TypeElement) ((DeclaredType) superclass).asElement()
+              : null;
+    }
+    return columnFields;
+  }
+
+  /** 생성 클래스(엔티티와 같은 패키지)에서 직접 읽을 수 있는 필드인지 */
+  private boolean isReadable(final VariableElement field, final String packageName) {
+    Set<Modifier> modifiers = field.getModifiers();
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return false;
+    }
+    TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+    if (!isAccessible(declaringType)) {
+      return false;
+    }
+    String declaringPackage =
+        processingEnv.getElementUtils().getPackageOf(declaringType).getQualifiedName().toString();
+    if (declaringPackage.equals(packageName)) {
+      return true;
+    }
+    return modifiers.contains(Modifier.PUBLIC) && isPublic(declaringType);
+  }
+
+  private static boolean isAccessible(final TypeElement type) {
+    Element current = type;
+    while (current instanceof TypeElement) {
+      if (current.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private static boolean isPublic(final TypeElement type) {
+    Element current = type;
+    while (current instanceof TypeElement) {
+      if (!current.getModifiers().contains(Modifier.PUBLIC)) {
+        return false;
+      }
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private static AnnotationMirror findAnnotation(final Element element, final String simpleName) {
+    for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+      String annType =
+          ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+      if (annType.equals("jakarta.persistence." + simpleName)
+          || annType.equals("javax.persistence." + simpleName)) {
+        return mirror;
+      }
+    }
+    return null;
+  }
+
+  private static String readName(final AnnotationMirror annotation) {
+    if (annotation == null) {
+      return null;
+    }
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        annotation.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals("name")) {
+        Object value = entry.getValue().getValue();
+        if (value instanceof String && !((String) value).isEmpty()) {
+          return (String) value;
+        }
+      }
+    }
+    return null;
+  }
+
+  // ===========================================
+  // 문자열 변환 (MybatisStringHelper 와 같은 규칙)
+  // ===========================================
+
+  static String camelCaseToSnakeCase(final String str) {
+    if (str == null || str.isEmpty()) {
+      return str;
+    }
+    StringBuilder sb = new StringBuilder(str.length() * 2);
+    sb.append(Character.toLowerCase(str.charAt(0)));
+    for (int i = 1; i < str.length(); i++) {
+      char c = str.charAt(i);
+      if (Character.isUpperCase(c)) {
+        sb.append('_').append(Character.toLowerCase(c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  static String literal(final String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+    for (char c : value.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
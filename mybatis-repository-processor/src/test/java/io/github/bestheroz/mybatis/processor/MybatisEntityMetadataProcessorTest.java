@@ -0,0 +1,217 @@
+package io.github.bestheroz.mybatis.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import com.google.testing.compile.JavaFileObjects;
+import io.github.bestheroz.mybatis.MybatisEntityHelper;
+import io.github.bestheroz.mybatis.MybatisEntityMetadata;
+import io.github.bestheroz.mybatis.MybatisGeneratedMetadata;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.JavaFileObject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisEntityMetadataProcessorTest {
+  private static final JavaFileObject OTHER_BASE =
+      JavaFileObjects.forSourceLines(
+          "other.OtherBase",
+          "package other;",
+          "",
+          "import jakarta.persistence.Column;",
+          "",
+          "public class OtherBase {",
+          "  @Column Long otherId;",
+          "  @Column public String shared;",
+          "}");
+
+  private static final JavaFileObject ENTITIES =
+      JavaFileObjects.forSourceLines(
+          "test.Outer",
+          "package test;",
+          "",
+          "import jakarta.persistence.Column;",
+          "import jakarta.persistence.Id;",
+          "import jakarta.persistence.Table;",
+          "",
+          "public class Outer {",
+          "  public static class Base {",
+          "    @Column protected Long id;",
+          "    @Column private String createdBy;",
+          "  }",
+          "",
+          "  @Table(name = \"members\")",
+          "  public static class Member extends Base {",
+          "    @Column(name = \"nm\") String name;",
+          "    @Column private String loginId;",
+          "    String notColumn;",
+          "  }",
+          "",
+          "  @Table",
+          "  static class KeyedItem {",
+          "    @Id @Column Long itemCode;",
+          "    @Column Long id;",
+          "  }",
+          "",
+          "  @Table",
+          "  private static class Hidden {",
+          "    @Column Long id;",
+          "  }",
+          "}");
+
+  private static final JavaFileObject CHILD =
+      JavaFileObjects.forSourceLines(
+          "test.Child",
+          "package test;",
+          "",
+          "import jakarta.persistence.Column;",
+          "import jakarta.persistence.Table;",
+          "",
+          "@Table(name = \"children\")",
+          "public class Child extends other.OtherBase {",
+          "  @Column Long id;",
+          "}");
+
+  private static Compilation compilation;
+
+  @BeforeAll
+  static void compile() {
+    compilation =
+        Compiler.javac()
+            .withProcessors(new MybatisEntityMetadataProcessor())
+            .compile(OTHER_BASE, ENTITIES, CHILD);
+  }
+
+  // 컴파일 결과의 클래스 파일을 읽는 ClassLoader. withGenerated 가 false 면 생성된 메타데이터 클래스를 숨긴다
+  private static ClassLoader classLoader(final boolean withGenerated) {
+    List<JavaFileObject> classFiles =
+        compilation.generatedFiles().stream()
+            .filter(file -> file.getKind() == JavaFileObject.Kind.CLASS)
+            .collect(Collectors.toList());
+    return new ClassLoader(MybatisEntityMetadataProcessorTest.class.getClassLoader()) {
+      @Override
+      protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        if (!withGenerated && name.endsWith(MybatisEntityMetadataProcessor.CLASS_NAME_SUFFIX)) {
+          throw new ClassNotFoundException(name);
+        }
+        String path = "/" + name.replace('.', '/') + ".class";
+        for (JavaFileObject file : classFiles) {
+          if (file.toUri().getPath().endsWith(path)) {
+            byte[] bytes = read(file);
+            return defineClass(name, bytes, 0, bytes.length);
+          }
+        }
+        throw new ClassNotFoundException(name);
+      }
+    };
+  }
+
+  private static byte[] read(final JavaFileObject file) {
+    try (InputStream in = file.openInputStream()) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+        out.write(buffer, 0, n);
+      }
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // 필드마다 다른 값을 넣은 엔티티
+  private static Object newEntity(final Class<?> entityClass) throws ReflectiveOperationException {
+    Constructor<?> constructor = entityClass.getDeclaredConstructor();
+    constructor.setAccessible(true);
+    Object entity = constructor.newInstance();
+    long next = 1;
+    for (Class<?> type = entityClass; type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        field.setAccessible(true);
+        field.set(entity, field.getType() == Long.class ? next : field.getName() + next);
+        next++;
+      }
+    }
+    return entity;
+  }
+
+  private static void assertSameAsReflection(final String entityName) throws Exception {
+    // given
+    Class<?> withGenerated = classLoader(true).loadClass(entityName);
+    Class<?> reflectionOnly = classLoader(false).loadClass(entityName);
+
+    // when
+    MybatisEntityMetadata generated = MybatisEntityHelper.getMetadata(withGenerated);
+    MybatisEntityMetadata reflected = MybatisEntityHelper.getMetadata(reflectionOnly);
+
+    // then
+    assertThat(generated.getTableName()).isEqualTo(reflected.getTableName());
+    assertThat(generated.getFieldNames()).containsExactlyElementsOf(reflected.getFieldNames());
+    for (int i = 0; i < reflected.getColumnCount(); i++) {
+      assertThat(generated.getColumnName(i)).isEqualTo(reflected.getColumnName(i));
+    }
+    assertThat(generated.getIdIndex()).isEqualTo(reflected.getIdIndex());
+    assertThat(generated.getValues(newEntity(withGenerated)))
+        .containsExactly(reflected.getValues(newEntity(reflectionOnly)));
+  }
+
+  private static MybatisGeneratedMetadata generatedFor(final String entityName) throws Exception {
+    ClassLoader loader = classLoader(true);
+    String generatedName =
+        entityName.replace('$', '_') + MybatisEntityMetadataProcessor.CLASS_NAME_SUFFIX;
+    return (MybatisGeneratedMetadata)
+        loader.loadClass(generatedName).getDeclaredConstructor().newInstance();
+  }
+
+  @Test
+  @DisplayName("생성된 메타데이터는 컴파일되고 private 엔티티는 건너뛰어야 한다")
+  void process_ShouldGenerateCompilableMetadata() {
+    // then
+    assertThat(compilation.status()).isEqualTo(Compilation.Status.SUCCESS);
+    assertThat(compilation.generatedSourceFile("test.Outer_Member_MybatisMetadata")).isPresent();
+    assertThat(compilation.generatedSourceFile("test.Outer_KeyedItem_MybatisMetadata"))
+        .isPresent();
+    assertThat(compilation.generatedSourceFile("test.Child_MybatisMetadata")).isPresent();
+    assertThat(compilation.generatedSourceFile("test.Outer_Hidden_MybatisMetadata")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("상속 필드, @Column(name), private 필드는 리플렉션 스캔과 같아야 한다")
+  void process_ShouldMatchReflectionForInheritedFields() throws Exception {
+    assertSameAsReflection("test.Outer$Member");
+  }
+
+  @Test
+  @DisplayName("@Id 필드가 id 필드보다 우선하고, @Table(name) 이 없으면 클래스명을 쓰는 것이 리플렉션 스캔과 같아야 한다")
+  void process_ShouldMatchReflectionForIdAndTableName() throws Exception {
+    // when
+    assertSameAsReflection("test.Outer$KeyedItem");
+    MybatisGeneratedMetadata generated = generatedFor("test.Outer$KeyedItem");
+
+    // then
+    assertThat(generated.getTableName()).isEqualTo("keyed_item");
+    assertThat(generated.getIdIndex()).isZero();
+  }
+
+  @Test
+  @DisplayName("다른 패키지의 package-private 필드는 생성 코드에서 읽지 않고 리플렉션으로 읽어야 한다")
+  void process_ShouldNotReadInaccessibleFieldsDirectly() throws Exception {
+    // when
+    assertSameAsReflection("test.Child");
+    MybatisGeneratedMetadata generated = generatedFor("test.Child");
+
+    // then
+    assertThat(generated.getFieldNames()).containsExactly("id", "otherId", "shared");
+    assertThat(generated.isReadable(0)).isTrue();
+    assertThat(generated.isReadable(1)).isFalse();
+    assertThat(generated.isReadable(2)).isTrue();
+  }
+}
@@ -0,0 +1,208 @@
+package io.github.bestheroz.mybatis.reactor;
+
+import io.github.bestheroz.mybatis.MybatisRepository;
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * MybatisRepository 조회를 Reactor Flux / Mono 로 돌려주는 래퍼.
+ *
+ * <p>Flux 메서드는 구독마다 SqlSession 을 열고 리포지토리의 Cursor 조회 (streamItems…) 를 실행한 뒤, 하류가 요청한 만큼만 Cursor 에서
+ * 행을 읽어 보낸다. 결과 전체를 메모리에 올리지 않으며, 완료 / 에러 / 취소 시 Cursor 와 세션을 닫는다. 블로킹 JDBC 호출은 모두 scheduler
+ * (기본 Schedulers.boundedElastic) 에서 실행된다.
+ *
+ * <pre>{@code
+ * MybatisReactiveRepository<User> users =
+ *     MybatisReactiveRepository.of(sqlSessionFactory, UserRepository.class);
+ * Flux<User> admins = users.getItemsByMap(Map.of("role", "ADMIN"));
+ * }</pre>
+ *
+ * <p>세션은 sqlSessionFactory 로 직접 열므로 Spring 트랜잭션에 참여하지 않는다. MySQL 은 useCursorFetch=true 여야 fetchSize
+ * 단위로 가져온다.
+ */
+public class MybatisReactiveRepository<T> {
+  private final SqlSessionFactory sqlSessionFactory;
+  private final Class<? extends MybatisRepository<T>> mapperType;
+  private final Scheduler scheduler;
+
+  private MybatisReactiveRepository(
+      final SqlSessionFactory sqlSessionFactory,
+      final Class<? extends MybatisRepository<T>> mapperType,
+      final Scheduler scheduler) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.mapperType = mapperType;
+    this.scheduler = scheduler;
+  }
+
+  public static <T> MybatisReactiveRepository<T> of(
+      final SqlSessionFactory sqlSessionFactory,
+      final Class<? extends MybatisRepository<T>> mapperType) {
+    return of(sqlSessionFactory, mapperType, Schedulers.boundedElastic());
+  }
+
+  public static <T> MybatisReactiveRepository<T> of(
+      final SqlSessionFactory sqlSessionFactory,
+      final Class<? extends MybatisRepository<T>> mapperType,
+      final Scheduler scheduler) {
+    if (sqlSessionFactory == null) {
+      throw new IllegalArgumentException("sqlSessionFactory cannot be null");
+    }
+    if (mapperType == null) {
+      throw new IllegalArgumentException("mapperType cannot be null");
+    }
+    if (scheduler == null) {
+      throw new IllegalArgumentException("scheduler cannot be null");
+    }
+    return new MybatisReactiveRepository<>(sqlSessionFactory, mapperType, scheduler);
+  }
+
+  /**
+   * query 가 연 Cursor 를 하류의 요청만큼 읽는 Flux. 직접 정의한 Cursor mapper 메서드에도 쓸 수 있다.
+   *
+   * <p>행마다 generator 를 한 번 호출하므로 요청한 수보다 많이 읽지 않는다. 취소가 다른 스레드에서 와도 읽는 중인 행을 마친 뒤에 닫는다.
+   * 모든 열이 null 이라 MyBatis 가 null 로 돌려준 행을 만나면 MybatisRepositoryException 으로 끝난다.
+   */
+  public Flux<T> stream(final Function<MybatisRepository<T>, Cursor<T>> query) {
+    return Flux.<T, CursorState<T>>generate(
+            () -> CursorState.open(sqlSessionFactory.openSession(), mapperType, query),
+            (state, sink) -> {
+              state.emitNext(sink);
+              return state;
+            },
+            CursorState::close)
+        .subscribeOn(scheduler);
+  }
+
+  /** 세션 하나에서 query 를 실행하는 Mono. 결과가 null 이면 빈 Mono */
+  public <R> Mono<R> mono(final Function<MybatisRepository<T>, R> query) {
+    return Mono.fromCallable(
+            () -> {
+              try (SqlSession session = sqlSessionFactory.openSession()) {
+                return query.apply(session.getMapper(mapperType));
+              }
+            })
+        .subscribeOn(scheduler);
+  }
+
+  // =========================================
+  // Flux (Cursor)
+  // =========================================
+
+  public Flux<T> getItems() {
+    return stream(MybatisRepository::streamItems);
+  }
+
+  public Flux<T> getItemsByMap(final Map<String, Object> whereConditions) {
+    return stream(repository -> repository.streamItemsByMap(whereConditions));
+  }
+
+  public Flux<T> getItemsByMapOrderBy(
+      final Map<String, Object> whereConditions, final List<String> orderByConditions) {
+    return stream(
+        repository -> repository.streamItemsByMapOrderBy(whereConditions, orderByConditions));
+  }
+
+  public Flux<T> getTargetItemsByMapOrderBy(
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions) {
+    return stream(
+        repository ->
+            repository.streamTargetItemsByMapOrderBy(
+                targetColumns, whereConditions, orderByConditions));
+  }
+
+  // =========================================
+  // Mono
+  // =========================================
+
+  public Mono<T> getItemByMap(final Map<String, Object> whereConditions) {
+    return mono(repository -> repository.getItemByMap(whereConditions).orElse(null));
+  }
+
+  public Mono<T> getItemById(final Long id) {
+    return mono(repository -> repository.getItemById(id).orElse(null));
+  }
+
+  public Mono<Long> countByMap(final Map<String, Object> whereConditions) {
+    return mono(repository -> repository.countByMap(whereConditions));
+  }
+
+  public Mono<Boolean> existsByMap(final Map<String, Object> whereConditions) {
+    return mono(repository -> repository.existsByMap(whereConditions));
+  }
+
+  /** 구독 하나의 세션과 Cursor. 읽기와 닫기를 같은 잠금으로 순서를 맞춘다 */
+  private static final class CursorState<T> {
+    private final SqlSession session;
+    private final Cursor<T> cursor;
+    private final Iterator<T> iterator;
+    private boolean closed;
+
+    private CursorState(final SqlSession session, final Cursor<T> cursor) {
+      this.session = session;
+      this.cursor = cursor;
+      this.iterator = cursor.iterator();
+    }
+
+    static <T> CursorState<T> open(
+        final SqlSession session,
+        final Class<? extends MybatisRepository<T>> mapperType,
+        final Function<MybatisRepository<T>, Cursor<T>> query) {
+      try {
+        return new CursorState<>(session, query.apply(session.getMapper(mapperType)));
+      } catch (RuntimeException e) {
+        session.close();
+        throw e;
+      }
+    }
+
+    /**
+     * 다음 행을 보내고, 남은 행이 없으면 (또는 취소로 닫혔으면) 완료한다. 끝은 iterator.hasNext 로만 판단한다. MyBatis 는 모든 열이
+     * null 인 행을 null 로 돌려주는데 (returnInstanceForEmptyRow=false) Reactor 는 null 을 보낼 수 없으므로 에러로 끝낸다.
+     */
+    synchronized void emitNext(final SynchronousSink<T> sink) {
+      if (closed || !iterator.hasNext()) {
+        sink.complete();
+        return;
+      }
+      T row = iterator.next();
+      if (row == null) {
+        sink.error(
+            new MybatisRepositoryException(
+                "cursor returned a null row at index "
+                    + cursor.getCurrentIndex()
+                    + " (set returnInstanceForEmptyRow=true to map empty rows)"));
+        return;
+      }
+      sink.next(row);
+    }
+
+    synchronized void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        cursor.close();
+      } catch (IOException e) {
+        throw new MybatisRepositoryException("failed to close cursor", e);
+      } finally {
+        session.close();
+      }
+    }
+  }
+}
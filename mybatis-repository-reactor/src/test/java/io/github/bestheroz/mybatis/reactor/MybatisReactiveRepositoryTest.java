@@ -0,0 +1,224 @@
+package io.github.bestheroz.mybatis.reactor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bestheroz.mybatis.MybatisRepository;
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class MybatisReactiveRepositoryTest {
+  private static SqlSessionFactory delegate;
+
+  private final List<AtomicBoolean> sessionsClosed = new ArrayList<>();
+  private final AtomicInteger rowsRead = new AtomicInteger();
+  private final AtomicBoolean cursorClosed = new AtomicBoolean();
+  private MybatisReactiveRepository<Item> repository;
+
+  public static class Item {
+    private Long id;
+    private String name;
+
+    public Long getId() {
+      return id;
+    }
+  }
+
+  interface ItemRepository extends MybatisRepository<Item> {
+    @Select("SELECT id, name FROM items ORDER BY id")
+    Cursor<Item> streamAll();
+
+    // id 가 2 인 행은 모든 열이 null 이므로 MyBatis 가 null 로 돌려준다
+    @Select(
+        "SELECT CASE WHEN id = 2 THEN NULL ELSE id END AS id,"
+            + " CASE WHEN id = 2 THEN NULL ELSE name END AS name FROM items ORDER BY items.id")
+    Cursor<Item> streamWithEmptyRow();
+
+    @Select("SELECT COUNT(*) FROM items")
+    long countItems();
+  }
+
+  @BeforeAll
+  static void setUpDatabase() throws SQLException {
+    UnpooledDataSource dataSource =
+        new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1", "sa", "");
+    Configuration configuration =
+        new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+    configuration.addMapper(ItemRepository.class);
+    delegate = new SqlSessionFactoryBuilder().build(configuration);
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+      for (int id = 1; id <= 5; id++) {
+        statement.execute("INSERT INTO items VALUES (" + id + ", 'item" + id + "')");
+      }
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    repository =
+        MybatisReactiveRepository.of(
+            trackingFactory(), ItemRepository.class, Schedulers.immediate());
+  }
+
+  // 연 세션마다 close 여부를 기록하는 SqlSessionFactory
+  private SqlSessionFactory trackingFactory() {
+    return (SqlSessionFactory)
+        Proxy.newProxyInstance(
+            SqlSessionFactory.class.getClassLoader(),
+            new Class<?>[] {SqlSessionFactory.class},
+            (proxy, method, args) -> {
+              Object result = invoke(delegate, method, args);
+              if (!"openSession".equals(method.getName())) {
+                return result;
+              }
+              AtomicBoolean closed = new AtomicBoolean();
+              sessionsClosed.add(closed);
+              return Proxy.newProxyInstance(
+                  SqlSession.class.getClassLoader(),
+                  new Class<?>[] {SqlSession.class},
+                  (sessionProxy, sessionMethod, sessionArgs) -> {
+                    if ("close".equals(sessionMethod.getName())) {
+                      closed.set(true);
+                    }
+                    return invoke(result, sessionMethod, sessionArgs);
+                  });
+            });
+  }
+
+  // Cursor 에서 읽은 행 수와 close 여부를 기록한다
+  @SuppressWarnings("unchecked")
+  private Cursor<Item> tracking(final Cursor<Item> cursor) {
+    return (Cursor<Item>)
+        Proxy.newProxyInstance(
+            Cursor.class.getClassLoader(),
+            new Class<?>[] {Cursor.class},
+            (proxy, method, args) -> {
+              if ("close".equals(method.getName())) {
+                cursorClosed.set(true);
+              }
+              if (!"iterator".equals(method.getName())) {
+                return invoke(cursor, method, args);
+              }
+              Iterator<Item> iterator = cursor.iterator();
+              return new Iterator<Item>() {
+                @Override
+                public boolean hasNext() {
+                  return iterator.hasNext();
+                }
+
+                @Override
+                public Item next() {
+                  rowsRead.incrementAndGet();
+                  return iterator.next();
+                }
+              };
+            });
+  }
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private Flux<Item> streamAll() {
+    return repository.stream(mapper -> tracking(((ItemRepository) mapper).streamAll()));
+  }
+
+  @Test
+  @DisplayName("하류가 요청한 만큼만 Cursor 에서 읽고, 취소하면 Cursor 와 세션을 닫아야 한다")
+  void stream_ShouldReadOnDemandAndCloseOnCancel() {
+    // when
+    StepVerifier.create(streamAll(), 0)
+        .expectSubscription()
+        .then(() -> assertThat(rowsRead.get()).isZero())
+        .thenRequest(2)
+        .assertNext(item -> assertThat(item.getId()).isEqualTo(1L))
+        .assertNext(item -> assertThat(item.getId()).isEqualTo(2L))
+        .then(() -> assertThat(rowsRead.get()).isEqualTo(2))
+        .thenRequest(1)
+        .assertNext(item -> assertThat(item.getId()).isEqualTo(3L))
+        .thenCancel()
+        .verify();
+
+    // then
+    assertThat(rowsRead.get()).isEqualTo(3);
+    assertThat(cursorClosed.get()).isTrue();
+    assertThat(sessionsClosed).hasSize(1);
+    assertThat(sessionsClosed.get(0).get()).isTrue();
+  }
+
+  @Test
+  @DisplayName("모든 행을 보낸 뒤 완료하고 Cursor 와 세션을 닫아야 한다")
+  void stream_ShouldCompleteAndCloseAfterLastRow() {
+    // when
+    StepVerifier.create(streamAll().map(Item::getId))
+        .expectNext(1L, 2L, 3L, 4L, 5L)
+        .verifyComplete();
+
+    // then
+    assertThat(cursorClosed.get()).isTrue();
+    assertThat(sessionsClosed).hasSize(1);
+    assertThat(sessionsClosed.get(0).get()).isTrue();
+  }
+
+  @Test
+  @DisplayName("null 로 매핑된 행에서 조용히 완료하지 않고 에러로 끝나야 한다")
+  void stream_ShouldFailOnNullRowInsteadOfCompleting() {
+    // given
+    Flux<Item> items = repository.stream(mapper -> ((ItemRepository) mapper).streamWithEmptyRow());
+
+    // when
+    StepVerifier.create(items)
+        .assertNext(item -> assertThat(item.getId()).isEqualTo(1L))
+        .expectError(MybatisRepositoryException.class)
+        .verify();
+
+    // then
+    assertThat(sessionsClosed).hasSize(1);
+    assertThat(sessionsClosed.get(0).get()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Mono 조회는 세션 하나에서 실행하고 닫아야 한다")
+  void mono_ShouldCloseSession() {
+    // when
+    StepVerifier.create(repository.mono(mapper -> ((ItemRepository) mapper).countItems()))
+        .expectNext(5L)
+        .verifyComplete();
+
+    // then
+    assertThat(sessionsClosed).hasSize(1);
+    assertThat(sessionsClosed.get(0).get()).isTrue();
+  }
+}
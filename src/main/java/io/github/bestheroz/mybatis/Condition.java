@@ -1,113 +1,206 @@
 package io.github.bestheroz.mybatis;
 
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 /** Mybatis where 절에서 사용될 조건식 식별용 Enum */
 public enum Condition {
   EQ("eq") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // =
-      return builder.buildEqualClause(dbColumnName, value);
+      builder.appendEqualClause(sb, dbColumnName, value, bindings);
     }
   },
   NE("ne") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // <>
-      return String.format("`%s` <> %s", dbColumnName, builder.formatValueForSQL(value));
+      appendComparison(sb, dbColumnName, " <> ", value, builder, bindings);
     }
   },
   NOT("not") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // not == ne 와 동일
-      return NE.buildClause(dbColumnName, value, builder);
+      NE.appendClause(sb, dbColumnName, value, builder, bindings);
     }
   },
   IN("in") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      return builder.buildInClause(dbColumnName, value, false);
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      builder.appendInClause(sb, dbColumnName, value, false, bindings);
     }
   },
   NOT_IN("notIn") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      return builder.buildInClause(dbColumnName, value, true);
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      builder.appendInClause(sb, dbColumnName, value, true, bindings);
     }
   },
   IS_NULL("null") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      return String.format("`%s` IS NULL", dbColumnName);
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      appendColumn(sb, dbColumnName, builder).append(" IS NULL");
     }
   },
   IS_NOT_NULL("notNull") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      return String.format("`%s` IS NOT NULL", dbColumnName);
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      appendColumn(sb, dbColumnName, builder).append(" IS NOT NULL");
     }
   },
   CONTAINS("contains") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      // INSTR(`column`, 'value') > 0
-      return String.format("INSTR(`%s`, %s) > 0", dbColumnName, builder.formatValueForSQL(value));
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      // MySQL: INSTR(`column`, 'value') > 0
+      builder
+          .getDialect()
+          .appendContains(sb, dbColumnName, s -> builder.appendValue(s, value, bindings), false);
     }
   },
   NOT_CONTAINS("notContains") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      // INSTR(`column`, 'value') = 0
-      return String.format("INSTR(`%s`, %s) = 0", dbColumnName, builder.formatValueForSQL(value));
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      // MySQL: INSTR(`column`, 'value') = 0
+      builder
+          .getDialect()
+          .appendContains(sb, dbColumnName, s -> builder.appendValue(s, value, bindings), true);
     }
   },
   STARTS_WITH("startsWith") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      // INSTR(`column`, 'value') = 1
-      return String.format("INSTR(`%s`, %s) = 1", dbColumnName, builder.formatValueForSQL(value));
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      // MySQL: INSTR(`column`, 'value') = 1
+      builder
+          .getDialect()
+          .appendStartsWith(sb, dbColumnName, s -> builder.appendValue(s, value, bindings));
     }
   },
   ENDS_WITH("endsWith") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
-      // RIGHT(`column`, CHAR_LENGTH('value')) = 'value'
-      return String.format(
-          "RIGHT(`%s`, CHAR_LENGTH(%s)) = %s",
-          dbColumnName, builder.formatValueForSQL(value), builder.formatValueForSQL(value));
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
+      // MySQL: RIGHT(`column`, CHAR_LENGTH('value')) = 'value' (값을 두 번 바인딩)
+      builder
+          .getDialect()
+          .appendEndsWith(sb, dbColumnName, s -> builder.appendValue(s, value, bindings));
     }
   },
   LT("lt") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // <
-      return String.format("`%s` < %s", dbColumnName, builder.formatValueForSQL(value));
+      appendComparison(sb, dbColumnName, " < ", value, builder, bindings);
     }
   },
   LTE("lte") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // <=
-      return String.format("`%s` <= %s", dbColumnName, builder.formatValueForSQL(value));
+      appendComparison(sb, dbColumnName, " <= ", value, builder, bindings);
     }
   },
   GT("gt") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // >
-      return String.format("`%s` > %s", dbColumnName, builder.formatValueForSQL(value));
+      appendComparison(sb, dbColumnName, " > ", value, builder, bindings);
     }
   },
   GTE("gte") {
     @Override
-    public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    public void appendClause(
+        StringBuilder sb,
+        String dbColumnName,
+        Object value,
+        MybatisClauseBuilder builder,
+        MybatisBindings bindings) {
       // >=
-      return String.format("`%s` >= %s", dbColumnName, builder.formatValueForSQL(value));
+      appendComparison(sb, dbColumnName, " >= ", value, builder, bindings);
     }
   };
 
+  // code → Condition. 정확히 일치하는 code 를 먼저 찾고, 없으면 소문자로 바꿔 찾는다
+  private static final Map<String, Condition> BY_CODE = new HashMap<>();
+
+  static {
+    for (Condition condition : values()) {
+      BY_CODE.put(condition.code, condition);
+      BY_CODE.put(condition.code.toLowerCase(Locale.ROOT), condition);
+    }
+  }
+
   private final String code;
 
   Condition(String code) {
@@ -118,13 +211,53 @@ public enum Condition {
     return this.code;
   }
 
-  public abstract String buildClause(
-      String dbColumnName, Object value, MybatisClauseBuilder builder);
+  public String buildClause(String dbColumnName, Object value, MybatisClauseBuilder builder) {
+    return buildClause(dbColumnName, value, builder, null);
+  }
+
+  /**
+   * @param bindings bind-parameter 모드에서 값을 등록할 대상. null 이면 값을 SQL 리터럴로 직접 넣는다.
+   */
+  public String buildClause(
+      String dbColumnName, Object value, MybatisClauseBuilder builder, MybatisBindings bindings) {
+    StringBuilder sb = new StringBuilder(32);
+    appendClause(sb, dbColumnName, value, builder, bindings);
+    return sb.toString();
+  }
+
+  /** 조건식을 중간 문자열 없이 sb 에 바로 붙인다. buildWhereClause 는 문 하나에 StringBuilder 하나를 재사용한다 */
+  public abstract void appendClause(
+      StringBuilder sb,
+      String dbColumnName,
+      Object value,
+      MybatisClauseBuilder builder,
+      MybatisBindings bindings);
 
   public static Condition from(String code) {
-    return Arrays.stream(values())
-        .filter(cond -> cond.getCode().equalsIgnoreCase(code))
-        .findFirst()
-        .orElse(EQ); // 기본 eq
+    if (code == null) {
+      return EQ;
+    }
+    Condition condition = BY_CODE.get(code);
+    if (condition == null) {
+      condition = BY_CODE.get(code.toLowerCase(Locale.ROOT));
+    }
+    return condition == null ? EQ : condition; // 기본 eq
+  }
+
+  private static StringBuilder appendColumn(
+      StringBuilder sb, String dbColumnName, MybatisClauseBuilder builder) {
+    builder.getDialect().appendIdentifier(sb, dbColumnName);
+    return sb;
+  }
+
+  private static void appendComparison(
+      StringBuilder sb,
+      String dbColumnName,
+      String operator,
+      Object value,
+      MybatisClauseBuilder builder,
+      MybatisBindings bindings) {
+    appendColumn(sb, dbColumnName, builder).append(operator);
+    builder.appendValue(sb, value, bindings);
   }
 }
@@ -0,0 +1,107 @@
+package io.github.bestheroz.mybatis;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * MybatisAsyncRepository 의 기본 executor. Java 21 이상에서 asyncVirtualThreads 이면 작업마다 virtual thread
+ * 를, 그렇지 않으면 asyncPoolSize 개의 데몬 스레드 풀을 쓴다. 동시에 실행되는 작업 수는 결국 커넥션 풀 크기로 제한된다.
+ *
+ * <p>Java 8 로 빌드하므로 Executors#newVirtualThreadPerTaskExecutor 는 리플렉션으로 찾는다. 설정이 바뀌면 다음 acquire 에서 새
+ * executor 를 만들고, 이전 executor 는 받아 간 호출이 모두 release 한 뒤 shutdown 한다 (MybatisMultiGet 의 풀과 같은 방식이며,
+ * 실행 중인 작업은 끝까지 실행).
+ */
+final class MybatisAsyncExecutor {
+  private static final Logger log = LoggerFactory.getLogger(MybatisAsyncExecutor.class);
+  private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+  private static final Method VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+  private static Pool current;
+
+  private MybatisAsyncExecutor() {}
+
+  /**
+   * 설정에 맞는 executor 를 받는다. 설정을 읽는 것과 executor 를 고르는 것이 같은 잠금 안이며, 받은 executor 는 release 전까지
+   * shutdown 되지 않는다.
+   */
+  static synchronized Pool acquire() {
+    MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+    boolean virtual = properties.isAsyncVirtualThreads() && VIRTUAL_THREAD_EXECUTOR != null;
+    int size = properties.getAsyncPoolSize();
+    if (current == null || current.virtual != virtual || (!virtual && current.size != size)) {
+      if (current != null) {
+        current.retired = true;
+        current.shutdownIfIdle();
+      }
+      ExecutorService created = virtual ? newVirtualThreadExecutor() : null;
+      current =
+          created != null
+              ? new Pool(created, true, size)
+              : new Pool(newPlatformThreadPool(size), false, size);
+    }
+    current.users++;
+    return current;
+  }
+
+  static synchronized void release(final Pool pool) {
+    pool.users--;
+    pool.shutdownIfIdle();
+  }
+
+  static boolean isVirtualThreadsAvailable() {
+    return VIRTUAL_THREAD_EXECUTOR != null;
+  }
+
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      log.warn("Cannot create virtual thread executor, using platform threads: {}", e.toString());
+      return null;
+    }
+  }
+
+  private static ExecutorService newPlatformThreadPool(final int size) {
+    return Executors.newFixedThreadPool(
+        size,
+        runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-async-" + THREAD_NUMBER.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /** 공유 executor 와 그 executor 에 작업을 넣는 중인 호출 수. 필드는 MybatisAsyncExecutor 의 잠금 안에서만 읽고 쓴다 */
+  static final class Pool {
+    final ExecutorService executor;
+    final boolean virtual;
+    final int size;
+    int users;
+    boolean retired;
+
+    private Pool(final ExecutorService executor, final boolean virtual, final int size) {
+      this.executor = executor;
+      this.virtual = virtual;
+      this.size = size;
+    }
+
+    private void shutdownIfIdle() {
+      if (retired && users == 0) {
+        executor.shutdown();
+      }
+    }
+  }
+
+  private static Method findVirtualThreadExecutor() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      // Java 20 이하
+      return null;
+    }
+  }
+}
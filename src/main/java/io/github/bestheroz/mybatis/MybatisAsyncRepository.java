@@ -0,0 +1,490 @@
+package io.github.bestheroz.mybatis;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+/**
+ * MybatisRepository 의 메서드를 executor 에서 실행하고 CompletableFuture 로 돌려주는 래퍼. 서로 독립적인 조회를 동시에 시작하면 각 조회의
+ * 실행 시간이 더해지지 않고 겹친다.
+ *
+ * <pre>{@code
+ * MybatisAsyncRepository<User> users = MybatisAsyncRepository.of(userRepository);
+ * CompletableFuture<Long> total = users.countAll();
+ * CompletableFuture<List<User>> admins = users.getItemsByMap(Map.of("role", "ADMIN"));
+ * CompletableFuture.allOf(total, admins).join();
+ * }</pre>
+ *
+ * <p>작업마다 SqlSession 을 따로 쓴다. {@link #of(MybatisRepository)} 는 Spring 의 mapper 빈
+ * (SqlSessionTemplate) 처럼 호출마다 세션을 여는 mapper 를, {@link #of(SqlSessionFactory, Class)} 는 작업마다
+ * autoCommit 세션을 열고 닫는다. 작업은 다른 스레드에서 실행되므로 호출자의 트랜잭션과 {@link MybatisReadWriteRouting} 설정에
+ * 참여하지 않는다.
+ *
+ * <p>executor 를 주지 않으면 Java 21 이상에서는 virtual thread, 그 아래에서는 asyncPoolSize 개의 스레드 풀을 쓴다.
+ *
+ * <p>MybatisRepository 의 조회 / count / exists / 변경 메서드를 같은 이름으로 제공한다. 다음은 제공하지 않으며 필요하면 {@link
+ * #supply} / {@link #run} 으로 실행한다.
+ *
+ * <ul>
+ *   <li>stream* : Cursor 는 읽는 동안 세션이 열려 있어야 한다
+ *   <li>countMode / insertBatchMode / updateBatchMode : 설정 값이다
+ *   <li>evictEntityCache / invalidateCountCache : DB 를 쓰지 않는 메모리 작업이다
+ *   <li>build*SQL : mapper 문 자체이다
+ * </ul>
+ */
+public class MybatisAsyncRepository<T> {
+  private final SessionRunner<T> runner;
+  private final Executor executor;
+
+  private MybatisAsyncRepository(final SessionRunner<T> runner, final Executor executor) {
+    this.runner = runner;
+    this.executor = executor;
+  }
+
+  /**
+   * 호출마다 SqlSession 을 여는 thread-safe mapper (Spring 의 mapper 빈) 를 감싼다. SqlSession.getMapper 로 얻은
+   * mapper 처럼 세션 하나에 묶인 mapper 는 IllegalArgumentException 이며, 그때는
+   * {@link #of(SqlSessionFactory, Class)} 를 쓴다.
+   */
+  public static <T> MybatisAsyncRepository<T> of(final MybatisRepository<T> repository) {
+    return of(repository, null);
+  }
+
+  /** @param executor null 이면 기본 executor */
+  public static <T> MybatisAsyncRepository<T> of(
+      final MybatisRepository<T> repository, final Executor executor) {
+    if (repository == null) {
+      throw new IllegalArgumentException("repository cannot be null");
+    }
+    if (!MybatisMultiGet.isThreadSafe(repository)) {
+      throw new IllegalArgumentException(
+          "repository must be a thread-safe mapper (SqlSessionTemplate / SqlSessionManager);"
+              + " use of(SqlSessionFactory, Class) for a session-bound mapper");
+    }
+    return new MybatisAsyncRepository<>(
+        new SessionRunner<T>() {
+          @Override
+          public <R> R run(final Function<MybatisRepository<T>, R> call) {
+            return call.apply(repository);
+          }
+        },
+        executor);
+  }
+
+  /** 작업마다 sqlSessionFactory 로 autoCommit SqlSession 을 열어 mapperType 을 실행하고 닫는다 */
+  public static <T> MybatisAsyncRepository<T> of(
+      final SqlSessionFactory sqlSessionFactory,
+      final Class<? extends MybatisRepository<T>> mapperType) {
+    return of(sqlSessionFactory, mapperType, null);
+  }
+
+  /** @param executor null 이면 기본 executor */
+  public static <T> MybatisAsyncRepository<T> of(
+      final SqlSessionFactory sqlSessionFactory,
+      final Class<? extends MybatisRepository<T>> mapperType,
+      final Executor executor) {
+    if (sqlSessionFactory == null) {
+      throw new IllegalArgumentException("sqlSessionFactory cannot be null");
+    }
+    if (mapperType == null) {
+      throw new IllegalArgumentException("mapperType cannot be null");
+    }
+    return new MybatisAsyncRepository<>(
+        new SessionRunner<T>() {
+          @Override
+          public <R> R run(final Function<MybatisRepository<T>, R> call) {
+            try (SqlSession session = sqlSessionFactory.openSession(true)) {
+              return call.apply(session.getMapper(mapperType));
+            }
+          }
+        },
+        executor);
+  }
+
+  /** repository 로 call 을 실행한다. 이 클래스에 없는 메서드나 직접 정의한 mapper 메서드에 쓴다 */
+  public <R> CompletableFuture<R> supply(final Function<MybatisRepository<T>, R> call) {
+    if (executor != null) {
+      return CompletableFuture.supplyAsync(() -> runner.run(call), executor);
+    }
+    // 작업을 넣는 동안 설정이 바뀌어도 받은 executor 는 shutdown 되지 않는다
+    MybatisAsyncExecutor.Pool pool = MybatisAsyncExecutor.acquire();
+    try {
+      return CompletableFuture.supplyAsync(() -> runner.run(call), pool.executor);
+    } finally {
+      MybatisAsyncExecutor.release(pool);
+    }
+  }
+
+  /** 반환값이 없는 call 을 실행한다 */
+  public CompletableFuture<Void> run(final Consumer<MybatisRepository<T>> call) {
+    return supply(
+        repository -> {
+          call.accept(repository);
+          return null;
+        });
+  }
+
+  // =========================================
+  // 조회
+  // =========================================
+
+  public CompletableFuture<List<T>> getItems() {
+    return supply(MybatisRepository::getItems);
+  }
+
+  public CompletableFuture<List<T>> getItemsLimitOffset(final Integer limit, final Integer offset) {
+    return supply(repository -> repository.getItemsLimitOffset(limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getItemsOrderBy(final List<String> orderByConditions) {
+    return supply(repository -> repository.getItemsOrderBy(orderByConditions));
+  }
+
+  public CompletableFuture<List<T>> getItemsOrderByLimitOffset(
+      final List<String> orderByConditions, final Integer limit, final Integer offset) {
+    return supply(
+        repository -> repository.getItemsOrderByLimitOffset(orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getItemsByMap(final Map<String, Object> whereConditions) {
+    return supply(repository -> repository.getItemsByMap(whereConditions));
+  }
+
+  public CompletableFuture<List<T>> getItemsByMapLimitOffset(
+      final Map<String, Object> whereConditions, final Integer limit, final Integer offset) {
+    return supply(
+        repository -> repository.getItemsByMapLimitOffset(whereConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getItemsByMapOrderBy(
+      final Map<String, Object> whereConditions, final List<String> orderByConditions) {
+    return supply(
+        repository -> repository.getItemsByMapOrderBy(whereConditions, orderByConditions));
+  }
+
+  public CompletableFuture<List<T>> getItemsByMapOrderByLimitOffset(
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getItemsByMapOrderByLimitOffset(
+                whereConditions, orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItems(final Set<String> distinctColumns) {
+    return supply(repository -> repository.getDistinctItems(distinctColumns));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsLimitOffset(
+      final Set<String> distinctColumns, final Integer limit, final Integer offset) {
+    return supply(
+        repository -> repository.getDistinctItemsLimitOffset(distinctColumns, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsOrderBy(
+      final Set<String> distinctColumns, final List<String> orderByConditions) {
+    return supply(
+        repository -> repository.getDistinctItemsOrderBy(distinctColumns, orderByConditions));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsOrderByLimitOffset(
+      final Set<String> distinctColumns,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getDistinctItemsOrderByLimitOffset(
+                distinctColumns, orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsByMap(
+      final Set<String> distinctColumns, final Map<String, Object> whereConditions) {
+    return supply(repository -> repository.getDistinctItemsByMap(distinctColumns, whereConditions));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsByMapLimitOffset(
+      final Set<String> distinctColumns,
+      final Map<String, Object> whereConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getDistinctItemsByMapLimitOffset(
+                distinctColumns, whereConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsByMapOrderBy(
+      final Set<String> distinctColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions) {
+    return supply(
+        repository ->
+            repository.getDistinctItemsByMapOrderBy(
+                distinctColumns, whereConditions, orderByConditions));
+  }
+
+  public CompletableFuture<List<T>> getDistinctItemsByMapOrderByLimitOffset(
+      final Set<String> distinctColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getDistinctItemsByMapOrderByLimitOffset(
+                distinctColumns, whereConditions, orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getTargetItems(final Set<String> targetColumns) {
+    return supply(repository -> repository.getTargetItems(targetColumns));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsLimitOffset(
+      final Set<String> targetColumns, final Integer limit, final Integer offset) {
+    return supply(repository -> repository.getTargetItemsLimitOffset(targetColumns, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsOrderBy(
+      final Set<String> targetColumns, final List<String> orderByConditions) {
+    return supply(repository -> repository.getTargetItemsOrderBy(targetColumns, orderByConditions));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsOrderByLimitOffset(
+      final Set<String> targetColumns,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getTargetItemsOrderByLimitOffset(
+                targetColumns, orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsByMap(
+      final Set<String> targetColumns, final Map<String, Object> whereConditions) {
+    return supply(repository -> repository.getTargetItemsByMap(targetColumns, whereConditions));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsByMapLimitOffset(
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getTargetItemsByMapLimitOffset(
+                targetColumns, whereConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsByMapOrderBy(
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions) {
+    return supply(
+        repository ->
+            repository.getTargetItemsByMapOrderBy(
+                targetColumns, whereConditions, orderByConditions));
+  }
+
+  public CompletableFuture<List<T>> getTargetItemsByMapOrderByLimitOffset(
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getTargetItemsByMapOrderByLimitOffset(
+                targetColumns, whereConditions, orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<List<T>> getDistinctAndTargetItemsByMapOrderByLimitOffset(
+      final Set<String> distinctColumns,
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset) {
+    return supply(
+        repository ->
+            repository.getDistinctAndTargetItemsByMapOrderByLimitOffset(
+                distinctColumns, targetColumns, whereConditions, orderByConditions, limit, offset));
+  }
+
+  public CompletableFuture<Optional<T>> getItemByMap(final Map<String, Object> whereConditions) {
+    return supply(repository -> repository.getItemByMap(whereConditions));
+  }
+
+  public CompletableFuture<Optional<T>> getItemById(final Long id) {
+    return supply(repository -> repository.getItemById(id));
+  }
+
+  public CompletableFuture<List<T>> getItemsByIds(final Collection<Long> ids) {
+    return supply(repository -> repository.getItemsByIds(ids));
+  }
+
+  public CompletableFuture<Map<Long, T>> getItemMapByIds(final Collection<Long> ids) {
+    return supply(repository -> repository.getItemMapByIds(ids));
+  }
+
+  public CompletableFuture<List<T>> getItemsByMapIn(
+      final String field, final Collection<?> values, final Map<String, Object> otherConditions) {
+    return supply(repository -> repository.getItemsByMapIn(field, values, otherConditions));
+  }
+
+  public CompletableFuture<MybatisKeysetPage<T>> getItemsKeyset(
+      final List<String> orderByConditions, final List<?> lastKeys, final int size) {
+    return supply(repository -> repository.getItemsKeyset(orderByConditions, lastKeys, size));
+  }
+
+  public CompletableFuture<MybatisKeysetPage<T>> getItemsByMapKeyset(
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final List<?> lastKeys,
+      final int size) {
+    return supply(
+        repository ->
+            repository.getItemsByMapKeyset(whereConditions, orderByConditions, lastKeys, size));
+  }
+
+  public CompletableFuture<Long> countByMap(final Map<String, Object> whereConditions) {
+    return supply(repository -> repository.countByMap(whereConditions));
+  }
+
+  public CompletableFuture<Long> countByMap(
+      final Map<String, Object> whereConditions, final MybatisCountMode mode) {
+    return supply(repository -> repository.countByMap(whereConditions, mode));
+  }
+
+  public CompletableFuture<Long> countAll() {
+    return supply(MybatisRepository::countAll);
+  }
+
+  public CompletableFuture<Long> countAll(final MybatisCountMode mode) {
+    return supply(repository -> repository.countAll(mode));
+  }
+
+  public CompletableFuture<Boolean> existsByMap(final Map<String, Object> whereConditions) {
+    return supply(repository -> repository.existsByMap(whereConditions));
+  }
+
+  public CompletableFuture<Boolean> existsById(final Long id) {
+    return supply(repository -> repository.existsById(id));
+  }
+
+  // =========================================
+  // 변경
+  // =========================================
+
+  public CompletableFuture<Void> insert(final T entity) {
+    return run(repository -> repository.insert(entity));
+  }
+
+  public CompletableFuture<Integer> insertBatch(final List<T> entities) {
+    return supply(repository -> repository.insertBatch(entities));
+  }
+
+  public CompletableFuture<Integer> insertBatch(
+      final List<T> entities, final MybatisInsertBatchMode mode) {
+    return supply(repository -> repository.insertBatch(entities, mode));
+  }
+
+  public CompletableFuture<Integer> upsert(final T entity) {
+    return supply(repository -> repository.upsert(entity));
+  }
+
+  public CompletableFuture<Integer> upsert(final T entity, final Set<String> updateFields) {
+    return supply(repository -> repository.upsert(entity, updateFields));
+  }
+
+  public CompletableFuture<Integer> upsertBatch(final List<T> entities) {
+    return supply(repository -> repository.upsertBatch(entities));
+  }
+
+  public CompletableFuture<Integer> upsertBatch(
+      final List<T> entities, final Set<String> updateFields) {
+    return supply(repository -> repository.upsertBatch(entities, updateFields));
+  }
+
+  public CompletableFuture<Void> updateById(final T entity, final Long id) {
+    return run(repository -> repository.updateById(entity, id));
+  }
+
+  public CompletableFuture<Void> updateMapById(final Map<String, Object> updateMap, final Long id) {
+    return run(repository -> repository.updateMapById(updateMap, id));
+  }
+
+  public CompletableFuture<Void> updateMapByMap(
+      final Map<String, Object> updateMap, final Map<String, Object> whereConditions) {
+    return run(repository -> repository.updateMapByMap(updateMap, whereConditions));
+  }
+
+  public CompletableFuture<Void> updateByMap(
+      final T entity, final Map<String, Object> whereConditions) {
+    return run(repository -> repository.updateByMap(entity, whereConditions));
+  }
+
+  public CompletableFuture<Integer> updateAllById(final List<T> entities) {
+    return supply(repository -> repository.updateAllById(entities));
+  }
+
+  public CompletableFuture<Integer> updateAllById(
+      final List<T> entities, final MybatisUpdateBatchMode mode) {
+    return supply(repository -> repository.updateAllById(entities, mode));
+  }
+
+  public CompletableFuture<Integer> updateMapsById(
+      final Map<Long, Map<String, Object>> updateMaps) {
+    return supply(repository -> repository.updateMapsById(updateMaps));
+  }
+
+  public CompletableFuture<Integer> updateMapsById(
+      final Map<Long, Map<String, Object>> updateMaps, final MybatisUpdateBatchMode mode) {
+    return supply(repository -> repository.updateMapsById(updateMaps, mode));
+  }
+
+  public CompletableFuture<Void> deleteById(final Long id) {
+    return run(repository -> repository.deleteById(id));
+  }
+
+  public CompletableFuture<Void> deleteByMap(final Map<String, Object> whereConditions) {
+    return run(repository -> repository.deleteByMap(whereConditions));
+  }
+
+  public CompletableFuture<Long> deleteByMapInChunks(
+      final Map<String, Object> whereConditions,
+      final int chunkSize,
+      final Duration pauseBetweenChunks) {
+    return supply(
+        repository ->
+            repository.deleteByMapInChunks(whereConditions, chunkSize, pauseBetweenChunks));
+  }
+
+  public CompletableFuture<Long> deleteByMapInChunks(
+      final Map<String, Object> whereConditions,
+      final int chunkSize,
+      final Duration pauseBetweenChunks,
+      final MybatisDeleteProgressListener listener) {
+    return supply(
+        repository ->
+            repository.deleteByMapInChunks(
+                whereConditions, chunkSize, pauseBetweenChunks, listener));
+  }
+
+  // 작업 하나를 SqlSession 하나에서 실행한다
+  private interface SessionRunner<T> {
+    <R> R run(Function<MybatisRepository<T>, R> call);
+  }
+}
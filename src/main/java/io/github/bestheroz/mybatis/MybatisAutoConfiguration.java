@@ -1,8 +1,18 @@
 package io.github.bestheroz.mybatis;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
@@ -30,4 +40,100 @@ public class MybatisAutoConfiguration {
           .info("Ready to use MybatisRepository (Spring Boot 3.x)");
     }
   }
+
+  /** insertBatch JDBC_BATCH 모드가 사용할 SqlSessionFactory 를 MybatisBatchExecutor 에 등록 */
+  @Bean
+  public MybatisBatchExecutor mybatisBatchExecutor(
+      ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider) {
+    MybatisBatchExecutor executor = MybatisBatchExecutor.getInstance();
+    sqlSessionFactoryProvider.ifAvailable(executor::setSqlSessionFactory);
+    return executor;
+  }
+
+  /**
+   * SqlSessionFactory 의 DataSource 에 커넥션을 한 번 열어 DB 제품명으로 SQL dialect 를 고르고
+   * MybatisRepositoryProperties 에 설정한다. 알아낼 수 없으면 기존 설정 (기본 MySQL) 을 유지한다.
+   */
+  @Bean
+  public MybatisDialect mybatisDialect(
+      ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider) {
+    MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+    SqlSessionFactory sqlSessionFactory = sqlSessionFactoryProvider.getIfAvailable();
+    Environment environment =
+        sqlSessionFactory == null ? null : sqlSessionFactory.getConfiguration().getEnvironment();
+    if (environment != null && environment.getDataSource() != null) {
+      try {
+        properties.setDialect(MybatisDialectResolver.resolve(environment.getDataSource()));
+        log.info("MybatisRepository dialect: {}", properties.getDialect().getName());
+      } catch (SQLException e) {
+        log.warn(
+            "Cannot detect database dialect, using {}: {}",
+            properties.getDialect().getName(),
+            e.getMessage());
+      }
+    }
+    return properties.getDialect();
+  }
+
+  /**
+   * 리포지토리 문의 실행 시간 측정 (지표, slow SQL 로그). mybatis-spring-boot-starter 가 Interceptor 빈을
+   * SqlSessionFactory 에 등록한다.
+   */
+  @Bean
+  public MybatisMetricsInterceptor mybatisMetricsInterceptor() {
+    return new MybatisMetricsInterceptor();
+  }
+
+  /**
+   * MybatisReplicaDataSource 빈이 있으면 "dataSource" 빈을 MybatisRoutingDataSource 로 감싸 리포지토리 조회를 replica
+   * 로 보낸다. replica 순서는 빈 순서 (@Order) 를 따른다.
+   */
+  @Bean
+  public static BeanPostProcessor mybatisRoutingDataSourcePostProcessor(
+      ObjectProvider<MybatisReplicaDataSource> replicaProvider) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName)
+            || !(bean instanceof DataSource)
+            || bean instanceof MybatisRoutingDataSource) {
+          return bean;
+        }
+        List<DataSource> replicas =
+            replicaProvider
+                .orderedStream()
+                .map(MybatisReplicaDataSource::getDataSource)
+                .collect(Collectors.toList());
+        if (replicas.isEmpty()) {
+          return bean;
+        }
+        log.info(
+            "MybatisRepository read routing: {} replica(s), {}",
+            replicas.size(),
+            MybatisRepositoryProperties.getInstance().getReplicaSelection());
+        return new MybatisRoutingDataSource((DataSource) bean, replicas);
+      }
+    };
+  }
+
+  /** 리포지토리 조회 문을 MybatisRoutingDataSource 의 replica 로 보낸다 (routing 이 없으면 그대로 실행) */
+  @Bean
+  public MybatisReadRoutingInterceptor mybatisReadRoutingInterceptor() {
+    return new MybatisReadRoutingInterceptor();
+  }
+
+  /** Micrometer 가 classpath 에 있으면 리포지토리 지표를 기록한다 */
+  @Configuration
+  @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+  static class MicrometerMetricsConfiguration {
+
+    @Bean
+    public MybatisMetrics mybatisMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+      MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+      if (registry != null) {
+        MybatisMetrics.setInstance(new MybatisMicrometerMetrics(registry));
+      }
+      return MybatisMetrics.getInstance();
+    }
+  }
 }
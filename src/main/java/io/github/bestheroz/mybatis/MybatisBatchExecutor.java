@@ -0,0 +1,194 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * insertBatch / updateMapsById 의 JDBC_BATCH 모드 실행기. 리포지토리의 buildInsertBindSQL /
+ * buildUpdateBindSQL 문을 ExecutorType.BATCH SqlSession 으로 행마다 실행하고 insertBatchFlushSize 행마다
+ * flushStatements 한다.
+ *
+ * <p>모든 행의 SQL 텍스트가 같으므로 하나의 PreparedStatement 에 addBatch 되고, MySQL 의 rewriteBatchedStatements 같은
+ * 드라이버 최적화를 그대로 사용할 수 있다. Spring 환경에서는 MybatisAutoConfiguration 이 SqlSessionFactory 를 등록한다.
+ */
+public class MybatisBatchExecutor {
+  private static final Logger log = LoggerFactory.getLogger(MybatisBatchExecutor.class);
+  private static final MybatisBatchExecutor INSTANCE = new MybatisBatchExecutor();
+
+  /** MybatisRepository / MybatisNoIdRepository 의 단일 행 bind INSERT 문 이름 */
+  static final String INSERT_STATEMENT = "buildInsertBindSQL";
+
+  /** MybatisRepository 의 bind UPDATE 문 이름 */
+  static final String UPDATE_STATEMENT = "buildUpdateBindSQL";
+
+  private final MybatisEntityHelper entityHelper =
+      new MybatisEntityHelper(new MybatisStringHelper());
+  private volatile SqlSessionFactory sqlSessionFactory;
+
+  public static MybatisBatchExecutor getInstance() {
+    return INSTANCE;
+  }
+
+  public SqlSessionFactory getSqlSessionFactory() {
+    return sqlSessionFactory;
+  }
+
+  public void setSqlSessionFactory(SqlSessionFactory sqlSessionFactory) {
+    this.sqlSessionFactory = sqlSessionFactory;
+  }
+
+  /**
+   * mapper 의 buildInsertBindSQL 문으로 entities 를 JDBC batch insert 한다.
+   *
+   * @param mapper MybatisRepository / MybatisNoIdRepository mapper (프록시)
+   * @return 전체 영향받은 행 수 (드라이버가 SUCCESS_NO_INFO 를 돌려주면 행당 1 로 계산)
+   */
+  public <T> int insertBatch(final Object mapper, final List<T> entities) {
+    Class<?> entityClass = MybatisCommand.validateInsertBatch(entities);
+    SqlSessionFactory factory = sqlSessionFactory;
+    if (factory == null) {
+      throw new MybatisRepositoryException(
+          "SqlSessionFactory is not registered for JDBC batch insert");
+    }
+    String statement = resolveMapperInterface(mapper).getName() + "." + INSERT_STATEMENT;
+    int flushSize = MybatisRepositoryProperties.getInstance().getInsertBatchFlushSize();
+    MybatisMetrics.getInstance().recordBatchSize(entityClass, INSERT_STATEMENT, entities.size());
+
+    try (SqlSession session = factory.openSession(ExecutorType.BATCH)) {
+      int affectedRows = 0;
+      int pending = 0;
+      for (T entity : entities) {
+        session.insert(statement, toParamMap(entity));
+        if (++pending >= flushSize) {
+          affectedRows += countAffectedRows(session.flushStatements());
+          pending = 0;
+        }
+      }
+      affectedRows += countAffectedRows(session.flushStatements());
+      session.commit();
+      log.debug("JDBC batch insert {}: {} rows", statement, affectedRows);
+      return affectedRows;
+    }
+  }
+
+  /**
+   * mapper 의 buildUpdateBindSQL 문으로 id 마다 UPDATE 를 JDBC batch 실행한다. 바꾸는 컬럼이 같은 행이 이어지면 하나의
+   * PreparedStatement 에 addBatch 된다. CASE 방식과 같이 updateMap 의 id 필드는 바꾸지 않으며, id 를 빼고 바꿀 컬럼이
+   * 없는 행이 있으면 실행 전에 MybatisRepositoryException 을 던진다 (SET 절이 빈 UPDATE 가 되므로).
+   *
+   * @param mapper MybatisRepository mapper (프록시)
+   * @return 전체 영향받은 행 수 (드라이버가 SUCCESS_NO_INFO 를 돌려주면 행당 1 로 계산)
+   */
+  public int updateBatch(final Object mapper, final Map<Long, Map<String, Object>> updateMaps) {
+    if (updateMaps == null || updateMaps.isEmpty()) {
+      throw new MybatisRepositoryException("updateMaps empty for updateMapsById");
+    }
+    SqlSessionFactory factory = sqlSessionFactory;
+    if (factory == null) {
+      throw new MybatisRepositoryException(
+          "SqlSessionFactory is not registered for JDBC batch update");
+    }
+    Class<?> mapperInterface = resolveMapperInterface(mapper);
+    String statement = mapperInterface.getName() + "." + UPDATE_STATEMENT;
+    List<MapperMethod.ParamMap<Object>> rows = toUpdateParamMaps(mapperInterface, updateMaps);
+    int flushSize = MybatisRepositoryProperties.getInstance().getInsertBatchFlushSize();
+
+    try (SqlSession session = factory.openSession(ExecutorType.BATCH)) {
+      int affectedRows = 0;
+      int pending = 0;
+      for (MapperMethod.ParamMap<Object> row : rows) {
+        session.update(statement, row);
+        if (++pending >= flushSize) {
+          affectedRows += countAffectedRows(session.flushStatements());
+          pending = 0;
+        }
+      }
+      affectedRows += countAffectedRows(session.flushStatements());
+      session.commit();
+      log.debug("JDBC batch update {}: {} rows", statement, affectedRows);
+      return affectedRows;
+    }
+  }
+
+  private static Class<?> resolveMapperInterface(final Object mapper) {
+    for (Class<?> candidate : mapper.getClass().getInterfaces()) {
+      if (MybatisRepository.class.isAssignableFrom(candidate)
+          || MybatisNoIdRepository.class.isAssignableFrom(candidate)) {
+        return candidate;
+      }
+    }
+    throw new MybatisRepositoryException(
+        "cannot determine mapper interface: " + mapper.getClass().getName());
+  }
+
+  /** buildInsertBindSQL(context, entity) 호출 시의 ParamMap. provider 는 위치 기반 키(param2)만 사용한다 */
+  private static MapperMethod.ParamMap<Object> toParamMap(final Object entity) {
+    MapperMethod.ParamMap<Object> params = new MapperMethod.ParamMap<>();
+    params.put("param1", null);
+    params.put("param2", entity);
+    return params;
+  }
+
+  /**
+   * id 마다 buildUpdateBindSQL(context, updateMap, whereConditions) 호출 시의 ParamMap. updateMap 에서
+   * id 필드를 빼고, 바꿀 컬럼이 없는 행은 session 을 열기 전에 거부한다.
+   */
+  private List<MapperMethod.ParamMap<Object>> toUpdateParamMaps(
+      final Class<?> mapperInterface, final Map<Long, Map<String, Object>> updateMaps) {
+    Class<?> entityClass = entityHelper.extractEntityClassFromMapper(mapperInterface);
+    if (entityClass == null) {
+      throw new MybatisRepositoryException(
+          "cannot determine entity class for update: " + mapperInterface.getName());
+    }
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(entityClass);
+    if (metadata.getIdIndex() == -1) {
+      throw new MybatisRepositoryException("id column is required for updateMapsById");
+    }
+    String idField = metadata.getFieldName(metadata.getIdIndex());
+
+    List<MapperMethod.ParamMap<Object>> rows = new ArrayList<>(updateMaps.size());
+    for (Map.Entry<Long, Map<String, Object>> entry : updateMaps.entrySet()) {
+      if (entry.getKey() == null || entry.getValue() == null) {
+        throw new MybatisRepositoryException("id and updateMap cannot be null for updateMapsById");
+      }
+      Map<String, Object> updateMap = new LinkedHashMap<>(entry.getValue());
+      updateMap.remove(idField);
+      if (updateMap.isEmpty()) {
+        throw new MybatisRepositoryException(
+            "no columns to update for updateMapsById: id " + entry.getKey());
+      }
+      MapperMethod.ParamMap<Object> params = new MapperMethod.ParamMap<>();
+      params.put("param1", null);
+      params.put("param2", updateMap);
+      params.put("param3", Collections.singletonMap(idField, entry.getKey()));
+      rows.add(params);
+    }
+    return rows;
+  }
+
+  private static int countAffectedRows(final List<BatchResult> results) {
+    int affectedRows = 0;
+    for (BatchResult result : results) {
+      for (int count : result.getUpdateCounts()) {
+        if (count >= 0) {
+          affectedRows += count;
+        } else if (count == Statement.SUCCESS_NO_INFO) {
+          affectedRows++;
+        }
+      }
+    }
+    return affectedRows;
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * bind-parameter 모드에서 provider 가 만든 #{...} placeholder 의 값을 MyBatis 파라미터 맵에 등록한다.
+ *
+ * <p>MyBatis 가 mapper 호출마다 새로 만드는 ParamMap 에 값을 넣으므로 호출 간에 공유되지 않는다.
+ */
+public class MybatisBindings {
+  static final String PARAMETER_PREFIX = "__bind";
+
+  private final Map<String, Object> parameterMap;
+  private int index = 0;
+
+  public MybatisBindings(final Map<String, Object> parameterMap) {
+    this.parameterMap = parameterMap;
+  }
+
+  /** 값을 파라미터 맵에 등록하고 SQL 에 넣을 placeholder 를 반환한다. */
+  public String bind(final Object value) {
+    String name = PARAMETER_PREFIX + index++;
+    parameterMap.put(name, value);
+    return "#{" + name + "}";
+  }
+
+  /** IN 절의 원소들을 각각 바인딩하고 ", " 로 이은 placeholder 목록을 반환한다. */
+  public String bindAll(
+      final String dbColumnName,
+      final boolean isNotIn,
+      final Collection<?> values,
+      final MybatisClauseBuilder clauseBuilder) {
+    StringBuilder sb = new StringBuilder(values.size() * 14);
+    for (Object value : values) {
+      if (sb.length() > 0) {
+        sb.append(", ");
+      }
+      sb.append(bind(clauseBuilder.toBindValue(value)));
+    }
+    return sb.toString();
+  }
+
+  /** 다음에 바인딩할 값의 출처를 알린다. 템플릿 컴파일(MybatisSqlTemplate.Recorder)에서만 사용한다. */
+  public void source(final MybatisSqlTemplate.Source source, final String key) {}
+}
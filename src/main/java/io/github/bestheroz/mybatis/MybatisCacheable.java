@@ -0,0 +1,27 @@
+package io.github.bestheroz.mybatis;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * MybatisRepository#getItemById 결과를 {@link MybatisEntityCache} 에 캐시할 엔티티. 코드값 같은 참조 테이블처럼 자주 읽고 드물게
+ * 바뀌는 엔티티에 붙인다. 어노테이션 대신 MybatisRepositoryProperties#setEntityCacheClasses 로도 켤 수 있다.
+ *
+ * <p>캐시된 인스턴스는 호출자끼리 공유되므로 읽기 전용으로 다뤄야 한다.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface MybatisCacheable {
+  /** 항목을 유지하는 시간(ms). 0 이하면 entityCacheTtlMillis 속성 */
+  long ttlMillis() default 0;
+
+  /** 최대 항목 수. 0 이하면 entityCacheMaxSize 속성 */
+  int maxSize() default 0;
+
+  /** 없는 id 의 조회 결과 (Optional.empty) 도 캐시할지 */
+  boolean cacheMissing() default true;
+}
@@ -0,0 +1,59 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.time.Duration;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * deleteByMapInChunks 의 반복 실행기. chunk 하나가 chunkSize 보다 적게 지우면 남은 행이 없는 것으로 보고 끝낸다.
+ *
+ * <p>chunk 사이에는 pause 만큼 쉰다. 스레드가 인터럽트되면 다음 chunk 를 시작하지 않고 그때까지 지운 행 수를 반환하며, 인터럽트
+ * 상태는 그대로 둔다.
+ */
+final class MybatisChunkedDelete {
+  private static final Logger log = LoggerFactory.getLogger(MybatisChunkedDelete.class);
+
+  private MybatisChunkedDelete() {}
+
+  /**
+   * @param deleteChunk 조건에 맞는 행을 최대 chunkSize 개 지우고 지운 행 수를 반환
+   * @param pause chunk 사이 대기 시간 (null 이면 쉬지 않음)
+   * @param listener chunk 마다 호출 (null 가능)
+   * @return 전체 지운 행 수
+   */
+  static long execute(
+      final IntSupplier deleteChunk,
+      final int chunkSize,
+      final Duration pause,
+      final MybatisDeleteProgressListener listener) {
+    if (chunkSize <= 0) {
+      throw new MybatisRepositoryException("chunkSize must be positive: " + chunkSize);
+    }
+    long pauseMillis = pause == null ? 0 : pause.toMillis();
+    long totalDeletedRows = 0;
+    int chunkCount = 0;
+    while (!Thread.currentThread().isInterrupted()) {
+      int deletedRows = deleteChunk.getAsInt();
+      totalDeletedRows += deletedRows;
+      chunkCount++;
+      if (listener != null) {
+        listener.onChunkDeleted(chunkCount, deletedRows, totalDeletedRows);
+      }
+      if (deletedRows < chunkSize) {
+        return totalDeletedRows;
+      }
+      if (pauseMillis > 0) {
+        try {
+          Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+    log.info(
+        "deleteByMapInChunks interrupted: chunks={} deletedRows={}", chunkCount, totalDeletedRows);
+    return totalDeletedRows;
+  }
+}
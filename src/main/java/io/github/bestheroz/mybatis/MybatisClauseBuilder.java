@@ -2,9 +2,11 @@ package io.github.bestheroz.mybatis;
 
 import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
 import io.github.bestheroz.mybatis.type.ValueEnum;
+import java.sql.Timestamp;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.apache.ibatis.jdbc.SQL;
 import org.slf4j.Logger;
@@ -26,6 +28,10 @@ public class MybatisClauseBuilder {
   private static final DateTimeFormatter DATE_FORMATTER =
       DateTimeFormatter.ofPattern(DEFAULT_DATE_FORMAT);
 
+  // where 키("name:contains") → 필드명과 Condition. 키는 코드에 적힌 고정 문자열이므로 크기를 제한해 캐시한다
+  private static final int WHERE_KEY_CACHE_LIMIT = 4096;
+  private static final Map<String, WhereKey> WHERE_KEY_CACHE = new ConcurrentHashMap<>();
+
   private final MybatisStringHelper stringHelper;
   private final MybatisEntityHelper entityHelper;
 
@@ -44,6 +50,11 @@ public class MybatisClauseBuilder {
     this.properties = properties != null ? properties : MybatisRepositoryProperties.getInstance();
   }
 
+  /** 식별자 인용, 문자열 조건식, LIMIT/OFFSET 문법 */
+  protected MybatisDialect getDialect() {
+    return properties.getDialect();
+  }
+
   /**
    * 주어진 whereConditions를 순회하며, SQL에 WHERE 절을 추가한다.
    *
@@ -53,32 +64,72 @@ public class MybatisClauseBuilder {
    */
   protected void buildWhereClause(
       final SQL sql, final Map<String, Object> whereConditions, final Class<?> entityClass) {
+    buildWhereClause(sql, whereConditions, entityClass, null);
+  }
+
+  /**
+   * bindings 가 주어지면 값을 SQL 리터럴 대신 #{...} placeholder 로 바인딩한다.
+   *
+   * @param bindings bind-parameter 모드의 파라미터 등록 대상 (null 이면 리터럴 모드)
+   */
+  protected void buildWhereClause(
+      final SQL sql,
+      final Map<String, Object> whereConditions,
+      final Class<?> entityClass,
+      final MybatisBindings bindings) {
     if (whereConditions == null) {
       return;
     }
 
     Map<String, Object> extractedWhereConditions = extractWhereConditions(whereConditions);
 
+    // 문 하나에서 조건식마다 같은 StringBuilder 를 비워서 사용
+    StringBuilder clause = new StringBuilder(64);
     for (Map.Entry<String, Object> entry : extractedWhereConditions.entrySet()) {
       final String key = entry.getKey();
-      final Object value = entry.getValue();
+      final WhereKey whereKey = parseWhereKey(key);
+
+      // DB Column (entityClass를 함께 넘김)
+      String dbColumnName = entityHelper.getColumnName(entityClass, whereKey.fieldName);
+
+      // Condition 선택 후 빌드
+      if (bindings != null) {
+        bindings.source(MybatisSqlTemplate.Source.WHERE, key);
+      }
+      clause.setLength(0);
+      whereKey.condition.appendClause(clause, dbColumnName, entry.getValue(), this, bindings);
+      sql.WHERE(clause.toString());
+    }
+  }
 
-      // key를 ":" 기준으로 앞뒤로 잘라서 column/conditionType 구분
-      String columnName = stringHelper.substringBefore(key);
+  /** key를 ":" 기준으로 앞뒤로 잘라서 column/conditionType 구분 (조건이 없으면 eq) */
+  private WhereKey parseWhereKey(final String key) {
+    WhereKey whereKey = WHERE_KEY_CACHE.get(key);
+    if (whereKey == null) {
       String conditionType = stringHelper.substringAfter(key);
-      if (conditionType.isEmpty()) {
-        conditionType = "eq"; // 기본 eq
+      whereKey =
+          new WhereKey(
+              stringHelper.substringBefore(key),
+              conditionType.isEmpty() ? Condition.EQ : Condition.from(conditionType));
+      if (WHERE_KEY_CACHE.size() < WHERE_KEY_CACHE_LIMIT) {
+        WHERE_KEY_CACHE.put(key, whereKey);
       }
+    }
+    return whereKey;
+  }
 
-      // DB Column (entityClass를 함께 넘김)
-      String dbColumnName = entityHelper.getColumnName(entityClass, columnName);
+  private static final class WhereKey {
+    private final String fieldName;
+    private final Condition condition;
 
-      // Condition 선택 후 빌드
-      sql.WHERE(Condition.from(conditionType).buildClause(dbColumnName, value, this));
+    private WhereKey(final String fieldName, final Condition condition) {
+      this.fieldName = fieldName;
+      this.condition = condition;
     }
   }
 
-  private Map<String, Object> extractWhereConditions(Map<String, Object> params) {
+  @SuppressWarnings("unchecked")
+  protected Map<String, Object> extractWhereConditions(Map<String, Object> params) {
     Object whereConditions = params.get("whereConditions");
     if (whereConditions instanceof Map) {
       return (Map<String, Object>) whereConditions;
@@ -104,8 +155,7 @@ public class MybatisClauseBuilder {
     if ((distinctColumns == null || distinctColumns.isEmpty())
         && (targetColumns == null || targetColumns.isEmpty())) {
       for (String field : entityHelper.getEntityFields(entityClass)) {
-        String colName = entityHelper.getColumnName(entityClass, field);
-        sql.SELECT(stringHelper.wrapIdentifier(colName));
+        sql.SELECT(entityHelper.getWrappedColumnName(entityClass, field));
       }
       return;
     }
@@ -113,8 +163,7 @@ public class MybatisClauseBuilder {
     // DISTINCT 컬럼
     if (distinctColumns != null) {
       for (String distinctCol : distinctColumns) {
-        sql.SELECT_DISTINCT(
-            stringHelper.wrapIdentifier(entityHelper.getColumnName(entityClass, distinctCol)));
+        sql.SELECT_DISTINCT(entityHelper.getWrappedColumnName(entityClass, distinctCol));
       }
     }
 
@@ -122,8 +171,7 @@ public class MybatisClauseBuilder {
     if (targetColumns != null) {
       for (String targetCol : targetColumns) {
         if (distinctColumns == null || !distinctColumns.contains(targetCol)) {
-          sql.SELECT(
-              stringHelper.wrapIdentifier(entityHelper.getColumnName(entityClass, targetCol)));
+          sql.SELECT(entityHelper.getWrappedColumnName(entityClass, targetCol));
         }
       }
     }
@@ -144,15 +192,71 @@ public class MybatisClauseBuilder {
     for (String condition : orderByConditions) {
       if (condition.startsWith("-")) {
         String realCol = condition.substring(1);
-        sql.ORDER_BY(
-            stringHelper.wrapIdentifier(entityHelper.getColumnName(entityClass, realCol))
-                + " DESC");
+        sql.ORDER_BY(entityHelper.getWrappedColumnName(entityClass, realCol) + " DESC");
       } else {
-        sql.ORDER_BY(
-            stringHelper.wrapIdentifier(entityHelper.getColumnName(entityClass, condition))
-                + " ASC");
+        sql.ORDER_BY(entityHelper.getWrappedColumnName(entityClass, condition) + " ASC");
+      }
+    }
+  }
+
+  /**
+   * keyset(seek) 페이지네이션 조건. 정렬 방향이 모두 같으면 row value 비교 ((`a`, `b`) > (x, y)), 섞여 있으면 OR 로 풀어서
+   * 만든다. ((`a` > x) OR (`a` = x AND `b` < y))
+   *
+   * @param orderByConditions 정렬 조건 리스트 (예: ["-createdAt", "id"])
+   * @param lastKeys 이전 페이지 마지막 행의 정렬 컬럼 값 (orderByConditions 와 같은 순서)
+   * @param bindings bind-parameter 모드의 파라미터 등록 대상 (null 이면 리터럴)
+   */
+  protected String buildKeysetClause(
+      final List<String> orderByConditions,
+      final List<?> lastKeys,
+      final Class<?> entityClass,
+      final MybatisBindings bindings) {
+    int size = orderByConditions.size();
+    String[] columns = new String[size];
+    boolean[] descending = new boolean[size];
+    boolean uniform = true;
+    for (int i = 0; i < size; i++) {
+      String condition = orderByConditions.get(i);
+      descending[i] = condition.startsWith("-");
+      columns[i] =
+          entityHelper.getWrappedColumnName(
+              entityClass, descending[i] ? condition.substring(1) : condition);
+      uniform = uniform && descending[i] == descending[0];
+    }
+
+    if (uniform) {
+      StringBuilder values = new StringBuilder();
+      for (int i = 0; i < size; i++) {
+        values.append(i == 0 ? "" : ", ").append(formatKeysetValue(lastKeys, i, bindings));
+      }
+      String operator = descending[0] ? " < " : " > ";
+      return size == 1
+          ? columns[0] + operator + values
+          : "(" + String.join(", ", columns) + ")" + operator + "(" + values + ")";
+    }
+
+    StringBuilder sb = new StringBuilder("(");
+    for (int i = 0; i < size; i++) {
+      sb.append(i == 0 ? "(" : " OR (");
+      for (int j = 0; j < i; j++) {
+        sb.append(columns[j]).append(" = ").append(formatKeysetValue(lastKeys, j, bindings));
+        sb.append(" AND ");
       }
+      sb.append(columns[i])
+          .append(descending[i] ? " < " : " > ")
+          .append(formatKeysetValue(lastKeys, i, bindings))
+          .append(")");
     }
+    return sb.append(")").toString();
+  }
+
+  private String formatKeysetValue(
+      final List<?> lastKeys, final int index, final MybatisBindings bindings) {
+    if (bindings != null) {
+      bindings.source(MybatisSqlTemplate.Source.KEYSET, String.valueOf(index));
+    }
+    return formatValue(lastKeys == null ? null : lastKeys.get(index), bindings);
   }
 
   /** WHERE 절 존재 여부 확인 (UPDATE, DELETE 시 강제 사용) */
@@ -169,6 +273,49 @@ public class MybatisClauseBuilder {
   // ===========================================
   protected String buildInClause(
       final String dbColumnName, final Object value, final boolean isNotIn) {
+    return buildInClause(dbColumnName, value, isNotIn, null);
+  }
+
+  protected String buildInClause(
+      final String dbColumnName,
+      final Object value,
+      final boolean isNotIn,
+      final MybatisBindings bindings) {
+    StringBuilder sb = new StringBuilder(64);
+    appendInClause(sb, dbColumnName, value, isNotIn, bindings);
+    return sb.toString();
+  }
+
+  protected void appendInClause(
+      final StringBuilder sb,
+      final String dbColumnName,
+      final Object value,
+      final boolean isNotIn,
+      final MybatisBindings bindings) {
+    getDialect().appendIdentifier(sb, dbColumnName);
+    sb.append(' ').append(isNotIn ? "NOT" : "").append(" IN (");
+    appendInValues(sb, dbColumnName, value, isNotIn, bindings);
+    sb.append(')');
+  }
+
+  /** IN 절 값(Set)을 검증하고 ", " 로 이은 리터럴 또는 placeholder 목록을 반환한다. */
+  protected String formatInValues(
+      final String dbColumnName,
+      final Object value,
+      final boolean isNotIn,
+      final MybatisBindings bindings) {
+    StringBuilder sb = new StringBuilder();
+    appendInValues(sb, dbColumnName, value, isNotIn, bindings);
+    return sb.toString();
+  }
+
+  /** formatInValues 와 같지만 결과를 sb 에 바로 붙인다. */
+  protected void appendInValues(
+      final StringBuilder sb,
+      final String dbColumnName,
+      final Object value,
+      final boolean isNotIn,
+      final MybatisBindings bindings) {
     if (!(value instanceof Set)) {
       log.warn("conditionType '{}' requires Set", (isNotIn ? "notIn" : "in"));
       throw new MybatisRepositoryException(
@@ -192,51 +339,147 @@ public class MybatisClauseBuilder {
               + inValues.size());
     }
 
-    String inFormatted =
-        inValues.stream().map(this::formatValueForSQL).collect(Collectors.joining(", "));
-    return String.format("`%s` %s IN (%s)", dbColumnName, (isNotIn ? "NOT" : ""), inFormatted);
+    if (bindings != null) {
+      sb.append(bindings.bindAll(dbColumnName, isNotIn, inValues, this));
+      return;
+    }
+    boolean first = true;
+    for (Object inValue : inValues) {
+      if (!first) {
+        sb.append(", ");
+      }
+      first = false;
+      appendValueForSQL(sb, inValue);
+    }
   }
 
   protected String buildEqualClause(final String dbColumnName, final Object value) {
-    return String.format("`%s` = %s", dbColumnName, formatValueForSQL(value));
+    return buildEqualClause(dbColumnName, value, null);
+  }
+
+  protected String buildEqualClause(
+      final String dbColumnName, final Object value, final MybatisBindings bindings) {
+    StringBuilder sb = new StringBuilder(32);
+    appendEqualClause(sb, dbColumnName, value, bindings);
+    return sb.toString();
+  }
+
+  protected void appendEqualClause(
+      final StringBuilder sb,
+      final String dbColumnName,
+      final Object value,
+      final MybatisBindings bindings) {
+    getDialect().appendIdentifier(sb, dbColumnName);
+    sb.append(" = ");
+    appendValue(sb, value, bindings);
   }
 
   // ===========================================
   // Value Formatting
   // ===========================================
-  protected String formatValueForSQL(final Object value) {
+
+  /** bindings 가 있으면 #{...} placeholder 를, 없으면 SQL 리터럴을 반환한다. */
+  protected String formatValue(final Object value, final MybatisBindings bindings) {
+    if (bindings == null) {
+      return formatValueForSQL(value);
+    }
+    return bindings.bind(toBindValue(value));
+  }
+
+  /** formatValue 와 같지만 결과를 sb 에 바로 붙인다. */
+  protected void appendValue(
+      final StringBuilder sb, final Object value, final MybatisBindings bindings) {
+    if (bindings == null) {
+      appendValueForSQL(sb, value);
+    } else {
+      sb.append(bindings.bind(toBindValue(value)));
+    }
+  }
+
+  /** formatValueForSQL 과 같지만, 자주 쓰는 숫자/문자열은 중간 문자열 없이 sb 에 바로 붙인다. */
+  protected void appendValueForSQL(final StringBuilder sb, final Object value) {
+    if (value instanceof Long || value instanceof Integer) {
+      sb.append(((Number) value).longValue());
+    } else if (value instanceof String && !stringHelper.isISO8601String((String) value)) {
+      sb.append('\'');
+      stringHelper.appendEscaped(sb, (String) value);
+      sb.append('\'');
+    } else {
+      sb.append(formatValueForSQL(value));
+    }
+  }
+
+  /**
+   * 값을 JDBC 파라미터로 바인딩할 값으로 변환한다. 날짜 / 시간은 드라이버가 VARCHAR 가 아닌 날짜 타입으로 보내도록 Timestamp /
+   * java.sql.Date 로 바꾸고 (벽시계 값은 리터럴 모드와 같음), 그 밖의 값은 toLiteralValue 를 따른다.
+   */
+  protected Object toBindValue(final Object value) {
+    if (value instanceof String && stringHelper.isISO8601String((String) value)) {
+      return toUtcTimestamp(Instant.parse((String) value));
+    } else if (value instanceof Instant) {
+      return toUtcTimestamp((Instant) value);
+    } else if (value instanceof OffsetDateTime) {
+      return toUtcTimestamp(((OffsetDateTime) value).toInstant());
+    } else if (value instanceof LocalDateTime) {
+      return Timestamp.valueOf((LocalDateTime) value);
+    } else if (value instanceof LocalDate) {
+      return java.sql.Date.valueOf((LocalDate) value);
+    } else if (value instanceof Timestamp
+        || value instanceof java.sql.Date
+        || value instanceof java.sql.Time) {
+      return value;
+    } else if (value instanceof Date) {
+      return new Timestamp(((Date) value).getTime());
+    }
+    return toLiteralValue(value);
+  }
+
+  // 리터럴 모드는 Instant 를 UTC 벽시계 문자열로 쓰므로, 드라이버가 JVM 시간대로 보내도 같은 값이 되도록 만든다
+  private static Timestamp toUtcTimestamp(final Instant instant) {
+    return Timestamp.valueOf(LocalDateTime.ofInstant(instant, ZoneOffset.UTC));
+  }
+
+  /** SQL 리터럴로 쓸 값. 날짜 / 시간은 "yyyy-MM-dd HH:mm:ss.SSS" 문자열, enum 은 값, Collection / Map 은 JSON 문자열 */
+  protected Object toLiteralValue(final Object value) {
     if (value == null) {
-      return "null";
+      return null;
     }
 
     if (value instanceof String) {
-      return formatStringValue((String) value);
+      String str = (String) value;
+      if (stringHelper.isISO8601String(str)) {
+        return stringHelper.instantToString(Instant.parse(str), DEFAULT_DATETIME_FORMAT);
+      }
+      return str;
     } else if (value instanceof Instant) {
-      return "'" + stringHelper.instantToString((Instant) value, DEFAULT_DATETIME_FORMAT) + "'";
+      return stringHelper.instantToString((Instant) value, DEFAULT_DATETIME_FORMAT);
     } else if (value instanceof Date) {
-      return "'"
-          + ((Date) value).toInstant().atZone(ZoneId.systemDefault()).format(DATETIME_FORMATTER)
-          + "'";
+      return ((Date) value).toInstant().atZone(ZoneId.systemDefault()).format(DATETIME_FORMATTER);
     } else if (value instanceof LocalDateTime) {
-      return "'" + ((LocalDateTime) value).format(DATETIME_FORMATTER) + "'";
+      return ((LocalDateTime) value).format(DATETIME_FORMATTER);
     } else if (value instanceof LocalDate) {
-      return "'" + ((LocalDate) value).format(DATE_FORMATTER) + "'";
+      return ((LocalDate) value).format(DATE_FORMATTER);
     } else if (value instanceof OffsetDateTime) {
-      return "'"
-          + stringHelper.instantToString(
-              ((OffsetDateTime) value).toInstant(), DEFAULT_DATETIME_FORMAT)
-          + "'";
+      return stringHelper.instantToString(
+          ((OffsetDateTime) value).toInstant(), DEFAULT_DATETIME_FORMAT);
     } else if (value instanceof Enum) {
-      return formatEnumValue((Enum<?>) value);
+      Enum<?> enumValue = (Enum<?>) value;
+      return enumValue instanceof ValueEnum ? ((ValueEnum) enumValue).getValue() : enumValue.name();
     } else if (value instanceof Collection) {
-      return formatCollectionValue((Collection<?>) value);
+      // 예: ["val1", 2, "val3"]
+      return ((Collection<?>) value)
+          .stream()
+          .map(this::toJsonElement)
+          .collect(Collectors.joining(", ", "[", "]"));
     } else if (value instanceof Map) {
-      return formatMapValue((Map<?, ?>) value);
+      // 예: {"key1":"val1", "key2":2}
+      return ((Map<?, ?>) value)
+          .entrySet().stream()
+          .map(entry -> "\"" + entry.getKey() + "\":" + toJsonElement(entry.getValue()))
+          .collect(Collectors.joining(", ", "{", "}"));
     } else if (value instanceof Number || value instanceof Boolean) {
-      // 숫자와 Boolean은 안전하게 처리
-      return value.toString();
+      return value;
     }
-    // 기타 객체는 문자열로 변환 후 이스케이프
     String stringValue = value.toString();
     if (stringValue.length() > properties.getMaxStringValueLength()) {
       throw new MybatisRepositoryException(
@@ -245,59 +488,24 @@ public class MybatisClauseBuilder {
               + ", max allowed: "
               + properties.getMaxStringValueLength());
     }
-    return "'" + stringHelper.escapeSingleQuote(stringValue) + "'";
+    return stringValue;
   }
 
-  private String formatStringValue(final String str) {
-    // ISO8601이면 Instant로 변환
-    if (stringHelper.isISO8601String(str)) {
-      return "'"
-          + stringHelper.instantToString(Instant.parse(str), "yyyy-MM-dd HH:mm:ss.SSS")
-          + "'";
-    }
-    // 일반 문자열
-    return "'" + stringHelper.escapeSingleQuote(str) + "'";
+  private String toJsonElement(final Object value) {
+    Object element = toLiteralValue(value);
+    return element instanceof String ? "\"" + element + "\"" : String.valueOf(element);
   }
 
-  private String formatEnumValue(final Enum<?> enumValue) {
-    if (enumValue instanceof ValueEnum) {
-      ValueEnum ve = (ValueEnum) enumValue;
-      return "'" + ve.getValue() + "'";
+  /** toLiteralValue 로 변환한 값을 SQL 리터럴로 쓴다. 숫자와 Boolean 외에는 작은따옴표로 감싸고 이스케이프한다. */
+  protected String formatValueForSQL(final Object value) {
+    Object literalValue = toLiteralValue(value);
+    if (literalValue == null) {
+      return "null";
     }
-    // 기본 name()
-    return "'" + enumValue.name() + "'";
-  }
-
-  private String formatCollectionValue(final Collection<?> collection) {
-    // 예: '[val1, val2, val3]' 형태
-    String joined =
-        collection.stream()
-            .map(v -> formatValueForSQL(v).replace("'", "\""))
-            .collect(Collectors.joining(", "));
-    return "'[" + joined + "]'";
-  }
-
-  private String formatMapValue(final Map<?, ?> map) {
-    // 예: "{\"key1\":val1, \"key2\":val2, ...}"
-    StringBuilder sb = new StringBuilder().append("\"{");
-    boolean first = true;
-    for (Map.Entry<?, ?> entry : map.entrySet()) {
-      if (!first) {
-        sb.append(", ");
-      }
-      first = false;
-      sb.append("\"")
-          .append(stringHelper.escapeSingleQuote(String.valueOf(entry.getKey())))
-          .append("\":");
-
-      Object val = entry.getValue();
-      if (val instanceof String) {
-        sb.append("\"").append(stringHelper.escapeSingleQuote(String.valueOf(val))).append("\"");
-      } else {
-        sb.append(formatValueForSQL(val));
-      }
+    if (literalValue instanceof Number || literalValue instanceof Boolean) {
+      // 숫자와 Boolean은 안전하게 처리
+      return literalValue.toString();
     }
-    sb.append("}\"");
-    return sb.toString();
+    return "'" + stringHelper.escapeSingleQuote(literalValue.toString()) + "'";
   }
 }
@@ -1,10 +1,10 @@
 package io.github.bestheroz.mybatis;
 
 import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
-import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import org.apache.ibatis.builder.annotation.ProviderContext;
 import org.apache.ibatis.jdbc.SQL;
 import org.slf4j.Logger;
@@ -16,8 +16,9 @@ public class MybatisCommand {
   // ======================
   // Thread-safe Caches
   // ======================
-  protected static final Map<Class<?>, List<Field>> FIELD_CACHE = new ConcurrentHashMap<>();
-  protected static final Map<Class<?>, String> TABLE_NAME_CACHE = new ConcurrentHashMap<>();
+  protected static final Map<Class<?>, MybatisEntityMetadata> METADATA_CACHE =
+      new ConcurrentHashMap<>();
+  protected static final Map<Class<?>, Class<?>> MAPPER_ENTITY_CACHE = new ConcurrentHashMap<>();
 
   // ======================
   // Allowed Method List (기존과 동일)
@@ -25,10 +26,29 @@ public class MybatisCommand {
   public static final String SELECT_ITEMS = "buildSelectSQL";
   public static final String SELECT_ITEM_BY_MAP = "buildSelectOneSQL";
   public static final String COUNT_BY_MAP = "buildCountSQL";
+  public static final String EXISTS_BY_MAP = "buildExistsSQL";
+  public static final String COUNT_ESTIMATE = "buildCountEstimateSQL";
   public static final String INSERT = "buildInsertSQL";
   public static final String INSERT_BATCH = "buildInsertBatchSQL";
   public static final String UPDATE_MAP_BY_MAP = "buildUpdateSQL";
   public static final String DELETE_BY_MAP = "buildDeleteSQL";
+  public static final String UPSERT = "buildUpsertSQL";
+  public static final String UPDATE_MAPS_BY_ID = "buildUpdateMapsByIdSQL";
+  public static final String DELETE_LIMIT_BY_MAP = "buildDeleteLimitSQL";
+
+  // mapper 가 넘긴 ParamMap 을 그대로 받는 provider (bind-parameter 모드 지원)
+  public static final String PROVIDE_SELECT_ITEMS = "provideSelectSQL";
+  public static final String PROVIDE_SELECT_ITEM_BY_MAP = "provideSelectOneSQL";
+  public static final String PROVIDE_COUNT_BY_MAP = "provideCountSQL";
+  public static final String PROVIDE_EXISTS_BY_MAP = "provideExistsSQL";
+  public static final String PROVIDE_UPDATE_MAP_BY_MAP = "provideUpdateSQL";
+  public static final String PROVIDE_DELETE_BY_MAP = "provideDeleteSQL";
+  public static final String PROVIDE_INSERT = "provideInsertSQL";
+  public static final String PROVIDE_SELECT_KEYSET = "provideSelectKeysetSQL";
+  public static final String PROVIDE_UPSERT = "provideUpsertSQL";
+  public static final String PROVIDE_UPDATE_MAPS_BY_ID = "provideUpdateMapsByIdSQL";
+  public static final String PROVIDE_UPDATE_BIND = "provideUpdateBindSQL";
+  public static final String PROVIDE_DELETE_LIMIT_BY_MAP = "provideDeleteLimitSQL";
 
   protected static final Set<String> METHOD_LIST =
       Collections.unmodifiableSet(
@@ -37,14 +57,33 @@ public class MybatisCommand {
                   SELECT_ITEMS,
                   SELECT_ITEM_BY_MAP,
                   COUNT_BY_MAP,
+                  EXISTS_BY_MAP,
+                  COUNT_ESTIMATE,
                   INSERT,
                   INSERT_BATCH,
                   UPDATE_MAP_BY_MAP,
-                  DELETE_BY_MAP)));
+                  DELETE_BY_MAP,
+                  UPSERT,
+                  UPDATE_MAPS_BY_ID,
+                  DELETE_LIMIT_BY_MAP,
+                  PROVIDE_SELECT_ITEMS,
+                  PROVIDE_SELECT_ITEM_BY_MAP,
+                  PROVIDE_COUNT_BY_MAP,
+                  PROVIDE_EXISTS_BY_MAP,
+                  PROVIDE_UPDATE_MAP_BY_MAP,
+                  PROVIDE_DELETE_BY_MAP,
+                  PROVIDE_INSERT,
+                  PROVIDE_SELECT_KEYSET,
+                  PROVIDE_UPSERT,
+                  PROVIDE_UPDATE_MAPS_BY_ID,
+                  PROVIDE_UPDATE_BIND,
+                  PROVIDE_DELETE_LIMIT_BY_MAP)));
 
   private final MybatisEntityHelper entityHelper;
   private final MybatisStringHelper stringHelper;
   private final MybatisClauseBuilder clauseBuilder;
+  private final MybatisRepositoryProperties properties;
+  private final MybatisSqlTemplateCache templateCache;
 
   // 싱글톤 인스턴스들 (성능 최적화)
   private static final MybatisStringHelper SHARED_STRING_HELPER = new MybatisStringHelper();
@@ -52,15 +91,19 @@ public class MybatisCommand {
       new MybatisEntityHelper(SHARED_STRING_HELPER);
   private static final MybatisClauseBuilder SHARED_CLAUSE_BUILDER =
       new MybatisClauseBuilder(SHARED_STRING_HELPER, SHARED_ENTITY_HELPER);
+  private static final MybatisSqlLogger SQL_LOGGER = MybatisSqlLogger.getInstance();
 
   // 상수로 정의하여 객체 생성 방지
   private static final Set<String> EMPTY_SET = Collections.emptySet();
   private static final List<String> EMPTY_LIST = Collections.emptyList();
+  private static final Map<String, Object> EMPTY_MAP = Collections.emptyMap();
 
   public MybatisCommand() {
     this.stringHelper = SHARED_STRING_HELPER;
     this.entityHelper = SHARED_ENTITY_HELPER;
     this.clauseBuilder = SHARED_CLAUSE_BUILDER;
+    this.properties = MybatisRepositoryProperties.getInstance();
+    this.templateCache = MybatisSqlTemplateCache.getInstance();
   }
 
   public MybatisCommand(
@@ -70,23 +113,110 @@ public class MybatisCommand {
     this.entityHelper = entityHelper;
     this.stringHelper = stringHelper;
     this.clauseBuilder = clauseBuilder;
+    this.properties = MybatisRepositoryProperties.getInstance();
+    this.templateCache = MybatisSqlTemplateCache.getInstance();
   }
 
   // ===========================================
   // 1) COUNT
   // ===========================================
   public String buildCountSQL(ProviderContext context, Map<String, Object> whereConditions) {
-    Class<?> entityClass = entityHelper.extractEntityClassFromMapper(context.getMapperType());
-    if (entityClass == null) {
-      throw new MybatisRepositoryException(
-          "cannot determine entity class for count: " + context.getMapperType().getName());
-    }
+    return buildCountSQL(
+        resolveEntityClass(context, "count"),
+        operationOf(context, COUNT_BY_MAP),
+        whereConditions,
+        null);
+  }
 
+  private String buildCountSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<String, Object> whereConditions,
+      MybatisBindings bindings) {
+    long start = MybatisMetrics.getInstance().start();
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () -> compileCountSQL(entityClass, conditions),
+            entityClass,
+            COUNT_BY_MAP,
+            conditions.keySet());
+    String sql = template.render(clauseBuilder, bindings, conditions, null, null, null);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileCountSQL(
+      Class<?> entityClass, Map<String, Object> whereConditions) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
     String tableName = entityHelper.getTableName(entityClass);
     SQL sql = new SQL().SELECT("COUNT(1) AS CNT").FROM(tableName);
-    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass);
-    log.debug("count SQL: {}", sql.toString().replaceAll("\n", " "));
-    return sql.toString();
+    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
+    return recorder.toTemplate(sql.toString());
+  }
+
+  /**
+   * MybatisCountMode.ESTIMATED 의 countAll. dialect 의 테이블 통계 조회를 쓰고, 통계가 없는 dialect 는 정확한 COUNT 문을
+   * 만든다.
+   */
+  public String buildCountEstimateSQL(ProviderContext context) {
+    return buildCountEstimateSQL(
+        resolveEntityClass(context, "count"), operationOf(context, COUNT_ESTIMATE));
+  }
+
+  private String buildCountEstimateSQL(Class<?> entityClass, String operation) {
+    long start = MybatisMetrics.getInstance().start();
+    String tableName = MybatisEntityHelper.getMetadata(entityClass).getTableName();
+    String sql =
+        clauseBuilder.getDialect().buildEstimatedCount(clauseBuilder.formatValueForSQL(tableName));
+    if (sql == null) {
+      return buildCountSQL(entityClass, operation, EMPTY_MAP, null);
+    }
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, EMPTY_MAP);
+    return sql;
+  }
+
+  // ===========================================
+  // 1-1) EXISTS
+  // ===========================================
+  /** SELECT 1 FROM … WHERE … LIMIT 1. COUNT 와 달리 DB 가 첫 행에서 멈출 수 있다 */
+  public String buildExistsSQL(ProviderContext context, Map<String, Object> whereConditions) {
+    return buildExistsSQL(
+        resolveEntityClass(context, "exists"),
+        operationOf(context, EXISTS_BY_MAP),
+        whereConditions,
+        null);
+  }
+
+  private String buildExistsSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<String, Object> whereConditions,
+      MybatisBindings bindings) {
+    long start = MybatisMetrics.getInstance().start();
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () -> compileExistsSQL(entityClass, conditions),
+            entityClass,
+            EXISTS_BY_MAP,
+            conditions.keySet());
+    String sql = template.render(clauseBuilder, bindings, conditions, null, null, null);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileExistsSQL(
+      Class<?> entityClass, Map<String, Object> whereConditions) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
+    String tableName = entityHelper.getTableName(entityClass);
+    SQL sql = new SQL().SELECT("1").FROM(tableName);
+    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
+    clauseBuilder.getDialect().applyLimitOffset(sql, "1", null);
+    return recorder.toTemplate(sql.toString());
   }
 
   // ===========================================
@@ -110,12 +240,67 @@ public class MybatisCommand {
       List<String> orderByConditions,
       Integer limit,
       Integer offset) {
-    Class<?> entityClass = entityHelper.extractEntityClassFromMapper(context.getMapperType());
-    if (entityClass == null) {
-      throw new MybatisRepositoryException(
-          "cannot determine entity class for select: " + context.getMapperType().getName());
-    }
+    return buildSelectSQL(
+        resolveEntityClass(context, "select"),
+        operationOf(context, SELECT_ITEMS),
+        distinctColumns,
+        targetColumns,
+        whereConditions,
+        orderByConditions,
+        limit,
+        offset,
+        null);
+  }
 
+  private String buildSelectSQL(
+      Class<?> entityClass,
+      String operation,
+      Set<String> distinctColumns,
+      Set<String> targetColumns,
+      Map<String, Object> whereConditions,
+      List<String> orderByConditions,
+      Integer limit,
+      Integer offset,
+      MybatisBindings bindings) {
+    long start = MybatisMetrics.getInstance().start();
+    Set<String> distinct = distinctColumns == null ? EMPTY_SET : distinctColumns;
+    Set<String> target = targetColumns == null ? EMPTY_SET : targetColumns;
+    List<String> orderBy = orderByConditions == null ? EMPTY_LIST : orderByConditions;
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () ->
+                compileSelectSQL(
+                    entityClass,
+                    distinct,
+                    target,
+                    conditions,
+                    orderBy,
+                    limit != null,
+                    offset != null),
+            entityClass,
+            SELECT_ITEMS,
+            conditions.keySet(),
+            distinct,
+            target,
+            orderBy,
+            limit != null,
+            offset != null);
+    String sql = template.render(clauseBuilder, bindings, conditions, null, limit, offset);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileSelectSQL(
+      Class<?> entityClass,
+      Set<String> distinctColumns,
+      Set<String> targetColumns,
+      Map<String, Object> whereConditions,
+      List<String> orderByConditions,
+      boolean hasLimit,
+      boolean hasOffset) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
     String tableName = entityHelper.getTableName(entityClass);
     SQL sql = new SQL();
     // SELECT 절
@@ -123,57 +308,287 @@ public class MybatisCommand {
     sql.FROM(tableName);
 
     // WHERE 절
-    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass);
+    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
 
     // ORDER BY 절
     clauseBuilder.appendOrderBy(sql, orderByConditions, entityClass);
 
     // LIMIT / OFFSET
-    if (limit != null) {
-      sql.LIMIT(limit);
+    applyLimitOffset(sql, recorder, hasLimit, hasOffset);
+    return recorder.toTemplate(sql.toString());
+  }
+
+  /**
+   * keyset(seek) 페이지네이션 SELECT. lastKeys 가 있으면 정렬 컬럼 기준으로 그 다음 행부터 조회한다. lastKeys 에 null 이 있으면
+   * MybatisRepositoryException.
+   *
+   * @see MybatisClauseBuilder#buildKeysetClause
+   */
+  private String buildSelectKeysetSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<String, Object> whereConditions,
+      List<String> orderByConditions,
+      List<?> lastKeys,
+      Integer limit,
+      MybatisBindings bindings) {
+    if (orderByConditions == null || orderByConditions.isEmpty()) {
+      throw new MybatisRepositoryException("orderByConditions is required for keyset pagination");
+    }
+    if (lastKeys != null && lastKeys.size() != orderByConditions.size()) {
+      throw new MybatisRepositoryException(
+          String.format(
+              "lastKeys size (%d) must match orderByConditions size (%d)",
+              lastKeys.size(), orderByConditions.size()));
     }
-    if (offset != null) {
-      sql.OFFSET(offset);
+    if (lastKeys != null) {
+      // `col` > NULL 은 항상 거짓이라 빈 페이지가 되므로 조회하지 않고 알린다
+      for (int i = 0; i < lastKeys.size(); i++) {
+        if (lastKeys.get(i) == null) {
+          String condition = orderByConditions.get(i);
+          throw new MybatisRepositoryException(
+              "lastKeys value for keyset column '"
+                  + entityHelper.getColumnName(
+                      entityClass, condition.startsWith("-") ? condition.substring(1) : condition)
+                  + "' is null; keyset pagination requires NOT NULL sort columns");
+        }
+      }
+    }
+    long start = MybatisMetrics.getInstance().start();
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () ->
+                compileSelectKeysetSQL(
+                    entityClass, conditions, orderByConditions, lastKeys != null, limit != null),
+            entityClass,
+            PROVIDE_SELECT_KEYSET,
+            conditions.keySet(),
+            orderByConditions,
+            lastKeys != null,
+            limit != null);
+    String sql = template.render(clauseBuilder, bindings, conditions, null, limit, null, lastKeys);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileSelectKeysetSQL(
+      Class<?> entityClass,
+      Map<String, Object> whereConditions,
+      List<String> orderByConditions,
+      boolean hasLastKeys,
+      boolean hasLimit) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
+    SQL sql = new SQL();
+    clauseBuilder.appendSelectColumns(sql, EMPTY_SET, EMPTY_SET, entityClass);
+    sql.FROM(entityHelper.getTableName(entityClass));
+    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
+    if (hasLastKeys) {
+      sql.WHERE(clauseBuilder.buildKeysetClause(orderByConditions, null, entityClass, recorder));
     }
+    clauseBuilder.appendOrderBy(sql, orderByConditions, entityClass);
+    applyLimitOffset(sql, recorder, hasLimit, false);
+    return recorder.toTemplate(sql.toString());
+  }
 
-    log.debug("select SQL: {}", sql.toString().replaceAll("\n", " "));
-    return sql.toString();
+  /** LIMIT / OFFSET placeholder 를 dialect 문법으로 붙인다 */
+  private void applyLimitOffset(
+      SQL sql, MybatisSqlTemplate.Recorder recorder, boolean hasLimit, boolean hasOffset) {
+    String limit = null;
+    String offset = null;
+    if (hasLimit) {
+      recorder.source(MybatisSqlTemplate.Source.LIMIT, null);
+      limit = recorder.bind(null);
+    }
+    if (hasOffset) {
+      recorder.source(MybatisSqlTemplate.Source.OFFSET, null);
+      offset = recorder.bind(null);
+    }
+    clauseBuilder.getDialect().applyLimitOffset(sql, limit, offset);
   }
 
   // ===========================================
   // 4) INSERT ONE
   // ===========================================
   public <T> String buildInsertSQL(T entity) {
+    return buildInsertSQL(entity, INSERT, null);
+  }
+
+  private String buildInsertSQL(Object entity, String operation, MybatisBindings bindings) {
     if (entity == null) {
       throw new MybatisRepositoryException("entity is null for insert");
     }
+    long start = MybatisMetrics.getInstance().start();
 
-    String tableName = entityHelper.getTableName(entity.getClass());
-    SQL sql = new SQL().INSERT_INTO(tableName);
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(entity.getClass());
+    SQL sql = new SQL().INSERT_INTO(metadata.getTableName());
 
-    Map<String, Object> entityMap = toMap(entity);
-    for (Map.Entry<String, Object> entry : entityMap.entrySet()) {
-      String columnName = entityHelper.getColumnName(entity.getClass(), entry.getKey());
-      sql.VALUES(
-          stringHelper.wrapIdentifier(columnName),
-          clauseBuilder.formatValueForSQL(entry.getValue()));
+    Object[] values = metadata.getValues(entity);
+    for (int i = 0; i < values.length; i++) {
+      sql.VALUES(metadata.getWrappedColumnName(i), clauseBuilder.formatValue(values[i], bindings));
     }
 
-    log.debug("insert SQL: {}", sql.toString().replaceAll("\n", " "));
-    return sql.toString();
+    String result = sql.toString();
+    SQL_LOGGER.logSql(entity.getClass(), operation, result);
+    recordBuild(entity.getClass(), operation, start, EMPTY_MAP);
+    return result;
   }
 
   // ===========================================
   // 5) INSERT BATCH
   // ===========================================
   public <T> String buildInsertBatchSQL(List<T> entities) {
+    Class<?> expectedType = validateInsertBatch(entities);
+    long start = MybatisMetrics.getInstance().start();
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(expectedType);
+    int columnCount = metadata.getColumnCount();
+
+    // INSERT INTO table (col1, col2, …)
+    String wrappedTable = stringHelper.wrapIdentifier(metadata.getTableName());
+    SQL sql = new SQL().INSERT_INTO(wrappedTable);
+    sql.INTO_COLUMNS(metadata.getInsertColumnClause());
+
+    // VALUES ( … ), ( … ), …
+    boolean first = true;
+    for (T entity : entities) {
+      if (!first) {
+        sql.ADD_ROW();
+      }
+      first = false;
+      String[] rowValues = new String[columnCount];
+      for (int i = 0; i < columnCount; i++) {
+        rowValues[i] = clauseBuilder.formatValueForSQL(metadata.getValue(entity, i));
+      }
+      sql.INTO_VALUES(rowValues);
+    }
+
+    String result = sql.toString();
+    SQL_LOGGER.logSql(expectedType, INSERT_BATCH, result);
+    recordBuild(expectedType, INSERT_BATCH, start, EMPTY_MAP);
+    MybatisMetrics.getInstance().recordBatchSize(expectedType, INSERT_BATCH, entities.size());
+    return result;
+  }
+
+  // ===========================================
+  // 5-1) UPSERT
+  // ===========================================
+  /**
+   * entities 를 한 문장으로 upsert 한다. 문법은 dialect 를 따른다 (MySQL ON DUPLICATE KEY UPDATE, PostgreSQL ON
+   * CONFLICT, H2 MERGE). 값은 insertBatch 와 같이 리터럴로 넣으며 (provideUpsertSQL 은 bind-parameter 모드이면
+   * #{...} placeholder), 크기 제한은 splitInsertBatch 로 나눈 chunk 단위로 맞춘다.
+   *
+   * @param updateFields 이미 있는 행에서 바꿀 필드. null 이거나 비어 있으면 id 를 뺀 모든 필드
+   */
+  public <T> String buildUpsertSQL(List<T> entities, Set<String> updateFields) {
+    return buildUpsertSQL(entities, updateFields, null);
+  }
+
+  private <T> String buildUpsertSQL(
+      List<T> entities, Set<String> updateFields, MybatisBindings bindings) {
+    Class<?> expectedType = validateInsertBatch(entities);
+    long start = MybatisMetrics.getInstance().start();
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(expectedType);
+    int columnCount = metadata.getColumnCount();
+    int idIndex = metadata.getIdIndex();
+
+    String[] columns = new String[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      columns[i] = metadata.getWrappedColumnName(i);
+    }
+    String[] keyColumns = idIndex == -1 ? new String[0] : new String[] {columns[idIndex]};
+    String[] updateColumns = resolveUpsertColumns(expectedType, metadata, updateFields);
+
+    List<String[]> rows = new ArrayList<>(entities.size());
+    for (T entity : entities) {
+      String[] rowValues = new String[columnCount];
+      for (int i = 0; i < columnCount; i++) {
+        rowValues[i] = clauseBuilder.formatValue(metadata.getValue(entity, i), bindings);
+      }
+      rows.add(rowValues);
+    }
+
+    StringBuilder sb = new StringBuilder(256 + rows.size() * columnCount * 16);
+    clauseBuilder
+        .getDialect()
+        .appendUpsert(
+            sb,
+            stringHelper.wrapIdentifier(metadata.getTableName()),
+            columns,
+            rows,
+            keyColumns,
+            updateColumns);
+
+    String result = sb.toString();
+    SQL_LOGGER.logSql(expectedType, UPSERT, result);
+    recordBuild(expectedType, UPSERT, start, EMPTY_MAP);
+    MybatisMetrics.getInstance().recordBatchSize(expectedType, UPSERT, entities.size());
+    return result;
+  }
+
+  private String[] resolveUpsertColumns(
+      Class<?> entityClass, MybatisEntityMetadata metadata, Set<String> updateFields) {
+    if (updateFields == null || updateFields.isEmpty()) {
+      List<String> columns = new ArrayList<>(metadata.getColumnCount());
+      for (int i = 0; i < metadata.getColumnCount(); i++) {
+        if (i != metadata.getIdIndex()) {
+          columns.add(metadata.getWrappedColumnName(i));
+        }
+      }
+      return columns.toArray(new String[0]);
+    }
+    String[] columns = new String[updateFields.size()];
+    int index = 0;
+    for (String field : updateFields) {
+      columns[index++] = entityHelper.getWrappedColumnName(entityClass, field);
+    }
+    return columns;
+  }
+
+  /**
+   * insertBatch 대상을 행 수(insertBatchMaxRows)와 추정 SQL 크기(insertBatchMaxBytes) 기준으로 나눈다.
+   *
+   * <p>각 chunk 는 원본 리스트의 subList 뷰이고 SQL 은 chunk 단위로 만들어지므로, 입력 크기와 관계없이 한 번에 하나의 INSERT 문만
+   * 메모리에 올라간다.
+   */
+  public static <T> List<List<T>> splitInsertBatch(final List<T> entities) {
+    Class<?> entityClass = validateInsertBatch(entities);
+    MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+    int maxRows = properties.getInsertBatchMaxRows();
+    long maxBytes = properties.getInsertBatchMaxBytes();
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(entityClass);
+    long headerBytes =
+        metadata.getTableName().length() + metadata.getInsertColumnClause().length() + 32;
+
+    List<List<T>> chunks = new ArrayList<>();
+    int start = 0;
+    int index = 0;
+    long bytes = headerBytes;
+    for (T entity : entities) {
+      long rowBytes = estimateRowSize(metadata, entity);
+      if (index > start && (index - start >= maxRows || bytes + rowBytes > maxBytes)) {
+        chunks.add(entities.subList(start, index));
+        start = index;
+        bytes = headerBytes;
+      }
+      bytes += rowBytes;
+      index++;
+    }
+    chunks.add(entities.subList(start, index));
+    return chunks;
+  }
+
+  static Class<?> validateInsertBatch(final List<?> entities) {
     if (entities == null || entities.isEmpty()) {
       throw new MybatisRepositoryException("entities empty for insertBatch");
     }
 
     // Check for null entities and type consistency
+    if (entities.get(0) == null) {
+      throw new MybatisRepositoryException("entity cannot be null in batch insert");
+    }
     Class<?> expectedType = entities.get(0).getClass();
-    for (T entity : entities) {
+    for (Object entity : entities) {
       if (entity == null) {
         throw new MybatisRepositoryException("entity cannot be null in batch insert");
       }
@@ -184,37 +599,47 @@ public class MybatisCommand {
                 expectedType.getName(), entity.getClass().getName()));
       }
     }
+    return expectedType;
+  }
 
-    String tableName = entityHelper.getTableName(expectedType);
-    Set<String> columns = entityHelper.getEntityFields(expectedType);
-
-    // INSERT INTO table (col1, col2, …)
-    String wrappedTable = stringHelper.wrapIdentifier(tableName);
-    SQL sql = new SQL().INSERT_INTO(wrappedTable);
-    sql.INTO_COLUMNS(
-        columns.stream()
-            .map(v -> entityHelper.getColumnName(expectedType, v))
-            .map(stringHelper::wrapIdentifier)
-            .collect(Collectors.joining(", ")));
+  /** VALUES ( … ) 한 행의 추정 크기(byte). 괄호와 구분자 포함 */
+  private static long estimateRowSize(final MybatisEntityMetadata metadata, final Object entity) {
+    long size = 4;
+    for (int i = 0; i < metadata.getColumnCount(); i++) {
+      size += estimateValueSize(metadata.getValue(entity, i)) + 2;
+    }
+    return size;
+  }
 
-    // VALUES ( … ), ( … ), …
-    List<List<String>> valuesList = new ArrayList<>();
-    for (T entity : entities) {
-      Map<String, Object> entityMap = toMap(entity);
-      List<String> rowValues = new ArrayList<>();
-      for (String fieldName : columns) {
-        rowValues.add(clauseBuilder.formatValueForSQL(entityMap.get(fieldName)));
+  /** formatValueForSQL 결과의 추정 크기(byte). 문자열은 UTF-8 길이와 이스케이프를 반영한다. */
+  private static long estimateValueSize(final Object value) {
+    if (value == null) {
+      return 4;
+    }
+    if (value instanceof CharSequence) {
+      CharSequence str = (CharSequence) value;
+      long size = 2;
+      for (int i = 0; i < str.length(); i++) {
+        char c = str.charAt(i);
+        if (c < 0x80) {
+          size += (c == '\'' || c == '\\' || c < 0x20 || c == '"') ? 2 : 1;
+        } else {
+          size += c < 0x800 ? 2 : 3;
+        }
       }
-      valuesList.add(rowValues);
+      return size;
     }
-    String valuesJoined =
-        valuesList.stream()
-            .map(row -> "(" + String.join(", ", row) + ")")
-            .collect(Collectors.joining(", "));
-    sql.INTO_VALUES(valuesJoined);
-
-    log.debug("insertBatch SQL: {}", sql.toString().replaceAll("\n", " "));
-    return sql.toString();
+    if (value instanceof Number || value instanceof Boolean) {
+      return value.toString().length();
+    }
+    if (value instanceof Enum) {
+      return ((Enum<?>) value).name().length() + 2;
+    }
+    if (value instanceof Collection || value instanceof Map) {
+      return value.toString().length() * 2L + 2;
+    }
+    // 날짜/시간 등: 'yyyy-MM-dd HH:mm:ss.SSS'
+    return 32;
   }
 
   // ===========================================
@@ -225,25 +650,175 @@ public class MybatisCommand {
     if (whereConditions == null || whereConditions.isEmpty()) {
       throw new MybatisRepositoryException("'where' Conditions is required for update");
     }
-    Class<?> entityClass = entityHelper.extractEntityClassFromMapper(context.getMapperType());
-    if (entityClass == null) {
-      throw new MybatisRepositoryException(
-          "cannot determine entity class for update: " + context.getMapperType().getName());
-    }
+    return buildUpdateSQL(
+        resolveEntityClass(context, "update"),
+        operationOf(context, UPDATE_MAP_BY_MAP),
+        updateMap,
+        whereConditions,
+        null);
+  }
 
+  private String buildUpdateSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<String, Object> updateMap,
+      Map<String, Object> whereConditions,
+      MybatisBindings bindings) {
+    long start = MybatisMetrics.getInstance().start();
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () -> compileUpdateSQL(entityClass, updateMap, conditions),
+            entityClass,
+            UPDATE_MAP_BY_MAP,
+            updateMap.keySet(),
+            conditions.keySet());
+    String sql = template.render(clauseBuilder, bindings, conditions, updateMap, null, null);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileUpdateSQL(
+      Class<?> entityClass, Map<String, Object> updateMap, Map<String, Object> whereConditions) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
     String tableName = entityHelper.getTableName(entityClass);
     SQL sql = new SQL().UPDATE(tableName);
 
     for (Map.Entry<String, Object> entry : updateMap.entrySet()) {
       String fieldName = entry.getKey();
       String columnName = entityHelper.getColumnName(entityClass, fieldName);
-      sql.SET(clauseBuilder.buildEqualClause(columnName, entry.getValue()));
+      recorder.source(MybatisSqlTemplate.Source.UPDATE, fieldName);
+      sql.SET(clauseBuilder.buildEqualClause(columnName, entry.getValue(), recorder));
     }
-    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass);
+    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
     clauseBuilder.ensureWhereClause(sql);
+    return recorder.toTemplate(sql.toString());
+  }
+
+  // ===========================================
+  // 6-1) UPDATE MANY BY ID
+  // ===========================================
+  /** updateAllById 의 리터럴 SQL. 엔티티 클래스는 첫 엔티티에서 얻는다 */
+  public <T> String buildUpdateAllByIdSQL(List<T> entities) {
+    Map<Long, Map<String, Object>> updateMaps = toUpdateMapsById(entities);
+    return buildUpdateMapsByIdSQL(
+        entities.get(0).getClass(), UPDATE_MAPS_BY_ID, updateMaps, null);
+  }
+
+  /**
+   * id 별 updateMap 을 UPDATE 문 하나로 만든다. 컬럼마다 CASE `id` WHEN … THEN … ELSE `col` END 로 값을 고르므로, 그
+   * 컬럼이 updateMap 에 없는 id 는 기존 값을 유지한다. id 필드는 바꾸지 않는다.
+   *
+   * @param updateMaps id → (필드명 → 값). 순서는 SQL 의 WHEN / IN 순서가 된다
+   */
+  private String buildUpdateMapsByIdSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<Long, Map<String, Object>> updateMaps,
+      MybatisBindings bindings) {
+    if (updateMaps == null || updateMaps.isEmpty()) {
+      throw new MybatisRepositoryException("updateMaps empty for updateMapsById");
+    }
+    long start = MybatisMetrics.getInstance().start();
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(entityClass);
+    if (metadata.getIdIndex() == -1) {
+      throw new MybatisRepositoryException("id column is required for updateMapsById");
+    }
+    String idField = metadata.getFieldName(metadata.getIdIndex());
+    String idColumn = metadata.getWrappedColumnName(metadata.getIdIndex());
+
+    // 필드 → (id → 값). 필드는 처음 나온 순서를 유지한다
+    Map<String, Map<Long, Object>> valuesByField = new LinkedHashMap<>();
+    // id → SQL 의 id 값 (bind-parameter 모드이면 WHEN 과 IN 이 같은 placeholder 를 쓴다)
+    Map<Long, String> idValues = new LinkedHashMap<>();
+    for (Map.Entry<Long, Map<String, Object>> row : updateMaps.entrySet()) {
+      if (row.getKey() == null || row.getValue() == null) {
+        throw new MybatisRepositoryException("id and updateMap cannot be null for updateMapsById");
+      }
+      idValues.put(row.getKey(), clauseBuilder.formatValue(row.getKey(), bindings));
+      for (Map.Entry<String, Object> field : row.getValue().entrySet()) {
+        if (!idField.equals(field.getKey())) {
+          valuesByField
+              .computeIfAbsent(field.getKey(), key -> new LinkedHashMap<>())
+              .put(row.getKey(), field.getValue());
+        }
+      }
+    }
+    if (valuesByField.isEmpty()) {
+      throw new MybatisRepositoryException("no columns to update for updateMapsById");
+    }
+
+    StringBuilder sb = new StringBuilder(64 + updateMaps.size() * valuesByField.size() * 24);
+    sb.append("UPDATE ").append(stringHelper.wrapIdentifier(metadata.getTableName()));
+    boolean firstColumn = true;
+    for (Map.Entry<String, Map<Long, Object>> field : valuesByField.entrySet()) {
+      String column = entityHelper.getWrappedColumnName(entityClass, field.getKey());
+      sb.append(firstColumn ? "\nSET " : ",\n    ");
+      sb.append(column).append(" = CASE ").append(idColumn);
+      for (Map.Entry<Long, Object> value : field.getValue().entrySet()) {
+        sb.append(" WHEN ").append(idValues.get(value.getKey())).append(" THEN ");
+        clauseBuilder.appendValue(sb, value.getValue(), bindings);
+      }
+      sb.append(" ELSE ").append(column).append(" END");
+      firstColumn = false;
+    }
+    sb.append("\nWHERE ").append(idColumn).append(" IN (");
+    boolean firstId = true;
+    for (String id : idValues.values()) {
+      sb.append(firstId ? "" : ", ").append(id);
+      firstId = false;
+    }
+    sb.append(')');
+
+    String result = sb.toString();
+    SQL_LOGGER.logSql(entityClass, operation, result);
+    recordBuild(entityClass, operation, start, EMPTY_MAP);
+    MybatisMetrics.getInstance().recordBatchSize(entityClass, operation, updateMaps.size());
+    return result;
+  }
+
+  /** updateMaps 를 updateBatchMaxRows 개의 id 단위로 나눈다 (순서 유지) */
+  public static List<Map<Long, Map<String, Object>>> splitUpdateBatch(
+      final Map<Long, Map<String, Object>> updateMaps) {
+    if (updateMaps == null || updateMaps.isEmpty()) {
+      throw new MybatisRepositoryException("updateMaps empty for updateMapsById");
+    }
+    int maxRows = MybatisRepositoryProperties.getInstance().getUpdateBatchMaxRows();
+    List<Map<Long, Map<String, Object>>> chunks = new ArrayList<>();
+    Map<Long, Map<String, Object>> chunk = new LinkedHashMap<>();
+    for (Map.Entry<Long, Map<String, Object>> entry : updateMaps.entrySet()) {
+      if (chunk.size() >= maxRows) {
+        chunks.add(chunk);
+        chunk = new LinkedHashMap<>();
+      }
+      chunk.put(entry.getKey(), entry.getValue());
+    }
+    chunks.add(chunk);
+    return chunks;
+  }
 
-    log.debug("update SQL: {}", sql.toString().replaceAll("\n", " "));
-    return sql.toString();
+  /**
+   * updateAllById 용. 엔티티마다 id 필드 값 → toMap(entity) 에서 null 값을 뺀 맵 (입력 순서 유지, 같은 id 는 뒤의 엔티티가
+   * 이긴다). null 필드는 updateMapsById 의 CASE 에 들어가지 않으므로 기존 값을 유지한다.
+   */
+  public static <T> Map<Long, Map<String, Object>> toUpdateMapsById(final List<T> entities) {
+    validateInsertBatch(entities);
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(entities.get(0).getClass());
+    if (metadata.getIdIndex() == -1) {
+      throw new MybatisRepositoryException("id column is required for updateAllById");
+    }
+    Map<Long, Map<String, Object>> updateMaps = new LinkedHashMap<>();
+    for (T entity : entities) {
+      Object id = metadata.getValue(entity, metadata.getIdIndex());
+      if (!(id instanceof Number)) {
+        throw new MybatisRepositoryException("entity id is required for updateAllById: " + id);
+      }
+      Map<String, Object> updateMap = toMap(entity);
+      updateMap.values().removeIf(Objects::isNull);
+      updateMaps.put(((Number) id).longValue(), updateMap);
+    }
+    return updateMaps;
   }
 
   // ===========================================
@@ -253,19 +828,291 @@ public class MybatisCommand {
     if (whereConditions == null || whereConditions.isEmpty()) {
       throw new MybatisRepositoryException("'where' Conditions is required for delete");
     }
+    return buildDeleteSQL(
+        resolveEntityClass(context, "delete"),
+        operationOf(context, DELETE_BY_MAP),
+        whereConditions,
+        null);
+  }
+
+  private String buildDeleteSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<String, Object> whereConditions,
+      MybatisBindings bindings) {
+    long start = MybatisMetrics.getInstance().start();
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () -> compileDeleteSQL(entityClass, conditions),
+            entityClass,
+            DELETE_BY_MAP,
+            conditions.keySet());
+    String sql = template.render(clauseBuilder, bindings, conditions, null, null, null);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileDeleteSQL(
+      Class<?> entityClass, Map<String, Object> whereConditions) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
+    String tableName = entityHelper.getTableName(entityClass);
+    SQL sql = new SQL().DELETE_FROM(tableName);
+    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
+    clauseBuilder.ensureWhereClause(sql);
+    return recorder.toTemplate(sql.toString());
+  }
+
+  // ===========================================
+  // 7-1) DELETE IN CHUNKS
+  // ===========================================
+  /** deleteByMapInChunks 의 한 chunk. 조건에 맞는 행을 최대 limit 개 지운다 (문법은 dialect 를 따른다) */
+  public String buildDeleteLimitSQL(
+      ProviderContext context, Map<String, Object> whereConditions, Integer limit) {
+    if (whereConditions == null || whereConditions.isEmpty()) {
+      throw new MybatisRepositoryException("'where' Conditions is required for delete");
+    }
+    return buildDeleteLimitSQL(
+        resolveEntityClass(context, "delete"),
+        operationOf(context, DELETE_LIMIT_BY_MAP),
+        whereConditions,
+        limit,
+        null);
+  }
+
+  private String buildDeleteLimitSQL(
+      Class<?> entityClass,
+      String operation,
+      Map<String, Object> whereConditions,
+      Integer limit,
+      MybatisBindings bindings) {
+    if (limit == null || limit <= 0) {
+      throw new MybatisRepositoryException("chunkSize must be positive: " + limit);
+    }
+    long start = MybatisMetrics.getInstance().start();
+    Map<String, Object> conditions = extractWhereConditions(whereConditions);
+    MybatisSqlTemplate template =
+        templateCache.getOrCompile(
+            () -> compileDeleteLimitSQL(entityClass, conditions),
+            entityClass,
+            DELETE_LIMIT_BY_MAP,
+            conditions.keySet());
+    String sql = template.render(clauseBuilder, bindings, conditions, null, limit, null);
+    SQL_LOGGER.logSql(entityClass, operation, sql);
+    recordBuild(entityClass, operation, start, conditions);
+    return sql;
+  }
+
+  private MybatisSqlTemplate compileDeleteLimitSQL(
+      Class<?> entityClass, Map<String, Object> whereConditions) {
+    MybatisSqlTemplate.Recorder recorder = new MybatisSqlTemplate.Recorder();
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(entityClass);
+    String keyColumn =
+        metadata.getIdIndex() == -1 ? null : metadata.getWrappedColumnName(metadata.getIdIndex());
+    Consumer<SQL> where =
+        sql -> {
+          clauseBuilder.buildWhereClause(sql, whereConditions, entityClass, recorder);
+          clauseBuilder.ensureWhereClause(sql);
+        };
+    recorder.source(MybatisSqlTemplate.Source.LIMIT, null);
+    String limit = recorder.bind(null);
+    return recorder.toTemplate(
+        clauseBuilder
+            .getDialect()
+            .buildDeleteLimit(
+                stringHelper.wrapIdentifier(metadata.getTableName()), keyColumn, where, limit));
+  }
+
+  // ===========================================
+  // 8) ParamMap providers
+  // MybatisRepository / MybatisNoIdRepository 의 mapper 메서드가 사용한다.
+  // MyBatis 가 호출마다 새로 만드는 ParamMap(param1, param2, …)을 그대로 받아서,
+  // bind-parameter 모드이면 값을 그 맵에 등록하고 #{...} placeholder 를 가진 SQL 을 만든다.
+  // ===========================================
+  public String provideCountSQL(ProviderContext context, Map<String, Object> params) {
+    return buildCountSQL(
+        resolveEntityClass(context, "count"),
+        operationOf(context, COUNT_BY_MAP),
+        getParam(params, 2),
+        createBindings(params));
+  }
+
+  public String provideExistsSQL(ProviderContext context, Map<String, Object> params) {
+    return buildExistsSQL(
+        resolveEntityClass(context, "exists"),
+        operationOf(context, EXISTS_BY_MAP),
+        getParam(params, 2),
+        createBindings(params));
+  }
+
+  public String provideSelectOneSQL(ProviderContext context, Map<String, Object> params) {
+    Map<String, Object> whereConditions = getParam(params, 2);
+    if (whereConditions == null || whereConditions.isEmpty()) {
+      throw new MybatisRepositoryException("'where' Conditions is required for getItemByMap");
+    }
+    return buildSelectSQL(
+        resolveEntityClass(context, "select"),
+        operationOf(context, SELECT_ITEM_BY_MAP),
+        EMPTY_SET,
+        EMPTY_SET,
+        whereConditions,
+        EMPTY_LIST,
+        null,
+        null,
+        createBindings(params));
+  }
+
+  public String provideSelectSQL(ProviderContext context, Map<String, Object> params) {
+    return buildSelectSQL(
+        resolveEntityClass(context, "select"),
+        operationOf(context, SELECT_ITEMS),
+        getParam(params, 2),
+        getParam(params, 3),
+        getParam(params, 4),
+        getParam(params, 5),
+        getParam(params, 6),
+        getParam(params, 7),
+        createBindings(params));
+  }
+
+  public String provideUpdateSQL(ProviderContext context, Map<String, Object> params) {
+    Map<String, Object> whereConditions = getParam(params, 3);
+    if (whereConditions == null || whereConditions.isEmpty()) {
+      throw new MybatisRepositoryException("'where' Conditions is required for update");
+    }
+    return buildUpdateSQL(
+        resolveEntityClass(context, "update"),
+        operationOf(context, UPDATE_MAP_BY_MAP),
+        getParam(params, 2),
+        whereConditions,
+        createBindings(params));
+  }
+
+  public String provideDeleteSQL(ProviderContext context, Map<String, Object> params) {
+    Map<String, Object> whereConditions = getParam(params, 2);
+    if (whereConditions == null || whereConditions.isEmpty()) {
+      throw new MybatisRepositoryException("'where' Conditions is required for delete");
+    }
+    return buildDeleteSQL(
+        resolveEntityClass(context, "delete"),
+        operationOf(context, DELETE_BY_MAP),
+        whereConditions,
+        createBindings(params));
+  }
+
+  public String provideDeleteLimitSQL(ProviderContext context, Map<String, Object> params) {
+    Map<String, Object> whereConditions = getParam(params, 2);
+    if (whereConditions == null || whereConditions.isEmpty()) {
+      throw new MybatisRepositoryException("'where' Conditions is required for delete");
+    }
+    return buildDeleteLimitSQL(
+        resolveEntityClass(context, "delete"),
+        operationOf(context, DELETE_LIMIT_BY_MAP),
+        whereConditions,
+        getParam(params, 3),
+        createBindings(params));
+  }
+
+  /**
+   * JDBC batch insert 용. bind-parameter 모드와 관계없이 항상 #{...} placeholder 로 바인딩하므로 모든 행의 SQL 텍스트가 같아
+   * ExecutorType.BATCH 에서 하나의 PreparedStatement 가 재사용된다.
+   */
+  public String provideInsertSQL(ProviderContext context, Map<String, Object> params) {
+    return buildInsertSQL(
+        getParam(params, 2), operationOf(context, INSERT), new MybatisBindings(params));
+  }
+
+  public String provideUpsertSQL(ProviderContext context, Map<String, Object> params) {
+    return buildUpsertSQL(getParam(params, 2), getParam(params, 3), createBindings(params));
+  }
+
+  public String provideUpdateMapsByIdSQL(ProviderContext context, Map<String, Object> params) {
+    return buildUpdateMapsByIdSQL(
+        resolveEntityClass(context, "update"),
+        operationOf(context, UPDATE_MAPS_BY_ID),
+        getParam(params, 2),
+        createBindings(params));
+  }
+
+  /**
+   * JDBC batch update 용. provideInsertSQL 과 같이 항상 #{...} placeholder 로 바인딩하므로 같은 컬럼을 바꾸는 행은 하나의
+   * PreparedStatement 를 재사용한다.
+   */
+  public String provideUpdateBindSQL(ProviderContext context, Map<String, Object> params) {
+    Map<String, Object> whereConditions = getParam(params, 3);
+    if (whereConditions == null || whereConditions.isEmpty()) {
+      throw new MybatisRepositoryException("'where' Conditions is required for update");
+    }
+    return buildUpdateSQL(
+        resolveEntityClass(context, "update"),
+        operationOf(context, UPDATE_MAP_BY_MAP),
+        getParam(params, 2),
+        whereConditions,
+        new MybatisBindings(params));
+  }
+
+  public String provideSelectKeysetSQL(ProviderContext context, Map<String, Object> params) {
+    return buildSelectKeysetSQL(
+        resolveEntityClass(context, "select"),
+        operationOf(context, PROVIDE_SELECT_KEYSET),
+        getParam(params, 2),
+        getParam(params, 3),
+        getParam(params, 4),
+        getParam(params, 5),
+        createBindings(params));
+  }
+
+  private Class<?> resolveEntityClass(ProviderContext context, String operation) {
     Class<?> entityClass = entityHelper.extractEntityClassFromMapper(context.getMapperType());
     if (entityClass == null) {
       throw new MybatisRepositoryException(
-          "cannot determine entity class for delete: " + context.getMapperType().getName());
+          "cannot determine entity class for "
+              + operation
+              + ": "
+              + context.getMapperType().getName());
     }
+    return entityClass;
+  }
 
-    String tableName = entityHelper.getTableName(entityClass);
-    SQL sql = new SQL().DELETE_FROM(tableName);
-    clauseBuilder.buildWhereClause(sql, whereConditions, entityClass);
-    clauseBuilder.ensureWhereClause(sql);
+  /**
+   * 지표와 SQL 로그의 operation 태그. MybatisMetricsInterceptor 가 실행 시간에 붙이는 mapper 메서드 이름
+   * (MappedStatement id 의 마지막 부분)과 같게 해서 생성 / 실행 지표를 같은 태그로 묶는다. mapper 메서드를 모르면 fallback.
+   */
+  private static String operationOf(ProviderContext context, String fallback) {
+    Method mapperMethod = context == null ? null : context.getMapperMethod();
+    return mapperMethod == null ? fallback : mapperMethod.getName();
+  }
+
+  /** SQL 생성 시간과 WHERE 절 IN / NOT IN 값 개수를 기록한다 (지표가 비활성이면 아무것도 하지 않음) */
+  private static void recordBuild(
+      Class<?> entityClass, String operation, long start, Map<String, Object> conditions) {
+    MybatisMetrics metrics = MybatisMetrics.getInstance();
+    if (!metrics.isEnabled()) {
+      return;
+    }
+    metrics.recordBuild(entityClass, operation, start);
+    for (Object value : conditions.values()) {
+      if (value instanceof Set) {
+        metrics.recordInClauseSize(entityClass, operation, ((Set<?>) value).size());
+      }
+    }
+  }
+
+  private Map<String, Object> extractWhereConditions(Map<String, Object> whereConditions) {
+    return whereConditions == null
+        ? EMPTY_MAP
+        : clauseBuilder.extractWhereConditions(whereConditions);
+  }
 
-    log.debug("delete SQL: {}", sql.toString().replaceAll("\n", " "));
-    return sql.toString();
+  private MybatisBindings createBindings(Map<String, Object> params) {
+    return properties.isBindParameterMode() ? new MybatisBindings(params) : null;
+  }
+
+  /** MyBatis ParamMap 의 위치 기반 키(param1, param2, …)로 mapper 인자를 꺼낸다. */
+  @SuppressWarnings("unchecked")
+  private static <P> P getParam(Map<String, Object> params, int position) {
+    return (P) params.get("param" + position);
   }
 
   // ===========================================
@@ -277,19 +1124,16 @@ public class MybatisCommand {
       throw new MybatisRepositoryException("Source object cannot be null");
     }
 
-    Map<String, Object> map = new HashMap<>();
-    List<Field> fields = MybatisEntityHelper.getAllNonExcludedFields(source.getClass());
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(source.getClass());
+    int columnCount = metadata.getColumnCount();
+    Map<String, Object> map = new HashMap<>((int) (columnCount / 0.75f) + 1);
 
-    for (Field field : fields) {
+    // 미리 만든 getter 로 읽으므로 Field 잠금이나 setAccessible 호출이 없다
+    for (int i = 0; i < columnCount; i++) {
       try {
-        // Thread-safe field access
-        synchronized (field) {
-          field.setAccessible(true);
-          Object val = field.get(source);
-          map.put(field.getName(), val);
-        }
-      } catch (Exception e) {
-        log.warn("Failed to get field value for {}: {}", field.getName(), e.getMessage());
+        map.put(metadata.getFieldName(i), metadata.getValue(source, i));
+      } catch (MybatisRepositoryException e) {
+        log.warn("Failed to get field value for {}: {}", metadata.getFieldName(i), e.getMessage());
         log.debug("Stack trace: ", e);
       }
     }
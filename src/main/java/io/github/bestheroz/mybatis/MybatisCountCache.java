@@ -0,0 +1,154 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * countAll / countByMap 의 {@link MybatisCountMode} 처리와 CACHED 모드의 결과 캐시.
+ *
+ * <p>캐시는 리포지토리 (mapper 프록시 클래스) 별로 나뉘고, 그 안에서 where 조건 맵 (키와 값) 으로 찾는다. 리포지토리의 변경 메서드가
+ * invalidate 를 호출하면 그 리포지토리의 항목을 모두 지운다. invalidate 와 겹쳐 실행된 COUNT 결과는 저장하지 않는다.
+ *
+ * <p>Spring 트랜잭션 안에서는 캐시를 읽지도 채우지도 않고 COUNT 를 실행한다. invalidate 는 트랜잭션이 끝난 뒤 한 번 더 실행된다
+ * ({@link MybatisTransactions}). 캐시를 채우는 COUNT 는 replica 설정과 관계없이 primary 에서 실행한다.
+ *
+ * <p>ESTIMATED 모드가 where 조건이나 통계 부재 때문에 정확한 COUNT 로 바뀌면 리포지토리마다 한 번 WARN 으로 알린다.
+ */
+public class MybatisCountCache {
+  private static final Logger log = LoggerFactory.getLogger(MybatisCountCache.class);
+  private static final MybatisCountCache INSTANCE = new MybatisCountCache();
+
+  private final MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+  private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+  // ESTIMATED 가 EXACT 로 바뀐 것을 이미 알린 리포지토리
+  private final Set<Class<?>> estimateFallbackLogged = ConcurrentHashMap.newKeySet();
+
+  public static MybatisCountCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * mode 에 따라 행 수를 구한다.
+   *
+   * @param repositoryType 캐시를 나누는 리포지토리 클래스
+   * @param exact SELECT COUNT(1)
+   * @param estimated 테이블 통계의 추정 행 수 (통계가 없으면 null)
+   */
+  public long count(
+      final Class<?> repositoryType,
+      final Map<String, Object> whereConditions,
+      final MybatisCountMode mode,
+      final LongSupplier exact,
+      final Supplier<Long> estimated) {
+    boolean noConditions = whereConditions == null || whereConditions.isEmpty();
+    switch (mode) {
+      case ESTIMATED:
+        if (!noConditions) {
+          // 테이블 통계는 where 조건을 반영하지 못한다
+          logEstimateFallback(repositoryType, "where conditions are not supported");
+          return exact.getAsLong();
+        }
+        Long estimate = estimated.get();
+        if (estimate != null) {
+          return estimate;
+        }
+        logEstimateFallback(repositoryType, "no table statistics for the dialect or table");
+        return exact.getAsLong();
+      case CACHED:
+        if (MybatisTransactions.isActualTransactionActive()) {
+          // 커밋 전의 행 수는 다른 트랜잭션에서 보이지 않고 롤백될 수도 있다
+          return exact.getAsLong();
+        }
+        Map<String, Object> key =
+            noConditions ? Collections.emptyMap() : new HashMap<>(whereConditions);
+        return regions.computeIfAbsent(repositoryType, type -> new Region()).get(key, exact);
+      default:
+        return exact.getAsLong();
+    }
+  }
+
+  /**
+   * repositoryType 의 캐시된 count 를 모두 버린다 (CACHED 모드를 쓴 적이 없으면 아무것도 하지 않음). 트랜잭션 안이면 트랜잭션이 끝난
+   * 뒤에 한 번 더 버린다.
+   */
+  public void invalidate(final Class<?> repositoryType) {
+    MybatisTransactions.runNowAndAfterCompletion(
+        () -> {
+          Region region = regions.get(repositoryType);
+          if (region != null) {
+            region.invalidate();
+          }
+        });
+  }
+
+  public void clear() {
+    regions.clear();
+    estimateFallbackLogged.clear();
+  }
+
+  private void logEstimateFallback(final Class<?> repositoryType, final String reason) {
+    if (estimateFallbackLogged.add(repositoryType)) {
+      log.warn(
+          "ESTIMATED count of {} falls back to exact COUNT ({}); logged once per repository",
+          repositoryType.getName(),
+          reason);
+    }
+  }
+
+  /** ESTIMATED 가 EXACT 로 바뀐 것을 repositoryType 에 대해 이미 알렸는지 */
+  boolean isEstimateFallbackLogged(final Class<?> repositoryType) {
+    return estimateFallbackLogged.contains(repositoryType);
+  }
+
+  private final class Region {
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Map<String, Object>, Entry> entries = new ConcurrentHashMap<>();
+
+    long get(final Map<String, Object> key, final LongSupplier exact) {
+      Entry cached = entries.get(key);
+      if (cached != null && cached.expiresAtNanos - System.nanoTime() > 0) {
+        return cached.count;
+      }
+      long generationBefore = generation.get();
+      // replica 는 방금 invalidate 한 변경을 아직 반영하지 않았을 수 있으므로 캐시할 행 수는 primary 에서 센다
+      long count = MybatisReadWriteRouting.onPrimary(exact::getAsLong);
+      if (generation.get() == generationBefore) {
+        if (entries.size() >= properties.getCountCacheMaxEntries()) {
+          entries.clear();
+        }
+        long ttlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getCountCacheTtlMillis());
+        Entry entry = new Entry(count, System.nanoTime() + ttlNanos);
+        entries.put(key, entry);
+        // put 직전에 invalidate 되었으면 되돌린다
+        if (generation.get() != generationBefore) {
+          entries.remove(key, entry);
+        }
+      }
+      return count;
+    }
+
+    void invalidate() {
+      generation.incrementAndGet();
+      entries.clear();
+    }
+  }
+
+  private static final class Entry {
+    private final long count;
+    private final long expiresAtNanos;
+
+    private Entry(final long count, final long expiresAtNanos) {
+      this.count = count;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package io.github.bestheroz.mybatis;
+
+/** countAll / countByMap 실행 방식 */
+public enum MybatisCountMode {
+  /** 매번 SELECT COUNT(1) */
+  EXACT,
+  /**
+   * dialect 의 테이블 통계 (MySQL information_schema.TABLES, PostgreSQL pg_class) 에서 읽은 추정 행 수. where 조건이
+   * 없는 경우에만 쓰고, 조건이 있거나 통계가 없는 dialect (H2) 는 EXACT 로 센다. EXACT 로 바뀌면 리포지토리마다 한 번 WARN
+   * 로그를 남긴다.
+   */
+  ESTIMATED,
+  /**
+   * EXACT 결과를 리포지토리와 where 조건 (키와 값) 별로 countCacheTtlMillis 동안 재사용한다. 같은 리포지토리의 insert /
+   * upsert / update / delete 메서드가 그 리포지토리의 캐시를 비운다.
+   */
+  CACHED
+}
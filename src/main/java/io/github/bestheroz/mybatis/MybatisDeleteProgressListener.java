@@ -0,0 +1,12 @@
+package io.github.bestheroz.mybatis;
+
+/** deleteByMapInChunks 의 진행 상황을 chunk 마다 받는다 */
+@FunctionalInterface
+public interface MybatisDeleteProgressListener {
+  /**
+   * @param chunkCount 지금까지 실행한 chunk 수
+   * @param deletedRows 이번 chunk 에서 지운 행 수
+   * @param totalDeletedRows 지금까지 지운 전체 행 수
+   */
+  void onChunkDeleted(int chunkCount, int deletedRows, long totalDeletedRows);
+}
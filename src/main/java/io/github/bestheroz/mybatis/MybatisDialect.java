@@ -0,0 +1,135 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.ibatis.jdbc.SQL;
+
+/**
+ * DBMS 별 SQL 문법. MybatisCommand 와 MybatisClauseBuilder 는 식별자 인용, 문자열 리터럴 이스케이프, 문자열 조건식
+ * (contains/startsWith/endsWith), LIMIT/OFFSET, upsert, 나눠 지우기를 이 인터페이스에 위임한다.
+ *
+ * <p>기본값은 MySQL 이며 MybatisRepositoryProperties#setDialect 로 바꾼다. Spring Boot 에서는 DataSource 의 DB
+ * 제품명으로 자동 선택된다 ({@link MybatisDialectResolver}). 직접 구현한 dialect 는 META-INF/services 에 등록하면 기본 제공
+ * dialect 보다 먼저 검사된다.
+ */
+public interface MybatisDialect {
+
+  /** 로그/toString 에 쓰는 이름 (예: MySQL) */
+  String getName();
+
+  /** DatabaseMetaData#getDatabaseProductName 값이 이 dialect 에 해당하는지 */
+  boolean supports(String databaseProductName);
+
+  /** 검증이 끝난 식별자를 인용해서 sb 에 붙인다 (예: MySQL `login_id`, PostgreSQL "login_id") */
+  void appendIdentifier(StringBuilder sb, String identifier);
+
+  default String quoteIdentifier(final String identifier) {
+    StringBuilder sb = new StringBuilder(identifier.length() + 2);
+    appendIdentifier(sb, identifier);
+    return sb.toString();
+  }
+
+  /** 작은따옴표 문자열 리터럴 안에서 c 대신 쓸 문자열. 그대로 쓰면 null */
+  String escapeCharacter(char c);
+
+  /** column 에 value 가 포함되는지 (negate 이면 포함되지 않는지) */
+  void appendContains(StringBuilder sb, String column, ValueWriter value, boolean negate);
+
+  /** column 이 value 로 시작하는지 */
+  void appendStartsWith(StringBuilder sb, String column, ValueWriter value);
+
+  /** column 이 value 로 끝나는지 */
+  void appendEndsWith(StringBuilder sb, String column, ValueWriter value);
+
+  /** limit/offset 은 placeholder 또는 리터럴이고, 없으면 null */
+  default void applyLimitOffset(final SQL sql, final String limit, final String offset) {
+    if (limit != null) {
+      sql.LIMIT(limit);
+    }
+    if (offset != null) {
+      sql.OFFSET(offset);
+    }
+  }
+
+  /**
+   * 조건에 맞는 행을 최대 limit 개만 지우는 DELETE. 기본은 DELETE … WHERE … LIMIT n 이다.
+   *
+   * @param table 인용된 테이블명 (MybatisStringHelper#wrapIdentifier)
+   * @param keyColumn 지울 행을 고르는 인용된 키 컬럼 (id). 없으면 null
+   * @param where 주어진 SQL 에 WHERE 조건을 붙인다. 한 번만 호출해야 한다
+   * @param limit placeholder 또는 리터럴
+   */
+  default String buildDeleteLimit(
+      final String table, final String keyColumn, final Consumer<SQL> where, final String limit) {
+    SQL sql = new SQL().DELETE_FROM(table);
+    where.accept(sql);
+    return sql.toString() + "\nLIMIT " + limit;
+  }
+
+  /**
+   * 테이블 통계에서 추정 행 수 (BIGINT 한 컬럼) 를 읽는 SELECT. 통계가 없는 dialect 는 null 이고 정확한 COUNT 를 쓴다.
+   *
+   * @param tableNameLiteral 작은따옴표로 감싼 테이블명 리터럴 (예: 'users')
+   */
+  default String buildEstimatedCount(final String tableNameLiteral) {
+    return null;
+  }
+
+  /**
+   * INSERT INTO table (columns) VALUES (…), (…). table 과 columns 는 buildDeleteLimit 과 같이 인용된 이름이고
+   * rows 는 columns 순서의 SQL 값이다.
+   */
+  default void appendInsertValues(
+      final StringBuilder sb,
+      final String table,
+      final String[] columns,
+      final List<String[]> rows) {
+    sb.append("INSERT INTO ").append(table).append(" (");
+    appendJoined(sb, columns, "");
+    sb.append(")\nVALUES ");
+    appendRows(sb, rows);
+  }
+
+  /**
+   * rows 를 넣고, 키가 겹치는 행은 updateColumns 만 새 값으로 바꾸는 한 문장짜리 upsert. 지원하지 않는 dialect 는
+   * MybatisRepositoryException 을 던진다.
+   *
+   * @param keyColumns 충돌 판정 컬럼 (id). MySQL 은 테이블의 PRIMARY/UNIQUE 키로 판정하므로 쓰지 않는다
+   * @see #appendInsertValues
+   */
+  default void appendUpsert(
+      final StringBuilder sb,
+      final String table,
+      final String[] columns,
+      final List<String[]> rows,
+      final String[] keyColumns,
+      final String[] updateColumns) {
+    throw new MybatisRepositoryException("upsert is not supported by dialect: " + getName());
+  }
+
+  /** (…), (…) 형태의 VALUES 행 목록 */
+  default void appendRows(final StringBuilder sb, final List<String[]> rows) {
+    for (int i = 0; i < rows.size(); i++) {
+      sb.append(i == 0 ? "(" : "\n, (");
+      appendJoined(sb, rows.get(i), "");
+      sb.append(')');
+    }
+  }
+
+  /** prefix 를 붙인 이름을 ", " 로 잇는다 (예: S."id", S."name") */
+  default void appendJoined(final StringBuilder sb, final String[] names, final String prefix) {
+    for (int i = 0; i < names.length; i++) {
+      sb.append(i == 0 ? "" : ", ").append(prefix).append(names[i]);
+    }
+  }
+
+  /**
+   * 조건 값을 sb 에 붙인다. bind-parameter 모드에서는 호출할 때마다 새 placeholder 가 등록되므로, 같은 값을 두 번 쓰는 형태도 두 번
+   * 호출하면 된다.
+   */
+  @FunctionalInterface
+  interface ValueWriter {
+    void appendTo(StringBuilder sb);
+  }
+}
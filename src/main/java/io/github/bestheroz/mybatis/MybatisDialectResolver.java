@@ -0,0 +1,55 @@
+package io.github.bestheroz.mybatis;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DB 제품명으로 {@link MybatisDialect} 를 고른다. ServiceLoader 로 등록된 dialect 를 먼저 검사하고, 그다음 기본 제공
+ * dialect (MySQL/MariaDB, PostgreSQL, H2) 를 검사한다. 해당하는 dialect 가 없으면 MySQL 을 쓴다.
+ */
+public final class MybatisDialectResolver {
+  private static final Logger log = LoggerFactory.getLogger(MybatisDialectResolver.class);
+
+  private static final List<MybatisDialect> BUILT_IN =
+      Collections.unmodifiableList(
+          Arrays.asList(
+              MybatisMySqlDialect.getInstance(),
+              MybatisPostgreSqlDialect.getInstance(),
+              MybatisH2Dialect.getInstance()));
+
+  private MybatisDialectResolver() {}
+
+  public static MybatisDialect resolve(final String databaseProductName) {
+    List<MybatisDialect> candidates = new ArrayList<>();
+    for (MybatisDialect dialect : ServiceLoader.load(MybatisDialect.class)) {
+      candidates.add(dialect);
+    }
+    candidates.addAll(BUILT_IN);
+    for (MybatisDialect dialect : candidates) {
+      if (dialect.supports(databaseProductName)) {
+        return dialect;
+      }
+    }
+    log.warn("No dialect for database '{}', using MySQL", databaseProductName);
+    return MybatisMySqlDialect.getInstance();
+  }
+
+  /**
+   * 커넥션을 하나 열어 DatabaseMetaData 의 제품명으로 dialect 를 고른다.
+   *
+   * @throws SQLException 커넥션을 열 수 없는 경우
+   */
+  public static MybatisDialect resolve(final DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      return resolve(connection.getMetaData().getDatabaseProductName());
+    }
+  }
+}
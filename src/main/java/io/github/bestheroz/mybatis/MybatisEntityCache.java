@@ -0,0 +1,203 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * MybatisRepository#getItemById 의 엔티티 단위 캐시. {@link MybatisCacheable} 이 붙었거나 entityCacheClasses 속성에
+ * 있는 엔티티만 캐시한다.
+ *
+ * <p>엔티티 클래스마다 id → Optional 결과를 TTL 동안 보관하고, 최대 크기에 닿으면 항목 하나를 버린다 (MybatisSqlTemplateCache 와
+ * 같은 방식). 없는 id 의 결과도 cacheMissing 이면 캐시한다. 리포지토리의 변경 메서드가 id 단위 또는 엔티티 전체로 항목을 지우고,
+ * 그와 겹쳐 실행된 조회 결과는 저장하지 않는다. 다른 경로 (XML mapper, 다른 애플리케이션) 의 변경은 TTL 이 지나야 반영된다.
+ *
+ * <p>Spring 트랜잭션 안에서는 캐시를 읽지도 채우지도 않고 loader 로 조회한다. 지우기는 트랜잭션이 끝난 뒤 한 번 더 실행되므로, 커밋 전에
+ * 다른 스레드가 이전 값을 다시 캐시해도 커밋 / 롤백 후에 지워진다 ({@link MybatisTransactions}). 캐시를 채우는 조회는 replica 설정과
+ * 관계없이 primary 에서 실행한다 ({@link MybatisReadWriteRouting#onPrimary}).
+ */
+public class MybatisEntityCache {
+  private static final MybatisEntityCache INSTANCE = new MybatisEntityCache();
+
+  private final MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+  private final MybatisEntityHelper entityHelper =
+      new MybatisEntityHelper(new MybatisStringHelper());
+  private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  public static MybatisEntityCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * 캐시된 결과를 반환하고, 없으면 loader 로 조회해서 저장한다. 캐시를 쓰지 않는 엔티티는 loader 를 그대로 호출한다.
+   *
+   * @param repositoryType 리포지토리 (mapper 프록시) 클래스
+   */
+  @SuppressWarnings("unchecked")
+  public <E> Optional<E> get(
+      final Class<?> repositoryType, final Long id, final Supplier<Optional<E>> loader) {
+    Class<?> entityClass = resolveEntityClass(repositoryType);
+    if (id == null || !isEnabled(entityClass) || MybatisTransactions.isActualTransactionActive()) {
+      return loader.get();
+    }
+    MybatisCacheable cacheable = entityClass.getAnnotation(MybatisCacheable.class);
+    Region region = regions.computeIfAbsent(entityClass, type -> new Region());
+    Entry cached = region.entries.get(id);
+    if (cached != null && cached.expiresAtNanos - System.nanoTime() > 0) {
+      hitCount.increment();
+      return (Optional<E>) cached.value;
+    }
+
+    missCount.increment();
+    long generationBefore = region.generation.get();
+    // replica 는 방금 지운 변경을 아직 반영하지 않았을 수 있으므로 캐시에 넣을 값은 primary 에서 읽는다
+    Optional<E> value = MybatisReadWriteRouting.onPrimary(loader);
+    if (!value.isPresent() && cacheable != null && !cacheable.cacheMissing()) {
+      return value;
+    }
+    if (region.entries.size() >= maxSize(cacheable)) {
+      region.evictOne();
+    }
+    Entry entry = new Entry(value, System.nanoTime() + ttlNanos(cacheable));
+    region.entries.put(id, entry);
+    // 조회 도중 지워졌으면 이전 값일 수 있으므로 되돌린다
+    if (region.generation.get() != generationBefore) {
+      region.entries.remove(id, entry);
+    }
+    return value;
+  }
+
+  /** @MybatisCacheable 이 붙었거나 entityCacheClasses 에 있는 엔티티인지 */
+  public boolean isEnabled(final Class<?> entityClass) {
+    return entityClass != null
+        && (entityClass.isAnnotationPresent(MybatisCacheable.class)
+            || properties.getEntityCacheClasses().contains(entityClass));
+  }
+
+  /** id 하나를 지운다 (updateById / updateMapById / deleteById) */
+  public void evict(final Class<?> repositoryType, final Long id) {
+    MybatisTransactions.runNowAndAfterCompletion(
+        () -> {
+          Region region = findRegion(repositoryType);
+          if (region != null) {
+            region.generation.incrementAndGet();
+            region.entries.remove(id);
+          }
+        });
+  }
+
+  /** 엔티티의 모든 항목을 지운다 (조건 기반 update / delete, upsert) */
+  public void evictAll(final Class<?> repositoryType) {
+    MybatisTransactions.runNowAndAfterCompletion(
+        () -> {
+          Region region = findRegion(repositoryType);
+          if (region != null) {
+            region.generation.incrementAndGet();
+            region.entries.clear();
+          }
+        });
+  }
+
+  /** 없는 id 로 캐시된 항목만 지운다 (insert 로 그 id 가 생겼을 수 있음) */
+  public void evictMissing(final Class<?> repositoryType) {
+    MybatisTransactions.runNowAndAfterCompletion(
+        () -> {
+          Region region = findRegion(repositoryType);
+          if (region != null) {
+            region.generation.incrementAndGet();
+            region.entries.values().removeIf(entry -> !entry.value.isPresent());
+          }
+        });
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public void clear() {
+    regions.clear();
+    hitCount.reset();
+    missCount.reset();
+    evictionCount.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "MybatisEntityCache{"
+        + "entities="
+        + regions.size()
+        + ", hitCount="
+        + hitCount.sum()
+        + ", missCount="
+        + missCount.sum()
+        + ", evictionCount="
+        + evictionCount.sum()
+        + '}';
+  }
+
+  private Class<?> resolveEntityClass(final Class<?> repositoryType) {
+    return entityHelper.extractEntityClassFromMapper(repositoryType);
+  }
+
+  private Region findRegion(final Class<?> repositoryType) {
+    if (regions.isEmpty()) {
+      return null;
+    }
+    Class<?> entityClass = resolveEntityClass(repositoryType);
+    return entityClass == null ? null : regions.get(entityClass);
+  }
+
+  private long ttlNanos(final MybatisCacheable cacheable) {
+    long ttlMillis =
+        cacheable != null && cacheable.ttlMillis() > 0
+            ? cacheable.ttlMillis()
+            : properties.getEntityCacheTtlMillis();
+    return TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+  }
+
+  private int maxSize(final MybatisCacheable cacheable) {
+    return cacheable != null && cacheable.maxSize() > 0
+        ? cacheable.maxSize()
+        : properties.getEntityCacheMaxSize();
+  }
+
+  private final class Region {
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private void evictOne() {
+      Iterator<Long> iterator = entries.keySet().iterator();
+      if (iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+        evictionCount.increment();
+      }
+    }
+  }
+
+  private static final class Entry {
+    private final Optional<?> value;
+    private final long expiresAtNanos;
+
+    private Entry(final Optional<?> value, final long expiresAtNanos) {
+      this.value = value;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+}
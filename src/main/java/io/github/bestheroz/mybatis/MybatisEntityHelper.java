@@ -1,23 +1,45 @@
 package io.github.bestheroz.mybatis;
 
 import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** 엔티티(VO/DTO) 클래스에서 오직 @Column 어노테이션이 붙은 필드만 추출합니다. */
 public class MybatisEntityHelper {
   private static final Logger log = LoggerFactory.getLogger(MybatisEntityHelper.class);
+  private static final MybatisStringHelper METADATA_STRING_HELPER = new MybatisStringHelper();
   private final MybatisStringHelper stringHelper;
+  private final Map<Class<?>, MybatisEntityMetadata> metadataCache;
 
   public MybatisEntityHelper(MybatisStringHelper stringHelper) {
-    this.stringHelper = stringHelper;
+    this.stringHelper = stringHelper != null ? stringHelper : METADATA_STRING_HELPER;
+    // 기본 MybatisStringHelper 는 규칙이 같으므로 전역 캐시를 함께 쓰고, 하위 클래스는 그 규칙으로 따로 만든다
+    this.metadataCache =
+        this.stringHelper.getClass() == MybatisStringHelper.class
+            ? MybatisCommand.METADATA_CACHE
+            : new ConcurrentHashMap<>();
+  }
+
+  /**
+   * 엔티티 클래스의 메타데이터를 반환. 클래스당 한 번만 리플렉션으로 만들고 이후에는 캐시된 값을 사용한다. 컬럼명 변환과 식별자 인용은 기본
+   * MybatisStringHelper 규칙을 따른다.
+   *
+   * @see MybatisEntityMetadata
+   */
+  public static MybatisEntityMetadata getMetadata(final Class<?> entityClass) {
+    return MybatisCommand.METADATA_CACHE.computeIfAbsent(
+        entityClass, clazz -> MybatisEntityMetadata.create(clazz, METADATA_STRING_HELPER));
+  }
+
+  /** 이 인스턴스의 stringHelper 규칙으로 만든 메타데이터. 기본 helper 이면 getMetadata 와 같다. */
+  protected MybatisEntityMetadata metadataOf(final Class<?> entityClass) {
+    return metadataCache.computeIfAbsent(
+        entityClass, clazz -> MybatisEntityMetadata.create(clazz, stringHelper));
   }
 
   /**
@@ -25,43 +47,12 @@ public class MybatisEntityHelper {
    * CamelCase→snake_case 로 변환
    */
   protected String getTableName(final Class<?> entityClass) {
-    return MybatisCommand.TABLE_NAME_CACHE.computeIfAbsent(
-        entityClass,
-        clazz -> {
-          String tableName = null;
-
-          // @Table 어노테이션이 붙어 있다면 name() 값을 읽어옴
-          for (Annotation ann : clazz.getAnnotations()) {
-            String annType = ann.annotationType().getName();
-            if (annType.equals("jakarta.persistence.Table")
-                || annType.equals("javax.persistence.Table")) {
-              try {
-                Method nameMethod = ann.annotationType().getMethod("name");
-                Object value = nameMethod.invoke(ann);
-                if (value instanceof String && !((String) value).isEmpty()) {
-                  tableName = (String) value;
-                  break;
-                }
-              } catch (Exception e) {
-                log.debug("Failed to get table name from @Table annotation: {}", e.getMessage());
-              }
-            }
-          }
-
-          // @Table이 없거나 name()이 비어 있으면 CamelCase→snake_case
-          if (tableName == null) {
-            tableName = stringHelper.getCamelCaseToSnakeCase(clazz.getSimpleName()).toLowerCase();
-          }
-
-          return tableName;
-        });
+    return metadataOf(entityClass).getTableName();
   }
 
-  /** 엔티티 클래스에 붙은 모든 @Column 어노테이션 필드명(자바 필드 이름) 집합을 반환. */
+  /** 엔티티 클래스에 붙은 모든 @Column 어노테이션 필드명(자바 필드 이름) 집합을 반환. (선언 순서 유지) */
   protected Set<String> getEntityFields(final Class<?> entityClass) {
-    return getAllNonExcludedFields(entityClass).stream()
-        .map(Field::getName)
-        .collect(Collectors.toSet());
+    return metadataOf(entityClass).getFieldNames();
   }
 
   /**
@@ -70,35 +61,7 @@ public class MybatisEntityHelper {
    * <p>- jakarta.persistence.Column 또는 javax.persistence.Column 둘 다 처리 - 없으면 빈 배열 반환
    */
   protected static List<Field> getAllNonExcludedFields(final Class<?> clazz) {
-    return MybatisCommand.FIELD_CACHE.computeIfAbsent(
-        clazz,
-        entityClass -> {
-          List<Field> allFields = new ArrayList<>();
-          Class<?> current = entityClass;
-          while (current != null && current != Object.class) {
-            allFields.addAll(Arrays.asList(current.getDeclaredFields()));
-            current = current.getSuperclass();
-          }
-
-          List<Field> filteredFields =
-              allFields.stream()
-                  .filter(
-                      field -> {
-                        for (Annotation ann : field.getAnnotations()) {
-                          String annType = ann.annotationType().getName();
-                          if (annType.equals("jakarta.persistence.Column")
-                              || annType.equals("javax.persistence.Column")) {
-                            return true;
-                          }
-                        }
-                        return false;
-                      })
-                  .distinct()
-                  .collect(Collectors.toList());
-
-          // 불변 리스트로 만들어 thread safety 보장
-          return Collections.unmodifiableList(filteredFields);
-        });
+    return getMetadata(clazz).getFields();
   }
 
   /**
@@ -106,66 +69,44 @@ public class MybatisEntityHelper {
    * CamelCase→snake_case 로 변환
    */
   protected String getColumnName(final Class<?> entityClass, final String fieldName) {
+    MybatisEntityMetadata metadata = metadataOf(entityClass);
+    return metadata.getColumnName(indexOfField(metadata, fieldName));
+  }
+
+  /** getColumnName 결과를 백틱으로 감싼 식별자. (메타데이터에 미리 계산된 값을 사용) */
+  protected String getWrappedColumnName(final Class<?> entityClass, final String fieldName) {
+    MybatisEntityMetadata metadata = metadataOf(entityClass);
+    return metadata.getWrappedColumnName(indexOfField(metadata, fieldName));
+  }
+
+  private int indexOfField(final MybatisEntityMetadata metadata, final String fieldName) {
     if (fieldName == null) {
       throw new MybatisRepositoryException("fieldName cannot be null");
     }
-    try {
-      Field field = findFieldInClassHierarchy(entityClass, fieldName);
-      if (field != null) {
-        for (Annotation ann : field.getAnnotations()) {
-          String annType = ann.annotationType().getName();
-          if (annType.equals("jakarta.persistence.Column")
-              || annType.equals("javax.persistence.Column")) {
-            try {
-              Method nameMethod = ann.annotationType().getMethod("name");
-              Object value = nameMethod.invoke(ann);
-              if (value instanceof String) {
-                String nameValue = (String) value;
-                if (!nameValue.isEmpty()) {
-                  return nameValue;
-                }
-              }
-            } catch (Exception e) {
-              log.warn("Failed to get column name from annotation: {}", e.getMessage());
-            }
-            return stringHelper.getCamelCaseToSnakeCase(fieldName);
-          }
-        }
-      }
-    } catch (Exception e) {
-      log.warn("Error while getting column name for field '{}': {}", fieldName, e.getMessage());
+    int index = metadata.indexOfField(fieldName);
+    if (index != -1) {
+      return index;
     }
     log.error("entity 에 포함되지 않는 필드 발견 : {}", fieldName);
     // 보안상 프로덕션 환경에서는 상세 정보 노출 방지
     if (log.isDebugEnabled()) {
-      log.debug(
-          "entity 필드 목록: {}",
-          getAllNonExcludedFields(entityClass).stream()
-              .map(Field::getName)
-              .collect(Collectors.joining(", ")));
+      log.debug("entity 필드 목록: {}", String.join(", ", metadata.getFieldNames()));
     }
     throw new MybatisRepositoryException("entity 에 포함되지 않는 필드 발견 : " + fieldName);
   }
 
-  /** 클래스 계층을 타고 올라가며 동일한 이름의 필드를 찾음 */
-  private Field findFieldInClassHierarchy(Class<?> clazz, String fieldName) {
-    Class<?> curr = clazz;
-    while (curr != null && curr != Object.class) {
-      try {
-        return curr.getDeclaredField(fieldName);
-      } catch (NoSuchFieldException e) {
-        curr = curr.getSuperclass();
-      }
-    }
-    return null;
-  }
-
   /**
    * mapper 인터페이스에서 제네릭 타입으로 선언한 엔티티 클래스를 추출. 예: public interface MyRepo extends
    * MybatisRepository<User> { ... }
    */
   @SuppressWarnings("unchecked")
   public <E> Class<E> extractEntityClassFromMapper(Class<?> mapperInterface) {
+    return (Class<E>)
+        MybatisCommand.MAPPER_ENTITY_CACHE.computeIfAbsent(
+            mapperInterface, this::findEntityClassFromMapper);
+  }
+
+  private Class<?> findEntityClassFromMapper(Class<?> mapperInterface) {
     Type[] genericIfs = mapperInterface.getGenericInterfaces();
     for (Type t : genericIfs) {
       if (t instanceof ParameterizedType) {
@@ -174,14 +115,14 @@ public class MybatisEntityHelper {
             || pt.getRawType() == MybatisNoIdRepository.class) {
           Type actual = pt.getActualTypeArguments()[0];
           if (actual instanceof Class) {
-            return (Class<E>) actual;
+            return (Class<?>) actual;
           }
         }
       }
     }
     // 부모 인터페이스 재귀 탐색
     for (Class<?> parentIf : mapperInterface.getInterfaces()) {
-      Class<E> found = extractEntityClassFromMapper(parentIf);
+      Class<?> found = findEntityClassFromMapper(parentIf);
       if (found != null) {
         return found;
       }
@@ -0,0 +1,432 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 엔티티 클래스당 한 번만 만들어지는 불변 메타데이터. 테이블명, @Column 필드 순서, 필드명↔컬럼명 배열, id 컬럼을 보관한다.
+ *
+ * <p>리플렉션/어노테이션 조회는 생성 시점에만 하고, 이후 SQL 생성 경로는 배열과 맵 조회만 한다. 필드 값은 생성 시점에 만든
+ * MethodHandle getter 로 읽으므로 호출마다 setAccessible 이나 Field 모니터 잠금이 필요 없다.
+ */
+public final class MybatisEntityMetadata {
+  private static final Logger log = LoggerFactory.getLogger(MybatisEntityMetadata.class);
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private final Class<?> entityClass;
+  private final String tableName;
+  private final List<Field> fields;
+  private final String[] fieldNames;
+  private final String[] columnNames;
+  private final MybatisStringHelper stringHelper;
+  private volatile QuotedColumns quotedColumns;
+  private final MybatisGeneratedMetadata generated;
+  private final MethodHandle[] getters;
+  private final Map<String, Integer> fieldIndex;
+  private final Map<String, Integer> columnIndex;
+  private final Set<String> fieldNameSet;
+  private final int idIndex;
+
+  private MybatisEntityMetadata(
+      final Class<?> entityClass,
+      final String tableName,
+      final List<Field> fields,
+      final String[] columnNames,
+      final MybatisGeneratedMetadata generated,
+      final MethodHandle[] getters,
+      final int idIndex,
+      final MybatisStringHelper stringHelper) {
+    this.entityClass = entityClass;
+    this.tableName = tableName;
+    this.fields = Collections.unmodifiableList(fields);
+    this.fieldNames = new String[fields.size()];
+    this.columnNames = columnNames;
+    this.stringHelper = stringHelper;
+    this.generated = generated;
+    this.getters = getters;
+    Map<String, Integer> byField = new HashMap<>();
+    Map<String, Integer> byColumn = new HashMap<>();
+    for (int i = 0; i < fields.size(); i++) {
+      fieldNames[i] = fields.get(i).getName();
+      byField.put(fieldNames[i], i);
+      byColumn.put(columnNames[i], i);
+    }
+    this.fieldIndex = Collections.unmodifiableMap(byField);
+    this.columnIndex = Collections.unmodifiableMap(byColumn);
+    this.fieldNameSet = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(fieldNames)));
+    this.idIndex = idIndex;
+    this.quotedColumns = quoteColumns(stringHelper.getDialect());
+  }
+
+  /** dialect 로 인용한 컬럼명과 INSERT 컬럼 목록. dialect 가 바뀌면 다시 만든다 */
+  private static final class QuotedColumns {
+    private final MybatisDialect dialect;
+    private final String[] wrappedColumnNames;
+    private final String insertColumnClause;
+
+    private QuotedColumns(
+        MybatisDialect dialect, String[] wrappedColumnNames, String insertColumnClause) {
+      this.dialect = dialect;
+      this.wrappedColumnNames = wrappedColumnNames;
+      this.insertColumnClause = insertColumnClause;
+    }
+  }
+
+  private QuotedColumns quoteColumns(final MybatisDialect dialect) {
+    String[] wrapped = new String[columnNames.length];
+    boolean allWrapped = true;
+    for (int i = 0; i < columnNames.length; i++) {
+      try {
+        wrapped[i] = stringHelper.wrapIdentifier(columnNames[i]);
+      } catch (IllegalArgumentException e) {
+        // 사용 시점에 wrapIdentifier 가 같은 예외를 다시 던지도록 비워둔다
+        log.debug("Invalid column identifier '{}': {}", columnNames[i], e.getMessage());
+        allWrapped = false;
+      }
+    }
+    return new QuotedColumns(dialect, wrapped, allWrapped ? String.join(", ", wrapped) : null);
+  }
+
+  private QuotedColumns quotedColumns() {
+    QuotedColumns quoted = quotedColumns;
+    MybatisDialect dialect = stringHelper.getDialect();
+    if (quoted.dialect != dialect) {
+      quoted = quoteColumns(dialect);
+      quotedColumns = quoted;
+    }
+    return quoted;
+  }
+
+  /**
+   * 엔티티 클래스의 메타데이터를 만든다. 컴파일 시점에 생성된 {@link MybatisGeneratedMetadata} 가 있으면 그것을 쓰고, 없으면
+   * 클래스를 한 번 스캔한다. 생성된 컬럼명 / 테이블명은 기본 MybatisStringHelper 규칙이므로, 다른 helper 이면 생성 클래스를 쓰지 않는다.
+   */
+  static MybatisEntityMetadata create(
+      final Class<?> entityClass, final MybatisStringHelper stringHelper) {
+    MybatisGeneratedMetadata generated =
+        stringHelper.getClass() == MybatisStringHelper.class ? loadGenerated(entityClass) : null;
+    if (generated != null) {
+      try {
+        return fromGenerated(entityClass, generated, stringHelper);
+      } catch (RuntimeException e) {
+        log.warn("Ignoring generated metadata for {}: {}", entityClass.getName(), e.getMessage());
+      }
+    }
+    return fromReflection(entityClass, stringHelper);
+  }
+
+  private static MybatisEntityMetadata fromReflection(
+      final Class<?> entityClass, final MybatisStringHelper stringHelper) {
+    List<Field> fields = scanColumnFields(entityClass);
+    String[] columnNames = new String[fields.size()];
+    MethodHandle[] getters = new MethodHandle[fields.size()];
+    int idIndex = -1;
+    for (int i = 0; i < fields.size(); i++) {
+      Field field = fields.get(i);
+      columnNames[i] = resolveColumnName(field, stringHelper);
+      getters[i] = createGetter(field);
+      if (hasAnnotation(field, "jakarta.persistence.Id", "javax.persistence.Id")
+          || (idIndex == -1 && field.getName().equals("id"))) {
+        idIndex = i;
+      }
+    }
+    return new MybatisEntityMetadata(
+        entityClass,
+        resolveTableName(entityClass, stringHelper),
+        fields,
+        columnNames,
+        null,
+        getters,
+        idIndex,
+        stringHelper);
+  }
+
+  /** 생성된 메타데이터 사용. 어노테이션은 읽지 않고, 생성 코드가 직접 읽을 수 없는 필드만 getter 를 만든다. */
+  private static MybatisEntityMetadata fromGenerated(
+      final Class<?> entityClass,
+      final MybatisGeneratedMetadata generated,
+      final MybatisStringHelper stringHelper) {
+    String[] fieldNames = generated.getFieldNames();
+    String[] columnNames = generated.getColumnNames();
+    if (fieldNames.length != columnNames.length) {
+      throw new MybatisRepositoryException("field/column count mismatch");
+    }
+    List<Field> fields = new ArrayList<>(fieldNames.length);
+    MethodHandle[] getters = new MethodHandle[fieldNames.length];
+    for (int i = 0; i < fieldNames.length; i++) {
+      Field field = findField(entityClass, fieldNames[i]);
+      fields.add(field);
+      if (!generated.isReadable(i)) {
+        getters[i] = createGetter(field);
+      }
+    }
+    log.debug("Using generated metadata for {}", entityClass.getName());
+    return new MybatisEntityMetadata(
+        entityClass,
+        generated.getTableName(),
+        fields,
+        columnNames,
+        generated,
+        getters,
+        generated.getIdIndex(),
+        stringHelper);
+  }
+
+  private static MybatisGeneratedMetadata loadGenerated(final Class<?> entityClass) {
+    String packagePrefix =
+        entityClass.getPackage() == null ? "" : entityClass.getPackage().getName() + ".";
+    String simpleBinaryName = entityClass.getName().substring(packagePrefix.length());
+    String generatedName =
+        packagePrefix
+            + simpleBinaryName.replace('$', '_')
+            + MybatisGeneratedMetadata.CLASS_NAME_SUFFIX;
+    try {
+      Class<?> generatedClass = Class.forName(generatedName, true, entityClass.getClassLoader());
+      if (!MybatisGeneratedMetadata.class.isAssignableFrom(generatedClass)) {
+        return null;
+      }
+      return (MybatisGeneratedMetadata) generatedClass.getDeclaredConstructor().newInstance();
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (ReflectiveOperationException | LinkageError e) {
+      log.warn("Failed to load generated metadata {}: {}", generatedName, e.getMessage());
+      return null;
+    }
+  }
+
+  public Class<?> getEntityClass() {
+    return entityClass;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  /** @Column 필드 (클래스 → 상위 클래스, 선언 순서) */
+  public List<Field> getFields() {
+    return fields;
+  }
+
+  public int getColumnCount() {
+    return fieldNames.length;
+  }
+
+  public String getFieldName(final int index) {
+    return fieldNames[index];
+  }
+
+  public String getColumnName(final int index) {
+    return columnNames[index];
+  }
+
+  /** dialect 로 인용한 컬럼명. 식별자로 쓸 수 없는 컬럼명이면 MybatisStringHelper.wrapIdentifier 와 같은 예외를 던진다. */
+  public String getWrappedColumnName(final int index) {
+    String wrapped = quotedColumns().wrappedColumnNames[index];
+    if (wrapped == null) {
+      throw new IllegalArgumentException("Invalid identifier: " + columnNames[index]);
+    }
+    return wrapped;
+  }
+
+  /** INSERT 컬럼 목록. (예: `id`, `login_id`) 식별자로 쓸 수 없는 컬럼명이 있으면 getWrappedColumnName 과 같은 예외 */
+  public String getInsertColumnClause() {
+    QuotedColumns quoted = quotedColumns();
+    if (quoted.insertColumnClause == null) {
+      for (int i = 0; i < quoted.wrappedColumnNames.length; i++) {
+        getWrappedColumnName(i);
+      }
+    }
+    return quoted.insertColumnClause;
+  }
+
+  /**
+   * index 번째 필드 값을 읽는다.
+   *
+   * @throws MybatisRepositoryException 필드에 접근할 수 없거나 읽기에 실패한 경우
+   */
+  public Object getValue(final Object entity, final int index) {
+    MethodHandle getter = getters[index];
+    if (getter == null && generated != null && generated.isReadable(index)) {
+      return generated.getValue(entity, index);
+    }
+    if (getter == null) {
+      throw new MybatisRepositoryException("Field is not accessible: " + fieldNames[index]);
+    }
+    try {
+      return (Object) getter.invokeExact(entity);
+    } catch (Throwable e) {
+      throw new MybatisRepositoryException("Failed to get field value: " + fieldNames[index], e);
+    }
+  }
+
+  /** 모든 필드 값을 컬럼 순서대로 담은 배열. (필드 개수만큼 미리 할당) */
+  public Object[] getValues(final Object entity) {
+    Object[] values = new Object[getters.length];
+    for (int i = 0; i < getters.length; i++) {
+      values[i] = getValue(entity, i);
+    }
+    return values;
+  }
+
+  /** 필드명의 인덱스. 엔티티의 @Column 필드가 아니면 -1 */
+  public int indexOfField(final String fieldName) {
+    Integer index = fieldIndex.get(fieldName);
+    return index == null ? -1 : index;
+  }
+
+  /** 컬럼명의 인덱스. 엔티티의 컬럼이 아니면 -1 */
+  public int indexOfColumn(final String columnName) {
+    Integer index = columnIndex.get(columnName);
+    return index == null ? -1 : index;
+  }
+
+  public Set<String> getFieldNames() {
+    return fieldNameSet;
+  }
+
+  public boolean hasId() {
+    return idIndex != -1;
+  }
+
+  /** @Id 가 붙은 필드, 없으면 이름이 id 인 필드의 인덱스. 둘 다 없으면 -1 */
+  public int getIdIndex() {
+    return idIndex;
+  }
+
+  public String getIdFieldName() {
+    if (idIndex == -1) {
+      throw new MybatisRepositoryException("entity has no id column: " + entityClass.getName());
+    }
+    return fieldNames[idIndex];
+  }
+
+  public String getIdColumnName() {
+    if (idIndex == -1) {
+      throw new MybatisRepositoryException("entity has no id column: " + entityClass.getName());
+    }
+    return columnNames[idIndex];
+  }
+
+  // ===========================================
+  // Reflection (생성 시점에만 사용)
+  // ===========================================
+
+  /**
+   * 클래스 계층을 순회하며 “실제 필드 레벨”에 @Column 어노테이션이 붙은 것만 필터링해서 리턴.
+   *
+   * <p>- jakarta.persistence.Column 또는 javax.persistence.Column 둘 다 처리 - 없으면 빈 배열 반환
+   */
+  private static List<Field> scanColumnFields(final Class<?> entityClass) {
+    List<Field> columnFields = new ArrayList<>();
+    Class<?> current = entityClass;
+    while (current != null && current != Object.class) {
+      for (Field field : current.getDeclaredFields()) {
+        if (hasAnnotation(field, "jakarta.persistence.Column", "javax.persistence.Column")
+            && !columnFields.contains(field)) {
+          columnFields.add(field);
+        }
+      }
+      current = current.getSuperclass();
+    }
+    return columnFields;
+  }
+
+  /**
+   * 테이블 이름. - 엔티티 클래스에 @Table(name="...")이 붙어 있으면 그 값을 사용 - 없으면 클래스 이름을 CamelCase→snake_case 로
+   * 변환
+   */
+  private static String resolveTableName(
+      final Class<?> entityClass, final MybatisStringHelper stringHelper) {
+    Annotation table = findAnnotation(entityClass.getAnnotations(), "Table");
+    String name = readName(table);
+    if (name != null) {
+      return name;
+    }
+    return stringHelper.getCamelCaseToSnakeCase(entityClass.getSimpleName()).toLowerCase();
+  }
+
+  /** 컬럼 이름. - 우선순위: @Column(name="...")이 붙어 있으면 name() → - 없으면 CamelCase→snake_case 로 변환 */
+  private static String resolveColumnName(
+      final Field field, final MybatisStringHelper stringHelper) {
+    Annotation column = findAnnotation(field.getAnnotations(), "Column");
+    String name = readName(column);
+    if (name != null) {
+      return name;
+    }
+    return stringHelper.getCamelCaseToSnakeCase(field.getName());
+  }
+
+  private static Field findField(final Class<?> entityClass, final String fieldName) {
+    Class<?> current = entityClass;
+    while (current != null && current != Object.class) {
+      try {
+        return current.getDeclaredField(fieldName);
+      } catch (NoSuchFieldException e) {
+        current = current.getSuperclass();
+      }
+    }
+    throw new MybatisRepositoryException("Field not found: " + fieldName);
+  }
+
+  /** Object → Object 형태의 getter. 접근할 수 없는 필드는 null (읽는 시점에 예외) */
+  private static MethodHandle createGetter(final Field field) {
+    try {
+      field.setAccessible(true);
+      return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+    } catch (Exception e) {
+      log.warn("Failed to create accessor for {}: {}", field.getName(), e.getMessage());
+      return null;
+    }
+  }
+
+  private static boolean hasAnnotation(final Field field, final String... annotationTypes) {
+    for (Annotation ann : field.getAnnotations()) {
+      String annType = ann.annotationType().getName();
+      for (String annotationType : annotationTypes) {
+        if (annType.equals(annotationType)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static Annotation findAnnotation(
+      final Annotation[] annotations, final String simpleName) {
+    for (Annotation ann : annotations) {
+      String annType = ann.annotationType().getName();
+      if (annType.equals("jakarta.persistence." + simpleName)
+          || annType.equals("javax.persistence." + simpleName)) {
+        return ann;
+      }
+    }
+    return null;
+  }
+
+  private static String readName(final Annotation annotation) {
+    if (annotation == null) {
+      return null;
+    }
+    try {
+      Method nameMethod = annotation.annotationType().getMethod("name");
+      Object value = nameMethod.invoke(annotation);
+      if (value instanceof String && !((String) value).isEmpty()) {
+        return (String) value;
+      }
+    } catch (Exception e) {
+      log.warn(
+          "Failed to get name from @{} annotation: {}",
+          annotation.annotationType().getSimpleName(),
+          e.getMessage());
+    }
+    return null;
+  }
+}
@@ -0,0 +1,29 @@
+package io.github.bestheroz.mybatis;
+
+/**
+ * mybatis-repository-processor 가 컴파일 시점에 @Table 엔티티마다 만드는 메타데이터 클래스의 계약.
+ *
+ * <p>생성 클래스 이름은 엔티티와 같은 패키지의 {@code <엔티티 클래스명>_MybatisMetadata} 이며 (중첩 클래스는 {@code $} 대신
+ * {@code _}), {@link MybatisEntityMetadata} 가 있으면 사용하고 없으면 리플렉션으로 대체한다.
+ */
+public interface MybatisGeneratedMetadata {
+  /** 생성 클래스 이름 접미사 */
+  String CLASS_NAME_SUFFIX = "_MybatisMetadata";
+
+  String getTableName();
+
+  /** @Column 필드명 (클래스 → 상위 클래스, 선언 순서) */
+  String[] getFieldNames();
+
+  /** getFieldNames 와 같은 순서의 컬럼명 */
+  String[] getColumnNames();
+
+  /** id 필드의 인덱스. 없으면 -1 */
+  int getIdIndex();
+
+  /** 생성 코드에서 직접 읽을 수 있는 필드인지 여부. (private 필드는 false) */
+  boolean isReadable(int index);
+
+  /** index 번째 필드 값. isReadable 이 false 면 IllegalArgumentException */
+  Object getValue(Object entity, int index);
+}
@@ -0,0 +1,126 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.ibatis.jdbc.SQL;
+
+/**
+ * H2. 큰따옴표 식별자, 작은따옴표만 이스케이프 (H2 는 MySQL 호환 모드에서도 백슬래시를 이스케이프로 보지 않는다), LOCATE/LEFT
+ * 기반 문자열 조건.
+ *
+ * <p>인용한 식별자는 대소문자를 구분하므로 DATABASE_TO_LOWER=TRUE 로 열거나 테이블/컬럼을 소문자로 인용해서 만들어야 한다.
+ */
+public class MybatisH2Dialect implements MybatisDialect {
+  private static final MybatisH2Dialect INSTANCE = new MybatisH2Dialect();
+
+  public static MybatisH2Dialect getInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public String getName() {
+    return "H2";
+  }
+
+  @Override
+  public boolean supports(final String databaseProductName) {
+    return "H2".equalsIgnoreCase(databaseProductName);
+  }
+
+  @Override
+  public void appendIdentifier(final StringBuilder sb, final String identifier) {
+    sb.append('"').append(identifier).append('"');
+  }
+
+  @Override
+  public String escapeCharacter(final char c) {
+    return c == '\'' ? "''" : null;
+  }
+
+  @Override
+  public void appendContains(
+      final StringBuilder sb, final String column, final ValueWriter value, final boolean negate) {
+    // LOCATE('value', "column") > 0
+    sb.append("LOCATE(");
+    value.appendTo(sb);
+    sb.append(", ");
+    appendIdentifier(sb, column);
+    sb.append(negate ? ") = 0" : ") > 0");
+  }
+
+  @Override
+  public void appendStartsWith(
+      final StringBuilder sb, final String column, final ValueWriter value) {
+    // LEFT("column", CHAR_LENGTH('value')) = 'value'
+    appendAffix(sb, "LEFT(", column, value);
+  }
+
+  @Override
+  public void appendEndsWith(final StringBuilder sb, final String column, final ValueWriter value) {
+    // RIGHT("column", CHAR_LENGTH('value')) = 'value'
+    appendAffix(sb, "RIGHT(", column, value);
+  }
+
+  /** DELETE … WHERE … FETCH FIRST n ROWS ONLY (H2 2.x 의 DELETE 행 제한 문법) */
+  @Override
+  public String buildDeleteLimit(
+      final String table, final String keyColumn, final Consumer<SQL> where, final String limit) {
+    SQL sql = new SQL().DELETE_FROM(table);
+    where.accept(sql);
+    return sql.toString() + "\nFETCH FIRST " + limit + " ROWS ONLY";
+  }
+
+  /**
+   * MERGE INTO table T USING (VALUES …) S (columns) ON T.key = S.key WHEN MATCHED THEN UPDATE …
+   * WHEN NOT MATCHED THEN INSERT …
+   */
+  @Override
+  public void appendUpsert(
+      final StringBuilder sb,
+      final String table,
+      final String[] columns,
+      final List<String[]> rows,
+      final String[] keyColumns,
+      final String[] updateColumns) {
+    if (keyColumns.length == 0) {
+      throw new MybatisRepositoryException("upsert requires an id column on H2");
+    }
+    sb.append("MERGE INTO ").append(table).append(" T\nUSING (VALUES ");
+    appendRows(sb, rows);
+    sb.append(") S (");
+    appendJoined(sb, columns, "");
+    sb.append(")\nON ");
+    for (int i = 0; i < keyColumns.length; i++) {
+      sb.append(i == 0 ? "" : " AND ");
+      sb.append("T.").append(keyColumns[i]).append(" = S.").append(keyColumns[i]);
+    }
+    if (updateColumns.length > 0) {
+      sb.append("\nWHEN MATCHED THEN UPDATE SET ");
+      for (int i = 0; i < updateColumns.length; i++) {
+        sb.append(i == 0 ? "" : ", ");
+        sb.append(updateColumns[i]).append(" = S.").append(updateColumns[i]);
+      }
+    }
+    sb.append("\nWHEN NOT MATCHED THEN INSERT (");
+    appendJoined(sb, columns, "");
+    sb.append(") VALUES (");
+    appendJoined(sb, columns, "S.");
+    sb.append(')');
+  }
+
+  private void appendAffix(
+      final StringBuilder sb, final String function, final String column, final ValueWriter value) {
+    sb.append(function);
+    appendIdentifier(sb, column);
+    sb.append(", CHAR_LENGTH(");
+    value.appendTo(sb);
+    sb.append(")) = ");
+    value.appendTo(sb);
+  }
+
+  @Override
+  public String toString() {
+    return getName();
+  }
+}
@@ -0,0 +1,12 @@
+package io.github.bestheroz.mybatis;
+
+/** insertBatch 실행 방식 */
+public enum MybatisInsertBatchMode {
+  /** INSERT ... VALUES (…), (…) 형태의 multi-row INSERT 문. insertBatchMaxRows/MaxBytes 단위로 분할 */
+  MULTI_ROW,
+  /**
+   * 파라미터 바인딩된 단일 행 INSERT 를 ExecutorType.BATCH SqlSession 으로 실행하고 insertBatchFlushSize 행마다 flush.
+   * MybatisBatchExecutor 에 SqlSessionFactory 가 등록되어 있어야 한다.
+   */
+  JDBC_BATCH
+}
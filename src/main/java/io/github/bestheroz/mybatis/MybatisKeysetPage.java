@@ -0,0 +1,72 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * keyset(seek) 페이지네이션 결과. 다음 페이지를 조회할 때 nextKey 를 lastKeys 로 넘긴다.
+ *
+ * <p>nextKey 는 이번 페이지 마지막 행의 정렬 컬럼 값이며 (orderByConditions 와 같은 순서), 다음 페이지가 없으면 null 이다. NULL 과의
+ * 비교는 항상 거짓이라 다음 페이지가 조용히 비게 되므로, 정렬 컬럼 값이 null 이면 MybatisRepositoryException 을 던진다.
+ */
+public class MybatisKeysetPage<T> {
+  private final List<T> items;
+  private final List<Object> nextKey;
+
+  public MybatisKeysetPage(final List<T> items, final List<Object> nextKey) {
+    this.items = Collections.unmodifiableList(items);
+    this.nextKey = nextKey == null ? null : Collections.unmodifiableList(nextKey);
+  }
+
+  /**
+   * size + 1 행까지 조회한 결과로 페이지를 만든다. size 를 넘는 행이 있으면 다음 페이지가 있다고 본다.
+   *
+   * @param rows size + 1 행까지 조회한 결과
+   * @param orderByConditions 조회에 사용한 정렬 조건 (예: ["-createdAt", "id"])
+   * @param size 페이지 크기
+   * @throws MybatisRepositoryException 다음 페이지가 있는데 마지막 행의 정렬 컬럼 값이 null 일 때
+   */
+  public static <T> MybatisKeysetPage<T> of(
+      final List<T> rows, final List<String> orderByConditions, final int size) {
+    if (rows.size() <= size) {
+      return new MybatisKeysetPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, size);
+    T last = items.get(size - 1);
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(last.getClass());
+    List<Object> nextKey = new ArrayList<>(orderByConditions.size());
+    for (String condition : orderByConditions) {
+      String fieldName = condition.startsWith("-") ? condition.substring(1) : condition;
+      int index = metadata.indexOfField(fieldName);
+      Object value = metadata.getValue(last, index);
+      if (value == null) {
+        throw new MybatisRepositoryException(
+            "keyset column '"
+                + metadata.getColumnName(index)
+                + "' is null in the last row; keyset pagination requires NOT NULL sort columns");
+      }
+      nextKey.add(value);
+    }
+    return new MybatisKeysetPage<>(items, nextKey);
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  /** 다음 페이지 조회에 넘길 lastKeys. 마지막 페이지면 null */
+  public List<Object> getNextKey() {
+    return nextKey;
+  }
+
+  public boolean hasNext() {
+    return nextKey != null;
+  }
+
+  @Override
+  public String toString() {
+    return "MybatisKeysetPage{" + "items=" + items.size() + ", nextKey=" + nextKey + '}';
+  }
+}
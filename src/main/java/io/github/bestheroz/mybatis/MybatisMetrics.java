@@ -0,0 +1,44 @@
+package io.github.bestheroz.mybatis;
+
+/**
+ * 리포지토리 연산 지표 기록기. 기본 인스턴스는 아무것도 기록하지 않으며 (nanoTime 호출도 생략), Micrometer 가 있으면
+ * MybatisAutoConfiguration 이 MybatisMicrometerMetrics 로 교체한다.
+ *
+ * <p>operation 은 mapper 문 이름(buildSelectSQL, buildCountSQL, …)이고 entity 는 리포지토리의 엔티티 클래스이다.
+ */
+public class MybatisMetrics {
+  private static final MybatisMetrics NOOP = new MybatisMetrics();
+
+  private static volatile MybatisMetrics instance = NOOP;
+
+  public static MybatisMetrics getInstance() {
+    return instance;
+  }
+
+  /** null 이면 기록하지 않는 기본 인스턴스로 되돌린다 */
+  public static void setInstance(MybatisMetrics metrics) {
+    instance = metrics == null ? NOOP : metrics;
+  }
+
+  public boolean isEnabled() {
+    return false;
+  }
+
+  /** 측정 시작 시각. 비활성이면 0 */
+  public long start() {
+    return isEnabled() ? System.nanoTime() : 0L;
+  }
+
+  /** MybatisCommand 의 SQL 생성 시간 */
+  public void recordBuild(Class<?> entityClass, String operation, long startNanos) {}
+
+  /** Executor 실행 시간과 조회/영향받은 행 수 (MybatisMetricsInterceptor) */
+  public void recordExecution(
+      Class<?> entityClass, String operation, long startNanos, long rowCount) {}
+
+  /** insertBatch 한 번에 넣는 행 수 */
+  public void recordBatchSize(Class<?> entityClass, String operation, int size) {}
+
+  /** WHERE 절 IN / NOT IN 값 개수 */
+  public void recordInClauseSize(Class<?> entityClass, String operation, int size) {}
+}
@@ -0,0 +1,112 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * MybatisRepository / MybatisNoIdRepository mapper 문의 실행 시간과 행 수를 MybatisMetrics 에 기록하고,
+ * slowSqlThresholdMillis 이상 걸린 문을 MybatisSqlLogger 로 WARN 기록하는 Executor 인터셉터. 다른 mapper 의 문은 그대로
+ * 실행한다.
+ *
+ * <p>Executor 단계에서 측정하므로 provider 의 SQL 생성 시간이 포함된다 (생성 시간은 mybatis.repository.build 로 따로 기록).
+ * operation 태그는 mapper 메서드 이름이며 생성 지표의 operation 태그와 같다. queryCursor 는 Cursor 를 연 시점까지(첫 행을 읽기 전)를
+ * 재고 행 수는 -1 로 기록한다.
+ */
+@Intercepts({
+  @Signature(
+      type = Executor.class,
+      method = "update",
+      args = {MappedStatement.class, Object.class}),
+  @Signature(
+      type = Executor.class,
+      method = "query",
+      args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(
+      type = Executor.class,
+      method = "queryCursor",
+      args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class MybatisMetricsInterceptor implements Interceptor {
+  private final MybatisEntityHelper entityHelper;
+  private final MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+
+  // MappedStatement id → 엔티티 클래스 (리포지토리 mapper 가 아니면 empty)
+  private final Map<String, Optional<Class<?>>> entityCache = new ConcurrentHashMap<>();
+
+  public MybatisMetricsInterceptor() {
+    this.entityHelper = new MybatisEntityHelper(new MybatisStringHelper());
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MybatisMetrics metrics = MybatisMetrics.getInstance();
+    if (!metrics.isEnabled() && properties.getSlowSqlThresholdMillis() <= 0) {
+      return invocation.proceed();
+    }
+    MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+    Class<?> entityClass = resolveEntityClass(ms.getId());
+    if (entityClass == null) {
+      return invocation.proceed();
+    }
+
+    long start = System.nanoTime();
+    Object result = invocation.proceed();
+    long elapsedNanos = System.nanoTime() - start;
+    String operation = operationOf(ms.getId());
+    long rowCount = countRows(result);
+    metrics.recordExecution(entityClass, operation, start, rowCount);
+    MybatisSqlLogger.getInstance().logIfSlow(entityClass, operation, elapsedNanos, rowCount);
+    return result;
+  }
+
+  Class<?> resolveEntityClass(final String statementId) {
+    return entityCache
+        .computeIfAbsent(statementId, id -> Optional.ofNullable(findEntityClass(id)))
+        .orElse(null);
+  }
+
+  private Class<?> findEntityClass(final String statementId) {
+    int dot = statementId.lastIndexOf('.');
+    if (dot < 0) {
+      return null;
+    }
+    Class<?> mapperInterface;
+    try {
+      mapperInterface = Resources.classForName(statementId.substring(0, dot));
+    } catch (ClassNotFoundException e) {
+      // XML 전용 namespace 등
+      return null;
+    }
+    if (!MybatisRepository.class.isAssignableFrom(mapperInterface)
+        && !MybatisNoIdRepository.class.isAssignableFrom(mapperInterface)) {
+      return null;
+    }
+    return entityHelper.extractEntityClassFromMapper(mapperInterface);
+  }
+
+  static String operationOf(final String statementId) {
+    return statementId.substring(statementId.lastIndexOf('.') + 1);
+  }
+
+  /** 조회는 결과 List 크기, 변경은 영향받은 행 수. Cursor 나 BATCH executor 처럼 행 수를 알 수 없으면 -1 */
+  private static long countRows(final Object result) {
+    if (result instanceof List) {
+      return ((List<?>) result).size();
+    }
+    if (result instanceof Integer && (Integer) result >= 0) {
+      return (Integer) result;
+    }
+    return -1;
+  }
+}
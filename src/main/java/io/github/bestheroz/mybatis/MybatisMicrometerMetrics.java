@@ -0,0 +1,118 @@
+package io.github.bestheroz.mybatis;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Micrometer 로 기록하는 MybatisMetrics. 모든 지표에 entity(엔티티 클래스 simple name), operation(mapper 문 이름) 태그를
+ * 붙인다.
+ *
+ * <ul>
+ *   <li>mybatis.repository.build : SQL 생성 시간 (Timer)
+ *   <li>mybatis.repository.execution : 실행 시간 (Timer). provider SQL 은 실행 중에 만들어지므로 build 시간을 포함한다
+ *   <li>mybatis.repository.rows : 조회/영향받은 행 수 (DistributionSummary)
+ *   <li>mybatis.repository.batch.size : insertBatch 행 수 (DistributionSummary)
+ *   <li>mybatis.repository.in.size : IN 절 값 개수 (DistributionSummary)
+ * </ul>
+ */
+public class MybatisMicrometerMetrics extends MybatisMetrics {
+  public static final String BUILD = "mybatis.repository.build";
+  public static final String EXECUTION = "mybatis.repository.execution";
+  public static final String ROWS = "mybatis.repository.rows";
+  public static final String BATCH_SIZE = "mybatis.repository.batch.size";
+  public static final String IN_CLAUSE_SIZE = "mybatis.repository.in.size";
+
+  private final MeterRegistry registry;
+
+  // 호출마다 builder 를 만들지 않도록 entity/operation 별 meter 를 보관한다
+  private final Map<Class<?>, Map<String, Timer>> buildTimers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<String, Timer>> executionTimers = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<String, DistributionSummary>> rowSummaries =
+      new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<String, DistributionSummary>> batchSummaries =
+      new ConcurrentHashMap<>();
+  private final Map<Class<?>, Map<String, DistributionSummary>> inClauseSummaries =
+      new ConcurrentHashMap<>();
+
+  public MybatisMicrometerMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void recordBuild(Class<?> entityClass, String operation, long startNanos) {
+    meter(buildTimers, entityClass, operation, this::buildTimer)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordExecution(
+      Class<?> entityClass, String operation, long startNanos, long rowCount) {
+    meter(executionTimers, entityClass, operation, this::executionTimer)
+        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    if (rowCount >= 0) {
+      meter(rowSummaries, entityClass, operation, (e, o) -> summary(ROWS, "rows", e, o))
+          .record(rowCount);
+    }
+  }
+
+  @Override
+  public void recordBatchSize(Class<?> entityClass, String operation, int size) {
+    meter(batchSummaries, entityClass, operation, (e, o) -> summary(BATCH_SIZE, "rows", e, o))
+        .record(size);
+  }
+
+  @Override
+  public void recordInClauseSize(Class<?> entityClass, String operation, int size) {
+    meter(
+            inClauseSummaries,
+            entityClass,
+            operation,
+            (e, o) -> summary(IN_CLAUSE_SIZE, "values", e, o))
+        .record(size);
+  }
+
+  private static <M> M meter(
+      final Map<Class<?>, Map<String, M>> meters,
+      final Class<?> entityClass,
+      final String operation,
+      final BiFunction<Class<?>, String, M> factory) {
+    return meters
+        .computeIfAbsent(entityClass, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(operation, k -> factory.apply(entityClass, k));
+  }
+
+  private Timer buildTimer(Class<?> entityClass, String operation) {
+    return Timer.builder(BUILD)
+        .description("MybatisRepository SQL build time")
+        .tag("entity", entityClass.getSimpleName())
+        .tag("operation", operation)
+        .register(registry);
+  }
+
+  private Timer executionTimer(Class<?> entityClass, String operation) {
+    return Timer.builder(EXECUTION)
+        .description("MybatisRepository statement execution time")
+        .tag("entity", entityClass.getSimpleName())
+        .tag("operation", operation)
+        .register(registry);
+  }
+
+  private DistributionSummary summary(
+      String name, String baseUnit, Class<?> entityClass, String operation) {
+    return DistributionSummary.builder(name)
+        .baseUnit(baseUnit)
+        .tag("entity", entityClass.getSimpleName())
+        .tag("operation", operation)
+        .register(registry);
+  }
+}
@@ -0,0 +1,236 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * getItemsByIds / getItemsByMapIn 의 IN 분할 조회. 값에서 null 과 중복을 빼고 maxInClauseSize 개씩 나누어 chunk 마다
+ * 조회한 뒤 chunk 순서대로 합친다.
+ *
+ * <p>multiGetParallelism 이 2 이상이면 chunk 를 그 크기의 공유 스레드 풀에서 동시에 실행한다. 다른 스레드에서 실행되므로 호출자의
+ * 트랜잭션 / SqlSession 에 참여하지 않는다. 여러 스레드가 같은 mapper 를 호출하므로 호출마다 세션을 여는 thread-safe mapper
+ * (SqlSessionTemplate 을 쓰는 Spring 의 mapper 빈, SqlSessionManager) 일 때만 동시에 실행한다.
+ * SqlSession#getMapper 로 얻은 mapper (DefaultSqlSession 은 thread-safe 가 아님) 는 호출 스레드에서 차례로 조회한다.
+ *
+ * <p>multiGetParallelism 이 바뀌면 새 풀을 만들고, 이전 풀은 그 풀을 받아 간 호출이 모두 끝난 뒤 shutdown 한다.
+ */
+final class MybatisMultiGet {
+  private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+  // 호출마다 세션을 열어 여러 스레드에서 호출해도 되는 SqlSession 구현
+  private static final Set<String> THREAD_SAFE_SESSIONS =
+      Collections.unmodifiableSet(
+          new HashSet<>(
+              Arrays.asList(
+                  "org.mybatis.spring.SqlSessionTemplate",
+                  "org.apache.ibatis.session.SqlSessionManager")));
+  // InvocationHandler 클래스 → sqlSession 필드 (MyBatis 의 MapperProxy 가 아니면 없음)
+  private static final Map<Class<?>, Optional<Field>> SESSION_FIELDS = new ConcurrentHashMap<>();
+  private static Pool current;
+
+  private MybatisMultiGet() {}
+
+  /**
+   * @param mapper chunkQuery 가 호출하는 mapper. thread-safe 가 아니면 multiGetParallelism 과 관계없이 차례로 조회한다
+   * @param chunkQuery 값 chunk (LinkedHashSet, 최대 maxInClauseSize 개) 로 조회
+   * @return chunk 순서대로 합친 결과. values 가 비어 있으면 조회하지 않고 빈 목록
+   */
+  static <T> List<T> query(
+      final Collection<?> values,
+      final Object mapper,
+      final Function<Set<Object>, List<T>> chunkQuery) {
+    boolean parallel =
+        MybatisRepositoryProperties.getInstance().getMultiGetParallelism() > 1
+            && isThreadSafe(mapper);
+    return query(values, parallel, chunkQuery);
+  }
+
+  static <T> List<T> query(
+      final Collection<?> values,
+      final boolean parallelAllowed,
+      final Function<Set<Object>, List<T>> chunkQuery) {
+    List<Set<Object>> chunks = split(values);
+    List<T> result = new ArrayList<>();
+    if (!parallelAllowed
+        || chunks.size() <= 1
+        || MybatisRepositoryProperties.getInstance().getMultiGetParallelism() <= 1) {
+      for (Set<Object> chunk : chunks) {
+        result.addAll(chunkQuery.apply(chunk));
+      }
+      return result;
+    }
+
+    Pool pool = acquire();
+    List<Future<List<T>>> futures = new ArrayList<>(chunks.size());
+    try {
+      for (Set<Object> chunk : chunks) {
+        futures.add(pool.executor.submit(() -> chunkQuery.apply(chunk)));
+      }
+      for (Future<List<T>> future : futures) {
+        result.addAll(future.get());
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MybatisRepositoryException("interrupted while loading chunks", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new MybatisRepositoryException("failed to load chunk", e.getCause());
+    } finally {
+      for (Future<List<T>> future : futures) {
+        future.cancel(true);
+      }
+      release(pool);
+    }
+  }
+
+  /** items 를 id → 엔티티로 모아 ids 순서로 반환한다 (없는 id 는 빠짐) */
+  static <T> Map<Long, T> mapById(final Collection<Long> ids, final List<T> items) {
+    Map<Long, T> ordered = new LinkedHashMap<>();
+    if (items.isEmpty()) {
+      return ordered;
+    }
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(items.get(0).getClass());
+    if (metadata.getIdIndex() == -1) {
+      throw new MybatisRepositoryException("id column is required for getItemsByIds");
+    }
+    Map<Long, T> byId = new HashMap<>(items.size() * 2);
+    for (T item : items) {
+      Object id = metadata.getValue(item, metadata.getIdIndex());
+      if (id instanceof Number) {
+        byId.put(((Number) id).longValue(), item);
+      }
+    }
+    for (Long id : ids) {
+      T item = id == null ? null : byId.get(id);
+      if (item != null) {
+        ordered.put(id, item);
+      }
+    }
+    return ordered;
+  }
+
+  static List<Set<Object>> split(final Collection<?> values) {
+    if (values == null || values.isEmpty()) {
+      return Collections.emptyList();
+    }
+    int maxSize = MybatisRepositoryProperties.getInstance().getMaxInClauseSize();
+    List<Set<Object>> chunks = new ArrayList<>();
+    Set<Object> seen = new LinkedHashSet<>(values);
+    seen.remove(null);
+    Set<Object> chunk = new LinkedHashSet<>();
+    for (Object value : seen) {
+      if (chunk.size() >= maxSize) {
+        chunks.add(chunk);
+        chunk = new LinkedHashSet<>();
+      }
+      chunk.add(value);
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  /** mapper 가 호출마다 세션을 여는 MyBatis mapper 프록시 (SqlSessionTemplate / SqlSessionManager) 인지 */
+  static boolean isThreadSafe(final Object mapper) {
+    if (mapper == null || !Proxy.isProxyClass(mapper.getClass())) {
+      return false;
+    }
+    Object handler = Proxy.getInvocationHandler(mapper);
+    Optional<Field> field =
+        SESSION_FIELDS.computeIfAbsent(handler.getClass(), MybatisMultiGet::findSessionField);
+    if (!field.isPresent()) {
+      return false;
+    }
+    try {
+      Object session = field.get().get(handler);
+      return session != null && THREAD_SAFE_SESSIONS.contains(session.getClass().getName());
+    } catch (IllegalAccessException e) {
+      return false;
+    }
+  }
+
+  private static Optional<Field> findSessionField(final Class<?> handlerType) {
+    for (Class<?> type = handlerType; type != null; type = type.getSuperclass()) {
+      try {
+        Field field = type.getDeclaredField("sqlSession");
+        field.setAccessible(true);
+        return Optional.of(field);
+      } catch (NoSuchFieldException | RuntimeException e) {
+        // 상위 클래스에서 찾는다 (접근할 수 없으면 thread-safe 가 아닌 것으로 본다)
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * multiGetParallelism 크기의 데몬 스레드 풀을 받는다. 크기를 읽는 것과 풀을 고르는 것이 같은 잠금 안이며, 받은 풀은 release 전까지
+   * shutdown 되지 않는다.
+   */
+  static synchronized Pool acquire() {
+    int parallelism = MybatisRepositoryProperties.getInstance().getMultiGetParallelism();
+    if (current == null || current.size != parallelism) {
+      if (current != null) {
+        current.retired = true;
+        current.shutdownIfIdle();
+      }
+      current = new Pool(parallelism);
+    }
+    current.users++;
+    return current;
+  }
+
+  static synchronized void release(final Pool pool) {
+    pool.users--;
+    pool.shutdownIfIdle();
+  }
+
+  /** 공유 스레드 풀과 그 풀을 쓰는 중인 호출 수. 필드는 MybatisMultiGet 의 잠금 안에서만 읽고 쓴다 */
+  static final class Pool {
+    final ExecutorService executor;
+    final int size;
+    int users;
+    boolean retired;
+
+    private Pool(final int size) {
+      this.size = size;
+      this.executor =
+          Executors.newFixedThreadPool(
+              size,
+              runnable -> {
+                Thread thread =
+                    new Thread(runnable, "mybatis-multi-get-" + THREAD_NUMBER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+
+    private void shutdownIfIdle() {
+      if (retired && users == 0) {
+        executor.shutdown();
+      }
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.util.List;
+
+/** MySQL / MariaDB. 백틱 식별자, 백슬래시 이스케이프, INSTR 기반 문자열 조건 */
+public class MybatisMySqlDialect implements MybatisDialect {
+  private static final MybatisMySqlDialect INSTANCE = new MybatisMySqlDialect();
+
+  public static MybatisMySqlDialect getInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public String getName() {
+    return "MySQL";
+  }
+
+  @Override
+  public boolean supports(final String databaseProductName) {
+    return "MySQL".equalsIgnoreCase(databaseProductName)
+        || "MariaDB".equalsIgnoreCase(databaseProductName);
+  }
+
+  @Override
+  public void appendIdentifier(final StringBuilder sb, final String identifier) {
+    sb.append('`').append(identifier).append('`');
+  }
+
+  // SQL injection 방지를 위한 추가 이스케이프 (NO_BACKSLASH_ESCAPES 가 꺼진 기본 sql_mode 기준)
+  @Override
+  public String escapeCharacter(final char c) {
+    switch (c) {
+      case '\'':
+        return "''";
+      case '\\':
+        return "\\\\";
+      case '\0':
+        return "\\0";
+      case '\n':
+        return "\\n";
+      case '\r':
+        return "\\r";
+      case '\t':
+        return "\\t";
+      case '\b':
+        return "\\b";
+      case '\f':
+        return "\\f";
+      case '"':
+        return "\\\"";
+      case '\u001A':
+        return "\\Z";
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public void appendContains(
+      final StringBuilder sb, final String column, final ValueWriter value, final boolean negate) {
+    // INSTR(`column`, 'value') > 0
+    appendInstr(sb, column, value);
+    sb.append(negate ? " = 0" : " > 0");
+  }
+
+  @Override
+  public void appendStartsWith(
+      final StringBuilder sb, final String column, final ValueWriter value) {
+    // INSTR(`column`, 'value') = 1
+    appendInstr(sb, column, value);
+    sb.append(" = 1");
+  }
+
+  @Override
+  public void appendEndsWith(final StringBuilder sb, final String column, final ValueWriter value) {
+    // RIGHT(`column`, CHAR_LENGTH('value')) = 'value'
+    sb.append("RIGHT(");
+    appendIdentifier(sb, column);
+    sb.append(", CHAR_LENGTH(");
+    value.appendTo(sb);
+    sb.append(")) = ");
+    value.appendTo(sb);
+  }
+
+  /** INSERT … ON DUPLICATE KEY UPDATE `col` = VALUES(`col`). 영향받은 행 수는 새 행 1, 바뀐 행 2, 같은 값이면 0 */
+  @Override
+  public void appendUpsert(
+      final StringBuilder sb,
+      final String table,
+      final String[] columns,
+      final List<String[]> rows,
+      final String[] keyColumns,
+      final String[] updateColumns) {
+    if (updateColumns.length == 0) {
+      throw new MybatisRepositoryException("updateColumns are required for upsert");
+    }
+    appendInsertValues(sb, table, columns, rows);
+    sb.append("\nON DUPLICATE KEY UPDATE ");
+    for (int i = 0; i < updateColumns.length; i++) {
+      sb.append(i == 0 ? "" : ", ");
+      sb.append(updateColumns[i]).append(" = VALUES(").append(updateColumns[i]).append(')');
+    }
+  }
+
+  private void appendInstr(final StringBuilder sb, final String column, final ValueWriter value) {
+    sb.append("INSTR(");
+    appendIdentifier(sb, column);
+    sb.append(", ");
+    value.appendTo(sb);
+    sb.append(')');
+  }
+
+  /** InnoDB 의 TABLE_ROWS 는 표본 기반 추정치로 실제 값과 수십 % 차이날 수 있다 */
+  @Override
+  public String buildEstimatedCount(final String tableNameLiteral) {
+    return "SELECT TABLE_ROWS FROM information_schema.TABLES"
+        + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = "
+        + tableNameLiteral;
+  }
+
+  @Override
+  public String toString() {
+    return getName();
+  }
+}
@@ -1,15 +1,21 @@
 package io.github.bestheroz.mybatis;
 
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.apache.ibatis.annotations.*;
 import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 public interface MybatisNoIdRepository<T> {
-  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.SELECT_ITEMS)
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_ITEMS)
   List<T> buildSelectSQL(
       ProviderContext context,
       final Set<String> distinctColumns,
@@ -345,7 +351,103 @@ public interface MybatisNoIdRepository<T> {
         offset);
   }
 
-  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.SELECT_ITEM_BY_MAP)
+  // keyset(seek) 페이지네이션: OFFSET 대신 이전 페이지 마지막 행의 정렬 컬럼 값(lastKeys) 다음부터 조회한다.
+  // orderByConditions 는 유일한 순서가 되도록 마지막에 id 같은 유일 컬럼을 포함해야 한다.
+  // 정렬 컬럼은 NOT NULL 이어야 한다 (마지막 행이나 lastKeys 의 값이 null 이면 MybatisRepositoryException).
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_KEYSET)
+  List<T> buildSelectKeysetSQL(
+      ProviderContext context,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final List<?> lastKeys,
+      final Integer limit);
+
+  default MybatisKeysetPage<T> getItemsKeyset(
+      final List<String> orderByConditions, final List<?> lastKeys, final int size) {
+    return this.getItemsByMapKeyset(Collections.emptyMap(), orderByConditions, lastKeys, size);
+  }
+
+  default MybatisKeysetPage<T> getItemsByMapKeyset(
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final List<?> lastKeys,
+      final int size) {
+    if (size <= 0) {
+      throw new MybatisRepositoryException("size must be positive");
+    }
+    List<T> rows =
+        this.buildSelectKeysetSQL(
+            null,
+            whereConditions == null ? Collections.emptyMap() : whereConditions,
+            orderByConditions,
+            lastKeys,
+            size + 1);
+    return MybatisKeysetPage.of(rows, orderByConditions, size);
+  }
+
+  // Cursor 는 행을 하나씩 매핑해서 넘겨주므로 전체 결과를 메모리에 올리지 않는다.
+  // SqlSession 이 열려 있는 동안(Spring 에서는 @Transactional 안에서)만 읽을 수 있고, 다 읽은 뒤 close 해야 한다.
+  // MySQL 은 useCursorFetch=true 일 때 fetchSize 단위로 가져온다.
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_ITEMS)
+  @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+  Cursor<T> buildSelectCursorSQL(
+      ProviderContext context,
+      final Set<String> distinctColumns,
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset);
+
+  default Cursor<T> streamItems() {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        Collections.emptyMap(),
+        Collections.emptyList(),
+        null,
+        null);
+  }
+
+  default Cursor<T> streamItemsByMap(final Map<String, Object> whereConditions) {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        whereConditions == null ? Collections.emptyMap() : whereConditions,
+        Collections.emptyList(),
+        null,
+        null);
+  }
+
+  default Cursor<T> streamItemsByMapOrderBy(
+      final Map<String, Object> whereConditions, final List<String> orderByConditions) {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        whereConditions == null ? Collections.emptyMap() : whereConditions,
+        orderByConditions == null ? Collections.emptyList() : orderByConditions,
+        null,
+        null);
+  }
+
+  default Cursor<T> streamTargetItemsByMapOrderBy(
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions) {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        targetColumns == null ? Collections.emptySet() : targetColumns,
+        whereConditions == null ? Collections.emptyMap() : whereConditions,
+        orderByConditions == null ? Collections.emptyList() : orderByConditions,
+        null,
+        null);
+  }
+
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_ITEM_BY_MAP)
   Optional<T> buildSelectOneSQL(ProviderContext context, final Map<String, Object> whereConditions);
 
   default Optional<T> getItemByMap(final Map<String, Object> whereConditions) {
@@ -356,15 +458,74 @@ public interface MybatisNoIdRepository<T> {
     return this.buildSelectOneSQL(null, Collections.singletonMap("id", id));
   }
 
-  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.COUNT_BY_MAP)
+  /**
+   * field IN (values) 조회. values 의 null 과 중복을 빼고 maxInClauseSize 개씩 나누어 chunk 마다 otherConditions 와
+   * 함께 조회한 뒤 chunk 순서대로 합친다 (chunk 안의 행 순서는 DB 에 따름). multiGetParallelism 이 2 이상이고 이 mapper 가
+   * thread-safe (Spring 의 mapper 빈) 이면 chunk 를 동시에 조회하며, 이때 chunk 는 호출자의 트랜잭션 밖에서 실행된다.
+   */
+  default List<T> getItemsByMapIn(
+      final String field, final Collection<?> values, final Map<String, Object> otherConditions) {
+    return MybatisMultiGet.query(
+        values,
+        this,
+        chunk -> {
+          Map<String, Object> whereConditions =
+              otherConditions == null ? new HashMap<>() : new HashMap<>(otherConditions);
+          whereConditions.put(field + ":in", chunk);
+          return this.getItemsByMap(whereConditions);
+        });
+  }
+
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_COUNT_BY_MAP)
   long buildCountSQL(ProviderContext context, final Map<String, Object> whereConditions);
 
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.COUNT_ESTIMATE)
+  Long buildCountEstimateSQL(ProviderContext context);
+
   default long countByMap(final Map<String, Object> whereConditions) {
-    return this.buildCountSQL(null, whereConditions);
+    return this.countByMap(whereConditions, this.countMode());
+  }
+
+  default long countByMap(
+      final Map<String, Object> whereConditions, final MybatisCountMode mode) {
+    return MybatisCountCache.getInstance()
+        .count(
+            this.getClass(),
+            whereConditions,
+            mode,
+            () -> this.buildCountSQL(null, whereConditions),
+            () -> this.buildCountEstimateSQL(null));
   }
 
   default long countAll() {
-    return this.buildCountSQL(null, Collections.emptyMap());
+    return this.countAll(this.countMode());
+  }
+
+  default long countAll(final MybatisCountMode mode) {
+    return this.countByMap(Collections.emptyMap(), mode);
+  }
+
+  /** 리포지토리별 count 기본 방식. 재정의하지 않으면 MybatisRepositoryProperties 의 countMode */
+  default MybatisCountMode countMode() {
+    return MybatisRepositoryProperties.getInstance().getCountMode();
+  }
+
+  /** CACHED 모드의 count 캐시를 비운다. 변경 메서드는 직접 호출하므로 mapper 문을 따로 실행한 경우에만 필요하다 */
+  default void invalidateCountCache() {
+    MybatisCountCache.getInstance().invalidate(this.getClass());
+  }
+
+  // countByMap(…) > 0 대신 사용한다. SELECT 1 … LIMIT 1 이라 첫 행을 찾으면 멈춘다.
+  // 행이 없으면 결과가 null 이다.
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_EXISTS_BY_MAP)
+  Integer buildExistsSQL(ProviderContext context, final Map<String, Object> whereConditions);
+
+  default boolean existsByMap(final Map<String, Object> whereConditions) {
+    return this.buildExistsSQL(null, whereConditions) != null;
+  }
+
+  default boolean existsById(final Long id) {
+    return this.buildExistsSQL(null, Collections.singletonMap("id", id)) != null;
   }
 
   @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.INSERT)
@@ -372,16 +533,39 @@ public interface MybatisNoIdRepository<T> {
 
   default void insert(final T entity) {
     this.buildInsertSQL(entity);
+    this.invalidateCountCache();
   }
 
   @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.INSERT_BATCH)
-  void buildInsertBatchSQL(final List<T> entities);
+  int buildInsertBatchSQL(final List<T> entities);
+
+  /** insertBatchMaxRows / insertBatchMaxBytes 기준으로 나누어 INSERT 하고 전체 영향받은 행 수를 반환 */
+  default int insertBatch(final List<T> entities) {
+    return this.insertBatch(entities, this.insertBatchMode());
+  }
 
-  default void insertBatch(final List<T> entities) {
-    this.buildInsertBatchSQL(entities);
+  default int insertBatch(final List<T> entities, final MybatisInsertBatchMode mode) {
+    int affectedRows = 0;
+    if (mode == MybatisInsertBatchMode.JDBC_BATCH) {
+      affectedRows = MybatisBatchExecutor.getInstance().insertBatch(this, entities);
+    } else {
+      for (List<T> chunk : MybatisCommand.splitInsertBatch(entities)) {
+        affectedRows += this.buildInsertBatchSQL(chunk);
+      }
+    }
+    this.invalidateCountCache();
+    return affectedRows;
   }
 
-  @UpdateProvider(type = MybatisCommand.class, method = MybatisCommand.UPDATE_MAP_BY_MAP)
+  /** 리포지토리별 insertBatch 기본 방식. 재정의하지 않으면 MybatisRepositoryProperties 의 insertBatchMode */
+  default MybatisInsertBatchMode insertBatchMode() {
+    return MybatisRepositoryProperties.getInstance().getInsertBatchMode();
+  }
+
+  @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_INSERT)
+  int buildInsertBindSQL(ProviderContext context, final T entity);
+
+  @UpdateProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_UPDATE_MAP_BY_MAP)
   void buildUpdateSQL(
       ProviderContext context,
       final Map<String, Object> updateMap,
@@ -390,10 +574,12 @@ public interface MybatisNoIdRepository<T> {
   default void updateMapByMap(
       final Map<String, Object> updateMap, final Map<String, Object> whereConditions) {
     this.buildUpdateSQL(null, updateMap, whereConditions);
+    this.invalidateCountCache();
   }
 
   default void updateById(final T entity, final Long id) {
     this.buildUpdateSQL(null, MybatisCommand.toMap(entity), Collections.singletonMap("id", id));
+    this.invalidateCountCache();
   }
 
   default void updateByMap(final T entity, final Map<String, Object> whereConditions) {
@@ -401,20 +587,56 @@ public interface MybatisNoIdRepository<T> {
         null,
         MybatisCommand.toMap(entity),
         whereConditions == null ? Collections.emptyMap() : whereConditions);
+    this.invalidateCountCache();
   }
 
   default void updateMapById(final Map<String, Object> updateMap, final Long id) {
     this.buildUpdateSQL(null, updateMap, Collections.singletonMap("id", id));
+    this.invalidateCountCache();
   }
 
-  @DeleteProvider(type = MybatisCommand.class, method = MybatisCommand.DELETE_BY_MAP)
+  @DeleteProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_DELETE_BY_MAP)
   void buildDeleteSQL(ProviderContext context, final Map<String, Object> whereConditions);
 
   default void deleteByMap(final Map<String, Object> whereConditions) {
     this.buildDeleteSQL(null, whereConditions);
+    this.invalidateCountCache();
   }
 
   default void deleteById(final Long id) {
     this.buildDeleteSQL(null, Collections.singletonMap("id", id));
+    this.invalidateCountCache();
+  }
+
+  // 대량 삭제: DELETE 한 문장 대신 chunkSize 행씩 나누어 지워서 잠금 시간, undo log, 복제 지연을 줄인다.
+  // 문법은 dialect 를 따른다 (MySQL DELETE … LIMIT, H2 FETCH FIRST, PostgreSQL 키 subquery).
+  // chunk 마다 별도 문장이므로 트랜잭션 밖에서 호출해야 chunk 마다 커밋된다.
+  // 스레드가 인터럽트되면 다음 chunk 를 시작하지 않고 멈춘다. 반환값은 전체 지운 행 수.
+  @DeleteProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_DELETE_LIMIT_BY_MAP)
+  int buildDeleteLimitSQL(
+      ProviderContext context, final Map<String, Object> whereConditions, final int limit);
+
+  default long deleteByMapInChunks(
+      final Map<String, Object> whereConditions,
+      final int chunkSize,
+      final Duration pauseBetweenChunks) {
+    return this.deleteByMapInChunks(whereConditions, chunkSize, pauseBetweenChunks, null);
+  }
+
+  default long deleteByMapInChunks(
+      final Map<String, Object> whereConditions,
+      final int chunkSize,
+      final Duration pauseBetweenChunks,
+      final MybatisDeleteProgressListener listener) {
+    try {
+      return MybatisChunkedDelete.execute(
+          () -> this.buildDeleteLimitSQL(null, whereConditions, chunkSize),
+          chunkSize,
+          pauseBetweenChunks,
+          listener);
+    } finally {
+      // 중간에 실패하거나 인터럽트되어도 앞 chunk 들은 이미 지워졌다
+      this.invalidateCountCache();
+    }
   }
 }
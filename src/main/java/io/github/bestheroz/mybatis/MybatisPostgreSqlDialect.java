@@ -0,0 +1,128 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.util.List;
+import java.util.function.Consumer;
+import org.apache.ibatis.jdbc.SQL;
+
+/**
+ * PostgreSQL. 큰따옴표 식별자, standard_conforming_strings (기본값 on) 기준 작은따옴표만 이스케이프, strpos/starts_with
+ * 기반 문자열 조건.
+ *
+ * <p>인용한 식별자는 대소문자를 구분하므로 테이블/컬럼은 소문자 (snake_case) 로 만들어져 있어야 한다.
+ */
+public class MybatisPostgreSqlDialect implements MybatisDialect {
+  private static final MybatisPostgreSqlDialect INSTANCE = new MybatisPostgreSqlDialect();
+
+  public static MybatisPostgreSqlDialect getInstance() {
+    return INSTANCE;
+  }
+
+  @Override
+  public String getName() {
+    return "PostgreSQL";
+  }
+
+  @Override
+  public boolean supports(final String databaseProductName) {
+    return "PostgreSQL".equalsIgnoreCase(databaseProductName);
+  }
+
+  @Override
+  public void appendIdentifier(final StringBuilder sb, final String identifier) {
+    sb.append('"').append(identifier).append('"');
+  }
+
+  @Override
+  public String escapeCharacter(final char c) {
+    return c == '\'' ? "''" : null;
+  }
+
+  @Override
+  public void appendContains(
+      final StringBuilder sb, final String column, final ValueWriter value, final boolean negate) {
+    // strpos("column", 'value') > 0
+    sb.append("strpos(");
+    appendIdentifier(sb, column);
+    sb.append(", ");
+    value.appendTo(sb);
+    sb.append(negate ? ") = 0" : ") > 0");
+  }
+
+  @Override
+  public void appendStartsWith(
+      final StringBuilder sb, final String column, final ValueWriter value) {
+    // starts_with("column", 'value') (PostgreSQL 11+)
+    sb.append("starts_with(");
+    appendIdentifier(sb, column);
+    sb.append(", ");
+    value.appendTo(sb);
+    sb.append(')');
+  }
+
+  @Override
+  public void appendEndsWith(final StringBuilder sb, final String column, final ValueWriter value) {
+    // RIGHT("column", CHAR_LENGTH('value')) = 'value'
+    sb.append("RIGHT(");
+    appendIdentifier(sb, column);
+    sb.append(", CHAR_LENGTH(");
+    value.appendTo(sb);
+    sb.append(")) = ");
+    value.appendTo(sb);
+  }
+
+  /**
+   * DELETE 에 LIMIT 이 없으므로 지울 키를 먼저 고른다: DELETE FROM t WHERE "id" IN (SELECT "id" FROM t
+   * WHERE … LIMIT n). id 가 없는 테이블은 ctid 로 고른다.
+   */
+  @Override
+  public String buildDeleteLimit(
+      final String table, final String keyColumn, final Consumer<SQL> where, final String limit) {
+    String key = keyColumn == null ? "ctid" : keyColumn;
+    SQL select = new SQL().SELECT(key).FROM(table);
+    where.accept(select);
+    return "DELETE FROM " + table + "\nWHERE " + key + " IN (" + select + "\nLIMIT " + limit + ")";
+  }
+
+  /**
+   * INSERT … ON CONFLICT (key) DO UPDATE SET "col" = EXCLUDED."col". 한 문장 안에 같은 키가 두 번
+   * 나오면 PostgreSQL 이 오류를 낸다.
+   */
+  @Override
+  public void appendUpsert(
+      final StringBuilder sb,
+      final String table,
+      final String[] columns,
+      final List<String[]> rows,
+      final String[] keyColumns,
+      final String[] updateColumns) {
+    if (keyColumns.length == 0) {
+      throw new MybatisRepositoryException("upsert requires an id column on PostgreSQL");
+    }
+    appendInsertValues(sb, table, columns, rows);
+    sb.append("\nON CONFLICT (");
+    appendJoined(sb, keyColumns, "");
+    if (updateColumns.length == 0) {
+      sb.append(") DO NOTHING");
+      return;
+    }
+    sb.append(") DO UPDATE SET ");
+    for (int i = 0; i < updateColumns.length; i++) {
+      sb.append(i == 0 ? "" : ", ");
+      sb.append(updateColumns[i]).append(" = EXCLUDED.").append(updateColumns[i]);
+    }
+  }
+
+  /** ANALYZE / autovacuum 이 갱신한 reltuples. 한 번도 분석되지 않은 테이블 (-1) 은 행이 없어 정확한 COUNT 를 쓴다 */
+  @Override
+  public String buildEstimatedCount(final String tableNameLiteral) {
+    return "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass("
+        + tableNameLiteral
+        + ") AND reltuples >= 0";
+  }
+
+  @Override
+  public String toString() {
+    return getName();
+  }
+}
@@ -0,0 +1,74 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * MybatisRepository / MybatisNoIdRepository 의 조회 문을 실행하는 동안 {@link MybatisReadWriteRouting} 에 read
+ * 로 표시하는 Executor 인터셉터. 그 사이에 {@link MybatisRoutingDataSource} 가 커넥션을 열면 replica 로 간다. 다른 mapper
+ * 의 문과 변경 문은 그대로 실행한다.
+ */
+@Intercepts({
+  @Signature(
+      type = Executor.class,
+      method = "query",
+      args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+  @Signature(
+      type = Executor.class,
+      method = "queryCursor",
+      args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class MybatisReadRoutingInterceptor implements Interceptor {
+  // MappedStatement id → 리포지토리 mapper 의 조회 문인지
+  private final Map<String, Boolean> readStatements = new ConcurrentHashMap<>();
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    if (!MybatisReadWriteRouting.isEnabled()) {
+      return invocation.proceed();
+    }
+    MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+    if (!isRepositoryRead(ms)) {
+      return invocation.proceed();
+    }
+
+    long start = System.nanoTime();
+    boolean previous = MybatisReadWriteRouting.beginRead();
+    try {
+      return invocation.proceed();
+    } finally {
+      MybatisReadWriteRouting.endRead(previous, System.nanoTime() - start);
+    }
+  }
+
+  boolean isRepositoryRead(final MappedStatement ms) {
+    return ms.getSqlCommandType() == SqlCommandType.SELECT
+        && readStatements.computeIfAbsent(ms.getId(), MybatisReadRoutingInterceptor::isRepository);
+  }
+
+  private static boolean isRepository(final String statementId) {
+    int dot = statementId.lastIndexOf('.');
+    if (dot < 0) {
+      return false;
+    }
+    Class<?> mapperInterface;
+    try {
+      mapperInterface = Resources.classForName(statementId.substring(0, dot));
+    } catch (ClassNotFoundException e) {
+      // XML 전용 namespace 등
+      return false;
+    }
+    return MybatisRepository.class.isAssignableFrom(mapperInterface)
+        || MybatisNoIdRepository.class.isAssignableFrom(mapperInterface);
+  }
+}
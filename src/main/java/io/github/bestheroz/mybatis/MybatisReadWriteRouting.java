@@ -0,0 +1,112 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link MybatisRoutingDataSource} 가 커넥션을 어디서 열지 정하는 스레드별 상태.
+ *
+ * <p>{@link MybatisReadRoutingInterceptor} 가 리포지토리 조회 문을 실행하는 동안 read 로 표시하고, 그 사이에 열리는 커넥션만
+ * replica 로 간다. 방금 쓴 데이터를 다시 읽어야 하면 (read your writes) {@link #onPrimary} 로 한 번의 호출을, {@link
+ * #setPrimaryOnly} 로 스레드 전체를 primary 로 보낸다.
+ */
+public final class MybatisReadWriteRouting {
+  private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+  // MybatisRoutingDataSource 가 하나라도 만들어졌는지. 아니면 인터셉터는 아무것도 하지 않는다
+  private static volatile boolean enabled;
+
+  private MybatisReadWriteRouting() {}
+
+  /** action 안의 조회를 모두 primary 에서 실행한다 */
+  public static <T> T onPrimary(final Supplier<T> action) {
+    State state = state();
+    state.primaryDepth++;
+    try {
+      return action.get();
+    } finally {
+      state.primaryDepth--;
+      release(state);
+    }
+  }
+
+  /**
+   * 현재 스레드의 조회를 primary 로 보낼지. true 로 설정하면 false 로 되돌릴 때까지 유지되므로 요청 처리가 끝나면 (예: 필터의 finally)
+   * 되돌려야 한다.
+   */
+  public static void setPrimaryOnly(final boolean primaryOnly) {
+    State state = state();
+    state.primaryOnly = primaryOnly;
+    release(state);
+  }
+
+  public static boolean isPrimaryOnly() {
+    State state = STATE.get();
+    return state != null && state.primaryOnly;
+  }
+
+  static boolean isEnabled() {
+    return enabled;
+  }
+
+  static void enable() {
+    enabled = true;
+  }
+
+  /** 조회 문 실행 시작. 반환값은 endRead 에 넘긴다 */
+  static boolean beginRead() {
+    State state = state();
+    boolean previous = state.reading;
+    state.reading = true;
+    return previous;
+  }
+
+  /** 조회 문 실행 끝. 그 사이에 replica 커넥션을 열었으면 elapsedNanos 를 그 replica 의 지연 시간으로 기록한다 */
+  static void endRead(final boolean previous, final long elapsedNanos) {
+    State state = STATE.get();
+    if (state == null) {
+      return;
+    }
+    if (state.replica != null) {
+      state.replica.recordLatency(elapsedNanos);
+      state.replica = null;
+    }
+    state.reading = previous;
+    release(state);
+  }
+
+  /** 지금 열리는 커넥션이 replica 로 가도 되는지 */
+  static boolean isReadRequested() {
+    State state = STATE.get();
+    return state != null && state.reading && !state.primaryOnly && state.primaryDepth == 0;
+  }
+
+  static void replicaChosen(final MybatisRoutingDataSource.Replica replica) {
+    State state = STATE.get();
+    if (state != null) {
+      state.replica = replica;
+    }
+  }
+
+  private static State state() {
+    State state = STATE.get();
+    if (state == null) {
+      state = new State();
+      STATE.set(state);
+    }
+    return state;
+  }
+
+  // 스레드 풀에 값이 남지 않도록 비면 지운다
+  private static void release(final State state) {
+    if (!state.reading && !state.primaryOnly && state.primaryDepth == 0) {
+      STATE.remove();
+    }
+  }
+
+  private static final class State {
+    private boolean reading;
+    private boolean primaryOnly;
+    private int primaryDepth;
+    private MybatisRoutingDataSource.Replica replica;
+  }
+}
@@ -0,0 +1,31 @@
+package io.github.bestheroz.mybatis;
+
+import javax.sql.DataSource;
+
+/**
+ * 리포지토리 조회를 보낼 replica. 이 타입의 빈이 있으면 MybatisAutoConfiguration 이 "dataSource" 빈을 {@link
+ * MybatisRoutingDataSource} 로 감싼다. DataSource 빈이 아니므로 Spring Boot 의 DataSource 자동 설정과 주입에 끼어들지 않는다.
+ *
+ * <p>빈이 닫힐 때 감싼 DataSource 가 AutoCloseable (HikariDataSource 등) 이면 함께 닫는다.
+ */
+public final class MybatisReplicaDataSource implements AutoCloseable {
+  private final DataSource dataSource;
+
+  public MybatisReplicaDataSource(final DataSource dataSource) {
+    if (dataSource == null) {
+      throw new IllegalArgumentException("dataSource cannot be null");
+    }
+    this.dataSource = dataSource;
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (dataSource instanceof AutoCloseable) {
+      ((AutoCloseable) dataSource).close();
+    }
+  }
+}
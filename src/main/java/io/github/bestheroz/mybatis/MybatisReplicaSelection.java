@@ -0,0 +1,12 @@
+package io.github.bestheroz.mybatis;
+
+/** MybatisRoutingDataSource 가 조회 커넥션을 열 replica 를 고르는 방식 */
+public enum MybatisReplicaSelection {
+  /** replica 를 차례로 돌아가며 쓴다 */
+  ROUND_ROBIN,
+  /**
+   * 최근 조회 실행 시간의 지수 이동 평균이 가장 짧은 replica 를 쓴다. 아직 측정되지 않은 replica 를 먼저 쓰고, 커넥션을 열지 못한 replica 는
+   * 한동안 뒤로 밀린다.
+   */
+  LEAST_LATENCY
+}
@@ -1,11 +1,15 @@
 package io.github.bestheroz.mybatis;
 
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.time.Duration;
 import java.util.*;
 import org.apache.ibatis.annotations.*;
 import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 public interface MybatisRepository<T> {
-  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.SELECT_ITEMS)
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_ITEMS)
   List<T> buildSelectSQL(
       ProviderContext context,
       final Set<String> distinctColumns,
@@ -341,26 +345,204 @@ public interface MybatisRepository<T> {
         offset);
   }
 
-  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.SELECT_ITEM_BY_MAP)
+  // keyset(seek) 페이지네이션: OFFSET 대신 이전 페이지 마지막 행의 정렬 컬럼 값(lastKeys) 다음부터 조회한다.
+  // orderByConditions 는 유일한 순서가 되도록 마지막에 id 같은 유일 컬럼을 포함해야 한다.
+  // 정렬 컬럼은 NOT NULL 이어야 한다 (마지막 행이나 lastKeys 의 값이 null 이면 MybatisRepositoryException).
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_KEYSET)
+  List<T> buildSelectKeysetSQL(
+      ProviderContext context,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final List<?> lastKeys,
+      final Integer limit);
+
+  default MybatisKeysetPage<T> getItemsKeyset(
+      final List<String> orderByConditions, final List<?> lastKeys, final int size) {
+    return this.getItemsByMapKeyset(Collections.emptyMap(), orderByConditions, lastKeys, size);
+  }
+
+  default MybatisKeysetPage<T> getItemsByMapKeyset(
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final List<?> lastKeys,
+      final int size) {
+    if (size <= 0) {
+      throw new MybatisRepositoryException("size must be positive");
+    }
+    List<T> rows =
+        this.buildSelectKeysetSQL(
+            null,
+            whereConditions == null ? Collections.emptyMap() : whereConditions,
+            orderByConditions,
+            lastKeys,
+            size + 1);
+    return MybatisKeysetPage.of(rows, orderByConditions, size);
+  }
+
+  // Cursor 는 행을 하나씩 매핑해서 넘겨주므로 전체 결과를 메모리에 올리지 않는다.
+  // SqlSession 이 열려 있는 동안(Spring 에서는 @Transactional 안에서)만 읽을 수 있고, 다 읽은 뒤 close 해야 한다.
+  // MySQL 은 useCursorFetch=true 일 때 fetchSize 단위로 가져온다.
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_ITEMS)
+  @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+  Cursor<T> buildSelectCursorSQL(
+      ProviderContext context,
+      final Set<String> distinctColumns,
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions,
+      final Integer limit,
+      final Integer offset);
+
+  default Cursor<T> streamItems() {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        Collections.emptyMap(),
+        Collections.emptyList(),
+        null,
+        null);
+  }
+
+  default Cursor<T> streamItemsByMap(final Map<String, Object> whereConditions) {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        whereConditions == null ? Collections.emptyMap() : whereConditions,
+        Collections.emptyList(),
+        null,
+        null);
+  }
+
+  default Cursor<T> streamItemsByMapOrderBy(
+      final Map<String, Object> whereConditions, final List<String> orderByConditions) {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        whereConditions == null ? Collections.emptyMap() : whereConditions,
+        orderByConditions == null ? Collections.emptyList() : orderByConditions,
+        null,
+        null);
+  }
+
+  default Cursor<T> streamTargetItemsByMapOrderBy(
+      final Set<String> targetColumns,
+      final Map<String, Object> whereConditions,
+      final List<String> orderByConditions) {
+    return this.buildSelectCursorSQL(
+        null,
+        Collections.emptySet(),
+        targetColumns == null ? Collections.emptySet() : targetColumns,
+        whereConditions == null ? Collections.emptyMap() : whereConditions,
+        orderByConditions == null ? Collections.emptyList() : orderByConditions,
+        null,
+        null);
+  }
+
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_SELECT_ITEM_BY_MAP)
   Optional<T> buildSelectOneSQL(ProviderContext context, final Map<String, Object> whereConditions);
 
   default Optional<T> getItemByMap(final Map<String, Object> whereConditions) {
     return this.buildSelectOneSQL(null, whereConditions);
   }
 
+  /** 엔티티가 @MybatisCacheable 이거나 entityCacheClasses 에 있으면 MybatisEntityCache 를 거친다 */
   default Optional<T> getItemById(final Long id) {
-    return this.buildSelectOneSQL(null, Collections.singletonMap("id", id));
-  }
-
-  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.COUNT_BY_MAP)
+    return MybatisEntityCache.getInstance()
+        .get(
+            this.getClass(),
+            id,
+            () -> this.buildSelectOneSQL(null, Collections.singletonMap("id", id)));
+  }
+
+  /** ids 순서 (중복 제거) 로 찾은 엔티티. 없는 id 는 빠진다 */
+  default List<T> getItemsByIds(final Collection<Long> ids) {
+    return new ArrayList<>(this.getItemMapByIds(ids).values());
+  }
+
+  /** id → 엔티티. ids 순서를 유지하고 없는 id 는 빠진다 */
+  default Map<Long, T> getItemMapByIds(final Collection<Long> ids) {
+    if (ids == null || ids.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    return MybatisMultiGet.mapById(ids, this.getItemsByMapIn("id", ids, null));
+  }
+
+  /**
+   * field IN (values) 조회. values 의 null 과 중복을 빼고 maxInClauseSize 개씩 나누어 chunk 마다 otherConditions 와
+   * 함께 조회한 뒤 chunk 순서대로 합친다 (chunk 안의 행 순서는 DB 에 따름). multiGetParallelism 이 2 이상이고 이 mapper 가
+   * thread-safe (Spring 의 mapper 빈) 이면 chunk 를 동시에 조회하며, 이때 chunk 는 호출자의 트랜잭션 밖에서 실행된다.
+   */
+  default List<T> getItemsByMapIn(
+      final String field, final Collection<?> values, final Map<String, Object> otherConditions) {
+    return MybatisMultiGet.query(
+        values,
+        this,
+        chunk -> {
+          Map<String, Object> whereConditions =
+              otherConditions == null ? new HashMap<>() : new HashMap<>(otherConditions);
+          whereConditions.put(field + ":in", chunk);
+          return this.getItemsByMap(whereConditions);
+        });
+  }
+
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_COUNT_BY_MAP)
   long buildCountSQL(ProviderContext context, final Map<String, Object> whereConditions);
 
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.COUNT_ESTIMATE)
+  Long buildCountEstimateSQL(ProviderContext context);
+
   default long countByMap(final Map<String, Object> whereConditions) {
-    return this.buildCountSQL(null, whereConditions);
+    return this.countByMap(whereConditions, this.countMode());
+  }
+
+  default long countByMap(
+      final Map<String, Object> whereConditions, final MybatisCountMode mode) {
+    return MybatisCountCache.getInstance()
+        .count(
+            this.getClass(),
+            whereConditions,
+            mode,
+            () -> this.buildCountSQL(null, whereConditions),
+            () -> this.buildCountEstimateSQL(null));
   }
 
   default long countAll() {
-    return this.buildCountSQL(null, Collections.emptyMap());
+    return this.countAll(this.countMode());
+  }
+
+  default long countAll(final MybatisCountMode mode) {
+    return this.countByMap(Collections.emptyMap(), mode);
+  }
+
+  /** 리포지토리별 count 기본 방식. 재정의하지 않으면 MybatisRepositoryProperties 의 countMode */
+  default MybatisCountMode countMode() {
+    return MybatisRepositoryProperties.getInstance().getCountMode();
+  }
+
+  /** getItemById 캐시에서 이 리포지토리 엔티티의 항목을 모두 지운다. 변경 메서드는 직접 호출한다 */
+  default void evictEntityCache() {
+    MybatisEntityCache.getInstance().evictAll(this.getClass());
+  }
+
+  /** CACHED 모드의 count 캐시를 비운다. 변경 메서드는 직접 호출하므로 mapper 문을 따로 실행한 경우에만 필요하다 */
+  default void invalidateCountCache() {
+    MybatisCountCache.getInstance().invalidate(this.getClass());
+  }
+
+  // countByMap(…) > 0 대신 사용한다. SELECT 1 … LIMIT 1 이라 첫 행을 찾으면 멈춘다.
+  // 행이 없으면 결과가 null 이다.
+  @SelectProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_EXISTS_BY_MAP)
+  Integer buildExistsSQL(ProviderContext context, final Map<String, Object> whereConditions);
+
+  default boolean existsByMap(final Map<String, Object> whereConditions) {
+    return this.buildExistsSQL(null, whereConditions) != null;
+  }
+
+  default boolean existsById(final Long id) {
+    return this.buildExistsSQL(null, Collections.singletonMap("id", id)) != null;
   }
 
   @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.INSERT)
@@ -369,17 +551,78 @@ public interface MybatisRepository<T> {
 
   default void insert(final T entity) {
     this.buildInsertSQL(entity);
+    this.invalidateCountCache();
+    MybatisEntityCache.getInstance().evictMissing(this.getClass());
   }
 
   @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.INSERT_BATCH)
   @Options(useGeneratedKeys = true, keyProperty = "id")
-  void buildInsertBatchSQL(final List<T> entities);
+  int buildInsertBatchSQL(final List<T> entities);
+
+  /** insertBatchMaxRows / insertBatchMaxBytes 기준으로 나누어 INSERT 하고 전체 영향받은 행 수를 반환 */
+  default int insertBatch(final List<T> entities) {
+    return this.insertBatch(entities, this.insertBatchMode());
+  }
 
-  default void insertBatch(final List<T> entities) {
-    this.buildInsertBatchSQL(entities);
+  default int insertBatch(final List<T> entities, final MybatisInsertBatchMode mode) {
+    int affectedRows = 0;
+    if (mode == MybatisInsertBatchMode.JDBC_BATCH) {
+      affectedRows = MybatisBatchExecutor.getInstance().insertBatch(this, entities);
+    } else {
+      for (List<T> chunk : MybatisCommand.splitInsertBatch(entities)) {
+        affectedRows += this.buildInsertBatchSQL(chunk);
+      }
+    }
+    this.invalidateCountCache();
+    MybatisEntityCache.getInstance().evictMissing(this.getClass());
+    return affectedRows;
   }
 
-  @UpdateProvider(type = MybatisCommand.class, method = MybatisCommand.UPDATE_MAP_BY_MAP)
+  /** 리포지토리별 insertBatch 기본 방식. 재정의하지 않으면 MybatisRepositoryProperties 의 insertBatchMode */
+  default MybatisInsertBatchMode insertBatchMode() {
+    return MybatisRepositoryProperties.getInstance().getInsertBatchMode();
+  }
+
+  @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_INSERT)
+  @Options(useGeneratedKeys = true, keyProperty = "param2.id")
+  int buildInsertBindSQL(ProviderContext context, final T entity);
+
+  // upsert: 조회 후 insert/update 하는 대신 한 문장으로 넣거나 바꾼다.
+  // 문법은 dialect 를 따른다 (MySQL ON DUPLICATE KEY UPDATE, PostgreSQL ON CONFLICT, H2 MERGE).
+  // PostgreSQL/H2 는 id 컬럼으로 충돌을 판정한다. updateFields 가 비어 있으면 id 를 뺀 모든 필드를 바꾼다.
+  // 반환값은 드라이버가 알려준 영향받은 행 수 (MySQL 은 새 행 1, 바뀐 행 2).
+  @InsertProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_UPSERT)
+  int buildUpsertSQL(
+      ProviderContext context, final List<T> entities, final Set<String> updateFields);
+
+  default int upsert(final T entity) {
+    return this.upsert(entity, Collections.emptySet());
+  }
+
+  default int upsert(final T entity, final Set<String> updateFields) {
+    int affectedRows =
+        this.buildUpsertSQL(null, Collections.singletonList(entity), updateFields);
+    this.invalidateCountCache();
+    this.evictEntityCache();
+    return affectedRows;
+  }
+
+  /** insertBatch 와 같이 insertBatchMaxRows / insertBatchMaxBytes 기준으로 나누고 chunk 마다 upsert 문 하나 */
+  default int upsertBatch(final List<T> entities) {
+    return this.upsertBatch(entities, Collections.emptySet());
+  }
+
+  default int upsertBatch(final List<T> entities, final Set<String> updateFields) {
+    int affectedRows = 0;
+    for (List<T> chunk : MybatisCommand.splitInsertBatch(entities)) {
+      affectedRows += this.buildUpsertSQL(null, chunk, updateFields);
+    }
+    this.invalidateCountCache();
+    this.evictEntityCache();
+    return affectedRows;
+  }
+
+  @UpdateProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_UPDATE_MAP_BY_MAP)
   void buildUpdateSQL(
       ProviderContext context,
       final Map<String, Object> updateMap,
@@ -388,10 +631,14 @@ public interface MybatisRepository<T> {
   default void updateMapByMap(
       final Map<String, Object> updateMap, final Map<String, Object> whereConditions) {
     this.buildUpdateSQL(null, updateMap, whereConditions);
+    this.invalidateCountCache();
+    this.evictEntityCache();
   }
 
   default void updateById(final T entity, final Long id) {
     this.buildUpdateSQL(null, MybatisCommand.toMap(entity), Collections.singletonMap("id", id));
+    this.invalidateCountCache();
+    MybatisEntityCache.getInstance().evict(this.getClass(), id);
   }
 
   default void updateByMap(final T entity, final Map<String, Object> whereConditions) {
@@ -399,20 +646,111 @@ public interface MybatisRepository<T> {
         null,
         MybatisCommand.toMap(entity),
         whereConditions == null ? Collections.emptyMap() : whereConditions);
+    this.invalidateCountCache();
+    this.evictEntityCache();
   }
 
   default void updateMapById(final Map<String, Object> updateMap, final Long id) {
     this.buildUpdateSQL(null, updateMap, Collections.singletonMap("id", id));
+    this.invalidateCountCache();
+    MybatisEntityCache.getInstance().evict(this.getClass(), id);
+  }
+
+  // 여러 행 updateById: id 마다 UPDATE 를 보내는 대신 updateBatchMaxRows 개씩
+  // UPDATE t SET col = CASE id WHEN ? THEN ? ... ELSE col END WHERE id IN (...) 한 문장으로 보낸다.
+  // JDBC_BATCH 모드는 행마다 같은 bind UPDATE 를 ExecutorType.BATCH 로 실행한다.
+  // 반환값은 전체 영향받은 행 수.
+  @UpdateProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_UPDATE_MAPS_BY_ID)
+  int buildUpdateMapsByIdSQL(
+      ProviderContext context, final Map<Long, Map<String, Object>> updateMaps);
+
+  @UpdateProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_UPDATE_BIND)
+  int buildUpdateBindSQL(
+      ProviderContext context,
+      final Map<String, Object> updateMap,
+      final Map<String, Object> whereConditions);
+
+  /** 각 엔티티의 id 행을 그 엔티티의 null 이 아닌 필드로 바꾼다 */
+  default int updateAllById(final List<T> entities) {
+    return this.updateAllById(entities, this.updateBatchMode());
+  }
+
+  default int updateAllById(final List<T> entities, final MybatisUpdateBatchMode mode) {
+    return this.updateMapsById(MybatisCommand.toUpdateMapsById(entities), mode);
   }
 
-  @DeleteProvider(type = MybatisCommand.class, method = MybatisCommand.DELETE_BY_MAP)
+  /** id 별 updateMap 으로 여러 행을 바꾼다. 행마다 바꾸는 컬럼이 달라도 된다 */
+  default int updateMapsById(final Map<Long, Map<String, Object>> updateMaps) {
+    return this.updateMapsById(updateMaps, this.updateBatchMode());
+  }
+
+  default int updateMapsById(
+      final Map<Long, Map<String, Object>> updateMaps, final MybatisUpdateBatchMode mode) {
+    int affectedRows = 0;
+    if (mode == MybatisUpdateBatchMode.JDBC_BATCH) {
+      affectedRows = MybatisBatchExecutor.getInstance().updateBatch(this, updateMaps);
+    } else {
+      for (Map<Long, Map<String, Object>> chunk : MybatisCommand.splitUpdateBatch(updateMaps)) {
+        affectedRows += this.buildUpdateMapsByIdSQL(null, chunk);
+      }
+    }
+    this.invalidateCountCache();
+    for (Long id : updateMaps.keySet()) {
+      MybatisEntityCache.getInstance().evict(this.getClass(), id);
+    }
+    return affectedRows;
+  }
+
+  /** 리포지토리별 updateMapsById 기본 방식. 재정의하지 않으면 MybatisRepositoryProperties 의 updateBatchMode */
+  default MybatisUpdateBatchMode updateBatchMode() {
+    return MybatisRepositoryProperties.getInstance().getUpdateBatchMode();
+  }
+
+  @DeleteProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_DELETE_BY_MAP)
   void buildDeleteSQL(ProviderContext context, final Map<String, Object> whereConditions);
 
   default void deleteByMap(final Map<String, Object> whereConditions) {
     this.buildDeleteSQL(null, whereConditions);
+    this.invalidateCountCache();
+    this.evictEntityCache();
   }
 
   default void deleteById(final Long id) {
     this.buildDeleteSQL(null, Collections.singletonMap("id", id));
+    this.invalidateCountCache();
+    MybatisEntityCache.getInstance().evict(this.getClass(), id);
+  }
+
+  // 대량 삭제: DELETE 한 문장 대신 chunkSize 행씩 나누어 지워서 잠금 시간, undo log, 복제 지연을 줄인다.
+  // 문법은 dialect 를 따른다 (MySQL DELETE … LIMIT, H2 FETCH FIRST, PostgreSQL 키 subquery).
+  // chunk 마다 별도 문장이므로 트랜잭션 밖에서 호출해야 chunk 마다 커밋된다.
+  // 스레드가 인터럽트되면 다음 chunk 를 시작하지 않고 멈춘다. 반환값은 전체 지운 행 수.
+  @DeleteProvider(type = MybatisCommand.class, method = MybatisCommand.PROVIDE_DELETE_LIMIT_BY_MAP)
+  int buildDeleteLimitSQL(
+      ProviderContext context, final Map<String, Object> whereConditions, final int limit);
+
+  default long deleteByMapInChunks(
+      final Map<String, Object> whereConditions,
+      final int chunkSize,
+      final Duration pauseBetweenChunks) {
+    return this.deleteByMapInChunks(whereConditions, chunkSize, pauseBetweenChunks, null);
+  }
+
+  default long deleteByMapInChunks(
+      final Map<String, Object> whereConditions,
+      final int chunkSize,
+      final Duration pauseBetweenChunks,
+      final MybatisDeleteProgressListener listener) {
+    try {
+      return MybatisChunkedDelete.execute(
+          () -> this.buildDeleteLimitSQL(null, whereConditions, chunkSize),
+          chunkSize,
+          pauseBetweenChunks,
+          listener);
+    } finally {
+      // 중간에 실패하거나 인터럽트되어도 앞 chunk 들은 이미 지워졌다
+      this.invalidateCountCache();
+      this.evictEntityCache();
+    }
   }
 }
@@ -1,5 +1,9 @@
 package io.github.bestheroz.mybatis;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 /** MyBatis Repository의 설정 가능한 프로퍼티들 Spring Boot의 @ConfigurationProperties와 함께 사용할 수 있습니다. */
 public class MybatisRepositoryProperties {
 
@@ -7,11 +11,57 @@ public class MybatisRepositoryProperties {
   private static final int DEFAULT_MAX_IN_CLAUSE_SIZE = 1000;
   private static final int DEFAULT_MAX_STRING_VALUE_LENGTH = 4000;
   private static final int DEFAULT_MAX_IDENTIFIER_LENGTH = 256;
+  private static final boolean DEFAULT_BIND_PARAMETER_MODE = false;
+  private static final int DEFAULT_SQL_TEMPLATE_CACHE_SIZE = 1024;
+  private static final int DEFAULT_INSERT_BATCH_MAX_ROWS = 1000;
+  private static final int DEFAULT_INSERT_BATCH_MAX_BYTES = 1024 * 1024;
+  private static final MybatisInsertBatchMode DEFAULT_INSERT_BATCH_MODE =
+      MybatisInsertBatchMode.MULTI_ROW;
+  private static final int DEFAULT_INSERT_BATCH_FLUSH_SIZE = 1000;
+  private static final int DEFAULT_UPDATE_BATCH_MAX_ROWS = 500;
+  private static final MybatisUpdateBatchMode DEFAULT_UPDATE_BATCH_MODE =
+      MybatisUpdateBatchMode.CASE_WHEN;
+  private static final MybatisCountMode DEFAULT_COUNT_MODE = MybatisCountMode.EXACT;
+  private static final long DEFAULT_COUNT_CACHE_TTL_MILLIS = 30_000;
+  private static final int DEFAULT_COUNT_CACHE_MAX_ENTRIES = 1000;
+  private static final long DEFAULT_ENTITY_CACHE_TTL_MILLIS = 60_000;
+  private static final int DEFAULT_ENTITY_CACHE_MAX_SIZE = 10_000;
+  private static final int DEFAULT_MULTI_GET_PARALLELISM = 1;
+  private static final MybatisReplicaSelection DEFAULT_REPLICA_SELECTION =
+      MybatisReplicaSelection.ROUND_ROBIN;
+  private static final int DEFAULT_ASYNC_POOL_SIZE = 10;
+  private static final boolean DEFAULT_ASYNC_VIRTUAL_THREADS = true;
+  private static final double DEFAULT_SQL_LOG_SAMPLE_RATE = 1.0;
+  private static final int DEFAULT_SQL_LOG_MAX_LENGTH = 2000;
+  private static final long DEFAULT_SLOW_SQL_THRESHOLD_MILLIS = 0;
+  private static final MybatisDialect DEFAULT_DIALECT = MybatisMySqlDialect.getInstance();
 
   // 실제 설정값들
   private int maxInClauseSize = DEFAULT_MAX_IN_CLAUSE_SIZE;
   private int maxStringValueLength = DEFAULT_MAX_STRING_VALUE_LENGTH;
   private int maxIdentifierLength = DEFAULT_MAX_IDENTIFIER_LENGTH;
+  private boolean bindParameterMode = DEFAULT_BIND_PARAMETER_MODE;
+  private int sqlTemplateCacheSize = DEFAULT_SQL_TEMPLATE_CACHE_SIZE;
+  private int insertBatchMaxRows = DEFAULT_INSERT_BATCH_MAX_ROWS;
+  private int insertBatchMaxBytes = DEFAULT_INSERT_BATCH_MAX_BYTES;
+  private MybatisInsertBatchMode insertBatchMode = DEFAULT_INSERT_BATCH_MODE;
+  private int insertBatchFlushSize = DEFAULT_INSERT_BATCH_FLUSH_SIZE;
+  private int updateBatchMaxRows = DEFAULT_UPDATE_BATCH_MAX_ROWS;
+  private MybatisUpdateBatchMode updateBatchMode = DEFAULT_UPDATE_BATCH_MODE;
+  private MybatisCountMode countMode = DEFAULT_COUNT_MODE;
+  private long countCacheTtlMillis = DEFAULT_COUNT_CACHE_TTL_MILLIS;
+  private int countCacheMaxEntries = DEFAULT_COUNT_CACHE_MAX_ENTRIES;
+  private Set<Class<?>> entityCacheClasses = Collections.emptySet();
+  private long entityCacheTtlMillis = DEFAULT_ENTITY_CACHE_TTL_MILLIS;
+  private int entityCacheMaxSize = DEFAULT_ENTITY_CACHE_MAX_SIZE;
+  private int multiGetParallelism = DEFAULT_MULTI_GET_PARALLELISM;
+  private MybatisReplicaSelection replicaSelection = DEFAULT_REPLICA_SELECTION;
+  private int asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+  private boolean asyncVirtualThreads = DEFAULT_ASYNC_VIRTUAL_THREADS;
+  private double sqlLogSampleRate = DEFAULT_SQL_LOG_SAMPLE_RATE;
+  private int sqlLogMaxLength = DEFAULT_SQL_LOG_MAX_LENGTH;
+  private long slowSqlThresholdMillis = DEFAULT_SLOW_SQL_THRESHOLD_MILLIS;
+  private MybatisDialect dialect = DEFAULT_DIALECT;
 
   // 싱글톤 인스턴스 (Spring이 없는 환경에서 사용)
   private static final MybatisRepositoryProperties INSTANCE = new MybatisRepositoryProperties();
@@ -54,11 +104,300 @@ public class MybatisRepositoryProperties {
     this.maxIdentifierLength = maxIdentifierLength;
   }
 
+  /**
+   * true 이면 provider 가 값을 SQL 에 직접 넣지 않고 #{...} placeholder 로 바인딩한다. SQL 텍스트가 쿼리 형태에만 의존하게 되어
+   * DB/JDBC 드라이버의 prepared statement 캐시를 활용할 수 있다.
+   */
+  public boolean isBindParameterMode() {
+    return bindParameterMode;
+  }
+
+  public void setBindParameterMode(boolean bindParameterMode) {
+    this.bindParameterMode = bindParameterMode;
+  }
+
+  /** 쿼리 형태별 SQL 템플릿 캐시의 최대 개수 (0 이면 캐시하지 않음) */
+  public int getSqlTemplateCacheSize() {
+    return sqlTemplateCacheSize;
+  }
+
+  public void setSqlTemplateCacheSize(int sqlTemplateCacheSize) {
+    if (sqlTemplateCacheSize < 0) {
+      throw new IllegalArgumentException("sqlTemplateCacheSize must not be negative");
+    }
+    this.sqlTemplateCacheSize = sqlTemplateCacheSize;
+  }
+
+  /** insertBatch 한 번의 INSERT 문에 넣을 최대 행 수. 넘으면 여러 INSERT 문으로 나눈다 */
+  public int getInsertBatchMaxRows() {
+    return insertBatchMaxRows;
+  }
+
+  public void setInsertBatchMaxRows(int insertBatchMaxRows) {
+    if (insertBatchMaxRows <= 0) {
+      throw new IllegalArgumentException("insertBatchMaxRows must be positive");
+    }
+    this.insertBatchMaxRows = insertBatchMaxRows;
+  }
+
+  /**
+   * insertBatch 한 번의 INSERT 문의 추정 크기(byte) 상한. MySQL max_allowed_packet 보다 작게 설정한다. 한 행이 이 값을 넘으면 그
+   * 행만 단독 INSERT 문이 된다.
+   */
+  public int getInsertBatchMaxBytes() {
+    return insertBatchMaxBytes;
+  }
+
+  public void setInsertBatchMaxBytes(int insertBatchMaxBytes) {
+    if (insertBatchMaxBytes <= 0) {
+      throw new IllegalArgumentException("insertBatchMaxBytes must be positive");
+    }
+    this.insertBatchMaxBytes = insertBatchMaxBytes;
+  }
+
+  /** insertBatch 기본 실행 방식. 리포지토리별로는 insertBatchMode(), 호출별로는 insertBatch(entities, mode) 사용 */
+  public MybatisInsertBatchMode getInsertBatchMode() {
+    return insertBatchMode;
+  }
+
+  public void setInsertBatchMode(MybatisInsertBatchMode insertBatchMode) {
+    if (insertBatchMode == null) {
+      throw new IllegalArgumentException("insertBatchMode cannot be null");
+    }
+    this.insertBatchMode = insertBatchMode;
+  }
+
+  /** JDBC_BATCH 모드 (insertBatch, updateAllById/updateMapsById) 에서 flushStatements 를 호출하는 행 수 간격 */
+  public int getInsertBatchFlushSize() {
+    return insertBatchFlushSize;
+  }
+
+  public void setInsertBatchFlushSize(int insertBatchFlushSize) {
+    if (insertBatchFlushSize <= 0) {
+      throw new IllegalArgumentException("insertBatchFlushSize must be positive");
+    }
+    this.insertBatchFlushSize = insertBatchFlushSize;
+  }
+
+  /** updateAllById / updateMapsById 의 CASE_WHEN 모드에서 UPDATE 문 하나에 넣을 최대 id 수 */
+  public int getUpdateBatchMaxRows() {
+    return updateBatchMaxRows;
+  }
+
+  public void setUpdateBatchMaxRows(int updateBatchMaxRows) {
+    if (updateBatchMaxRows <= 0) {
+      throw new IllegalArgumentException("updateBatchMaxRows must be positive");
+    }
+    this.updateBatchMaxRows = updateBatchMaxRows;
+  }
+
+  /** updateAllById / updateMapsById 기본 실행 방식. 리포지토리별로는 updateBatchMode(), 호출별로는 mode 인자 사용 */
+  public MybatisUpdateBatchMode getUpdateBatchMode() {
+    return updateBatchMode;
+  }
+
+  public void setUpdateBatchMode(MybatisUpdateBatchMode updateBatchMode) {
+    if (updateBatchMode == null) {
+      throw new IllegalArgumentException("updateBatchMode cannot be null");
+    }
+    this.updateBatchMode = updateBatchMode;
+  }
+
+  /** countAll / countByMap 기본 방식. 리포지토리별로는 countMode(), 호출별로는 mode 인자 사용 */
+  public MybatisCountMode getCountMode() {
+    return countMode;
+  }
+
+  public void setCountMode(MybatisCountMode countMode) {
+    if (countMode == null) {
+      throw new IllegalArgumentException("countMode cannot be null");
+    }
+    this.countMode = countMode;
+  }
+
+  /** CACHED 모드에서 count 결과를 재사용하는 시간(ms) */
+  public long getCountCacheTtlMillis() {
+    return countCacheTtlMillis;
+  }
+
+  public void setCountCacheTtlMillis(long countCacheTtlMillis) {
+    if (countCacheTtlMillis <= 0) {
+      throw new IllegalArgumentException("countCacheTtlMillis must be positive");
+    }
+    this.countCacheTtlMillis = countCacheTtlMillis;
+  }
+
+  /** CACHED 모드에서 리포지토리마다 보관할 최대 조건(where) 수. 넘으면 그 리포지토리의 캐시를 비운다 */
+  public int getCountCacheMaxEntries() {
+    return countCacheMaxEntries;
+  }
+
+  public void setCountCacheMaxEntries(int countCacheMaxEntries) {
+    if (countCacheMaxEntries <= 0) {
+      throw new IllegalArgumentException("countCacheMaxEntries must be positive");
+    }
+    this.countCacheMaxEntries = countCacheMaxEntries;
+  }
+
+  /** @MybatisCacheable 없이 getItemById 캐시를 켤 엔티티 클래스 */
+  public Set<Class<?>> getEntityCacheClasses() {
+    return entityCacheClasses;
+  }
+
+  public void setEntityCacheClasses(Set<Class<?>> entityCacheClasses) {
+    if (entityCacheClasses == null) {
+      throw new IllegalArgumentException("entityCacheClasses cannot be null");
+    }
+    this.entityCacheClasses = Collections.unmodifiableSet(new HashSet<>(entityCacheClasses));
+  }
+
+  /** getItemById 캐시 항목을 유지하는 시간(ms). @MybatisCacheable#ttlMillis 가 우선한다 */
+  public long getEntityCacheTtlMillis() {
+    return entityCacheTtlMillis;
+  }
+
+  public void setEntityCacheTtlMillis(long entityCacheTtlMillis) {
+    if (entityCacheTtlMillis <= 0) {
+      throw new IllegalArgumentException("entityCacheTtlMillis must be positive");
+    }
+    this.entityCacheTtlMillis = entityCacheTtlMillis;
+  }
+
+  /** 엔티티마다 보관할 getItemById 캐시 최대 항목 수. @MybatisCacheable#maxSize 가 우선한다 */
+  public int getEntityCacheMaxSize() {
+    return entityCacheMaxSize;
+  }
+
+  public void setEntityCacheMaxSize(int entityCacheMaxSize) {
+    if (entityCacheMaxSize <= 0) {
+      throw new IllegalArgumentException("entityCacheMaxSize must be positive");
+    }
+    this.entityCacheMaxSize = entityCacheMaxSize;
+  }
+
+  /**
+   * getItemsByIds / getItemsByMapIn 에서 maxInClauseSize 로 나눈 chunk 를 동시에 조회할 스레드 수. 1 이면 호출 스레드에서
+   * 차례로 조회한다
+   */
+  public int getMultiGetParallelism() {
+    return multiGetParallelism;
+  }
+
+  public void setMultiGetParallelism(int multiGetParallelism) {
+    if (multiGetParallelism <= 0) {
+      throw new IllegalArgumentException("multiGetParallelism must be positive");
+    }
+    this.multiGetParallelism = multiGetParallelism;
+  }
+
+  /** MybatisRoutingDataSource 가 조회 커넥션을 열 replica 를 고르는 방식 */
+  public MybatisReplicaSelection getReplicaSelection() {
+    return replicaSelection;
+  }
+
+  public void setReplicaSelection(MybatisReplicaSelection replicaSelection) {
+    if (replicaSelection == null) {
+      throw new IllegalArgumentException("replicaSelection cannot be null");
+    }
+    this.replicaSelection = replicaSelection;
+  }
+
+  /** MybatisAsyncRepository 기본 executor 의 플랫폼 스레드 수. 커넥션 풀 크기에 맞춘다 (virtual thread 를 쓰면 무시) */
+  public int getAsyncPoolSize() {
+    return asyncPoolSize;
+  }
+
+  public void setAsyncPoolSize(int asyncPoolSize) {
+    if (asyncPoolSize <= 0) {
+      throw new IllegalArgumentException("asyncPoolSize must be positive");
+    }
+    this.asyncPoolSize = asyncPoolSize;
+  }
+
+  /** Java 21 이상에서 MybatisAsyncRepository 기본 executor 로 작업마다 virtual thread 를 쓸지 */
+  public boolean isAsyncVirtualThreads() {
+    return asyncVirtualThreads;
+  }
+
+  public void setAsyncVirtualThreads(boolean asyncVirtualThreads) {
+    this.asyncVirtualThreads = asyncVirtualThreads;
+  }
+
+  /** DEBUG SQL 로그를 남길 비율 (0.0 ~ 1.0). 1.0 이면 모두 기록 */
+  public double getSqlLogSampleRate() {
+    return sqlLogSampleRate;
+  }
+
+  public void setSqlLogSampleRate(double sqlLogSampleRate) {
+    if (sqlLogSampleRate < 0.0 || sqlLogSampleRate > 1.0) {
+      throw new IllegalArgumentException("sqlLogSampleRate must be between 0.0 and 1.0");
+    }
+    this.sqlLogSampleRate = sqlLogSampleRate;
+  }
+
+  /** DEBUG SQL 로그에 남길 최대 글자 수. 넘으면 잘라서 기록한다 */
+  public int getSqlLogMaxLength() {
+    return sqlLogMaxLength;
+  }
+
+  public void setSqlLogMaxLength(int sqlLogMaxLength) {
+    if (sqlLogMaxLength <= 0) {
+      throw new IllegalArgumentException("sqlLogMaxLength must be positive");
+    }
+    this.sqlLogMaxLength = sqlLogMaxLength;
+  }
+
+  /** 실행 시간이 이 값(ms) 이상인 리포지토리 문을 WARN 으로 기록한다. 0 이면 사용하지 않음 */
+  public long getSlowSqlThresholdMillis() {
+    return slowSqlThresholdMillis;
+  }
+
+  public void setSlowSqlThresholdMillis(long slowSqlThresholdMillis) {
+    if (slowSqlThresholdMillis < 0) {
+      throw new IllegalArgumentException("slowSqlThresholdMillis must not be negative");
+    }
+    this.slowSqlThresholdMillis = slowSqlThresholdMillis;
+  }
+
+  /** 생성할 SQL 의 DBMS 문법. Spring Boot 에서는 DataSource 메타데이터로 자동 선택된다 (기본 MySQL) */
+  public MybatisDialect getDialect() {
+    return dialect;
+  }
+
+  public void setDialect(MybatisDialect dialect) {
+    if (dialect == null) {
+      throw new IllegalArgumentException("dialect must not be null");
+    }
+    this.dialect = dialect;
+  }
+
   // 기본값 복원 메서드
   public void resetToDefaults() {
     this.maxInClauseSize = DEFAULT_MAX_IN_CLAUSE_SIZE;
     this.maxStringValueLength = DEFAULT_MAX_STRING_VALUE_LENGTH;
     this.maxIdentifierLength = DEFAULT_MAX_IDENTIFIER_LENGTH;
+    this.bindParameterMode = DEFAULT_BIND_PARAMETER_MODE;
+    this.sqlTemplateCacheSize = DEFAULT_SQL_TEMPLATE_CACHE_SIZE;
+    this.insertBatchMaxRows = DEFAULT_INSERT_BATCH_MAX_ROWS;
+    this.insertBatchMaxBytes = DEFAULT_INSERT_BATCH_MAX_BYTES;
+    this.insertBatchMode = DEFAULT_INSERT_BATCH_MODE;
+    this.insertBatchFlushSize = DEFAULT_INSERT_BATCH_FLUSH_SIZE;
+    this.updateBatchMaxRows = DEFAULT_UPDATE_BATCH_MAX_ROWS;
+    this.updateBatchMode = DEFAULT_UPDATE_BATCH_MODE;
+    this.countMode = DEFAULT_COUNT_MODE;
+    this.countCacheTtlMillis = DEFAULT_COUNT_CACHE_TTL_MILLIS;
+    this.countCacheMaxEntries = DEFAULT_COUNT_CACHE_MAX_ENTRIES;
+    this.entityCacheClasses = Collections.emptySet();
+    this.entityCacheTtlMillis = DEFAULT_ENTITY_CACHE_TTL_MILLIS;
+    this.entityCacheMaxSize = DEFAULT_ENTITY_CACHE_MAX_SIZE;
+    this.multiGetParallelism = DEFAULT_MULTI_GET_PARALLELISM;
+    this.replicaSelection = DEFAULT_REPLICA_SELECTION;
+    this.asyncPoolSize = DEFAULT_ASYNC_POOL_SIZE;
+    this.asyncVirtualThreads = DEFAULT_ASYNC_VIRTUAL_THREADS;
+    this.sqlLogSampleRate = DEFAULT_SQL_LOG_SAMPLE_RATE;
+    this.sqlLogMaxLength = DEFAULT_SQL_LOG_MAX_LENGTH;
+    this.slowSqlThresholdMillis = DEFAULT_SLOW_SQL_THRESHOLD_MILLIS;
+    this.dialect = DEFAULT_DIALECT;
   }
 
   @Override
@@ -70,6 +409,50 @@ public class MybatisRepositoryProperties {
         + maxStringValueLength
         + ", maxIdentifierLength="
         + maxIdentifierLength
+        + ", bindParameterMode="
+        + bindParameterMode
+        + ", sqlTemplateCacheSize="
+        + sqlTemplateCacheSize
+        + ", insertBatchMaxRows="
+        + insertBatchMaxRows
+        + ", insertBatchMaxBytes="
+        + insertBatchMaxBytes
+        + ", insertBatchMode="
+        + insertBatchMode
+        + ", insertBatchFlushSize="
+        + insertBatchFlushSize
+        + ", updateBatchMaxRows="
+        + updateBatchMaxRows
+        + ", updateBatchMode="
+        + updateBatchMode
+        + ", countMode="
+        + countMode
+        + ", countCacheTtlMillis="
+        + countCacheTtlMillis
+        + ", countCacheMaxEntries="
+        + countCacheMaxEntries
+        + ", entityCacheClasses="
+        + entityCacheClasses
+        + ", entityCacheTtlMillis="
+        + entityCacheTtlMillis
+        + ", entityCacheMaxSize="
+        + entityCacheMaxSize
+        + ", multiGetParallelism="
+        + multiGetParallelism
+        + ", replicaSelection="
+        + replicaSelection
+        + ", asyncPoolSize="
+        + asyncPoolSize
+        + ", asyncVirtualThreads="
+        + asyncVirtualThreads
+        + ", sqlLogSampleRate="
+        + sqlLogSampleRate
+        + ", sqlLogMaxLength="
+        + sqlLogMaxLength
+        + ", slowSqlThresholdMillis="
+        + slowSqlThresholdMillis
+        + ", dialect="
+        + dialect.getName()
         + '}';
   }
 }
@@ -0,0 +1,208 @@
+package io.github.bestheroz.mybatis;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 리포지토리 조회 문의 커넥션은 replica 에서, 나머지는 primary 에서 여는 DataSource.
+ *
+ * <p>{@link MybatisReadRoutingInterceptor} 가 조회 문 (buildSelectSQL, buildSelectOneSQL, buildCountSQL
+ * 등) 을 실행하는 동안 커넥션을 열 때만 replica 를 고른다 ({@link MybatisReplicaSelection}). 다음 경우는 primary 를 쓴다.
+ *
+ * <ul>
+ *   <li>변경 문, 다른 mapper 의 문, 커넥션을 문 실행 전에 여는 경우 (Spring 트랜잭션은 시작할 때 커넥션을 열어 묶어 두므로 트랜잭션 안의
+ *       조회도 primary)
+ *   <li>커넥션을 늦게 여는 경우 (LazyConnectionDataSourceProxy) 에도 readOnly 가 아닌 Spring 트랜잭션 안
+ *   <li>{@link MybatisReadWriteRouting#onPrimary} / {@link MybatisReadWriteRouting#setPrimaryOnly}
+ *   <li>replica 커넥션을 열지 못한 경우 (WARN 로그)
+ * </ul>
+ *
+ * <p>SqlSession 을 직접 열어 조회 뒤에 변경을 실행하면 처음 연 replica 커넥션을 그대로 쓰므로, 그런 세션은 onPrimary 로 감싼다.
+ *
+ * <p>close 는 primary 만 닫는다 (Spring 에서 감싼 "dataSource" 빈의 종료). replica 는 만든 쪽이 닫는다.
+ */
+public class MybatisRoutingDataSource implements DataSource, AutoCloseable {
+  private static final org.slf4j.Logger log =
+      LoggerFactory.getLogger(MybatisRoutingDataSource.class);
+  private static final boolean SPRING_TX_PRESENT =
+      isPresent("org.springframework.transaction.support.TransactionSynchronizationManager");
+
+  // 커넥션을 열지 못한 replica 에 기록하는 지연 시간
+  private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public MybatisRoutingDataSource(final DataSource primary, final List<DataSource> replicas) {
+    if (primary == null) {
+      throw new IllegalArgumentException("primary cannot be null");
+    }
+    List<Replica> list = new ArrayList<>();
+    if (replicas != null) {
+      for (DataSource replica : replicas) {
+        if (replica == null) {
+          throw new IllegalArgumentException("replicas cannot contain null");
+        }
+        list.add(new Replica(replica));
+      }
+    }
+    this.primary = primary;
+    this.replicas = Collections.unmodifiableList(list);
+    MybatisReadWriteRouting.enable();
+  }
+
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Replica replica = determineReplica();
+    if (replica != null) {
+      try {
+        Connection connection = replica.dataSource.getConnection();
+        MybatisReadWriteRouting.replicaChosen(replica);
+        return connection;
+      } catch (SQLException e) {
+        replica.recordLatency(FAILURE_PENALTY_NANOS);
+        log.warn("Cannot open replica connection, using primary: {}", e.getMessage());
+      }
+    }
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  /** 지금 커넥션을 열 replica. primary 를 써야 하면 null */
+  Replica determineReplica() {
+    if (replicas.isEmpty()
+        || !MybatisReadWriteRouting.isReadRequested()
+        || inReadWriteTransaction()) {
+      return null;
+    }
+    if (replicas.size() == 1) {
+      return replicas.get(0);
+    }
+    int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+    if (MybatisRepositoryProperties.getInstance().getReplicaSelection()
+        == MybatisReplicaSelection.ROUND_ROBIN) {
+      return replicas.get(start);
+    }
+    // 같은 지연 시간이면 돌아가며 고르도록 start 부터 찾는다
+    Replica fastest = null;
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get((start + i) % replicas.size());
+      if (fastest == null || replica.getLatencyNanos() < fastest.getLatencyNanos()) {
+        fastest = replica;
+      }
+    }
+    return fastest;
+  }
+
+  List<Replica> getReplicas() {
+    return replicas;
+  }
+
+  private static boolean inReadWriteTransaction() {
+    return SPRING_TX_PRESENT
+        && org.springframework.transaction.support.TransactionSynchronizationManager
+            .isActualTransactionActive()
+        && !org.springframework.transaction.support.TransactionSynchronizationManager
+            .isCurrentTransactionReadOnly();
+  }
+
+  private static boolean isPresent(final String className) {
+    try {
+      Class.forName(className, false, MybatisRoutingDataSource.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (primary instanceof AutoCloseable) {
+      ((AutoCloseable) primary).close();
+    }
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(final PrintWriter out) throws SQLException {
+    primary.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(final int seconds) throws SQLException {
+    primary.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return primary.getParentLogger();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return (T) this;
+    }
+    return primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || primary.isWrapperFor(iface);
+  }
+
+  /** replica 와 최근 조회 실행 시간의 지수 이동 평균 (0 이면 아직 측정 안 됨) */
+  static final class Replica {
+    private final DataSource dataSource;
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    private Replica(final DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    DataSource getDataSource() {
+      return dataSource;
+    }
+
+    long getLatencyNanos() {
+      return latencyNanos.get();
+    }
+
+    void recordLatency(final long elapsedNanos) {
+      long sample = Math.max(1, elapsedNanos);
+      latencyNanos.getAndUpdate(
+          average -> average == 0 ? sample : average + (sample - average) / 5);
+    }
+  }
+}
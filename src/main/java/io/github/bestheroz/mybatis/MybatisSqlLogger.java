@@ -0,0 +1,82 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 생성된 SQL 과 느린 문을 기록한다.
+ *
+ * <p>SQL 은 이 로거의 DEBUG 가 켜져 있을 때만 문자열로 만든다. sqlLogSampleRate 비율만 기록하고, sqlLogMaxLength 를 넘는 SQL
+ * 은 잘라서 그 부분만 한 줄로 바꾼다. 실행 시간이 slowSqlThresholdMillis 이상인 문은 DEBUG 여부와 관계없이 WARN 으로 남긴다
+ * (MybatisMetricsInterceptor).
+ */
+public class MybatisSqlLogger {
+  private static final Logger log = LoggerFactory.getLogger(MybatisSqlLogger.class);
+  private static final MybatisSqlLogger INSTANCE = new MybatisSqlLogger();
+
+  private final MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+
+  public static MybatisSqlLogger getInstance() {
+    return INSTANCE;
+  }
+
+  public boolean isEnabled() {
+    return log.isDebugEnabled();
+  }
+
+  /** DEBUG 가 꺼져 있거나 샘플링에서 빠지면 sql 을 건드리지 않고 돌아간다 */
+  public void logSql(final Class<?> entityClass, final String operation, final String sql) {
+    if (!log.isDebugEnabled() || !sampled()) {
+      return;
+    }
+    log.debug(
+        "entity={} operation={} length={} sql={}",
+        entityClass.getSimpleName(),
+        operation,
+        sql.length(),
+        abbreviate(sql, properties.getSqlLogMaxLength()));
+  }
+
+  /** 실행 시간이 slowSqlThresholdMillis 이상이면 WARN 으로 남긴다 (0 이면 사용하지 않음) */
+  public void logIfSlow(
+      final Class<?> entityClass,
+      final String operation,
+      final long elapsedNanos,
+      final long rowCount) {
+    long thresholdMillis = properties.getSlowSqlThresholdMillis();
+    if (thresholdMillis <= 0) {
+      return;
+    }
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    if (elapsedMillis >= thresholdMillis) {
+      log.warn(
+          "slow SQL: entity={} operation={} elapsedMs={} thresholdMs={} rows={}",
+          entityClass.getSimpleName(),
+          operation,
+          elapsedMillis,
+          thresholdMillis,
+          rowCount);
+    }
+  }
+
+  private boolean sampled() {
+    double rate = properties.getSqlLogSampleRate();
+    return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  /** 앞 maxLength 글자만 줄바꿈을 공백으로 바꿔 복사하고, 잘렸으면 전체 길이를 덧붙인다 */
+  static String abbreviate(final String sql, final int maxLength) {
+    int length = Math.min(sql.length(), maxLength);
+    StringBuilder sb = new StringBuilder(length + 32);
+    for (int i = 0; i < length; i++) {
+      char c = sql.charAt(i);
+      sb.append(c == '\n' ? ' ' : c);
+    }
+    if (length < sql.length()) {
+      sb.append("... (").append(sql.length()).append(" chars)");
+    }
+    return sb.toString();
+  }
+}
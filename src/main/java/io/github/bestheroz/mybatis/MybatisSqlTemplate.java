@@ -0,0 +1,188 @@
+package io.github.bestheroz.mybatis;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 쿼리 형태(shape)별로 한 번만 만들어 두는 SQL 템플릿.
+ *
+ * <p>SQL 텍스트는 값이 들어갈 자리(slot)를 기준으로 조각(fragment)으로 나뉘어 있고, 호출마다 각 slot 의 값만 리터럴 또는 #{...}
+ * placeholder 로 채운다.
+ */
+public class MybatisSqlTemplate {
+  private static final char MARKER = '\u0000';
+
+  /** slot 값의 출처 */
+  public enum Source {
+    WHERE,
+    UPDATE,
+    LIMIT,
+    OFFSET,
+    /** keyset 페이지네이션의 마지막 키. key 는 값 목록의 인덱스 */
+    KEYSET
+  }
+
+  private final String[] fragments;
+  private final Slot[] slots;
+  private final int length;
+
+  private MybatisSqlTemplate(final String[] fragments, final Slot[] slots) {
+    this.fragments = fragments;
+    this.slots = slots;
+    int sum = 0;
+    for (String fragment : fragments) {
+      sum += fragment.length();
+    }
+    this.length = sum;
+  }
+
+  /**
+   * slot 에 값을 채워 SQL 을 만든다.
+   *
+   * @param bindings bind-parameter 모드의 파라미터 등록 대상 (null 이면 리터럴 모드)
+   */
+  public String render(
+      final MybatisClauseBuilder clauseBuilder,
+      final MybatisBindings bindings,
+      final Map<String, Object> whereConditions,
+      final Map<String, Object> updateMap,
+      final Integer limit,
+      final Integer offset) {
+    return render(clauseBuilder, bindings, whereConditions, updateMap, limit, offset, null);
+  }
+
+  /**
+   * slot 에 값을 채워 SQL 을 만든다.
+   *
+   * @param keysetValues keyset 페이지네이션의 마지막 키 값 (KEYSET slot 이 없으면 null)
+   */
+  public String render(
+      final MybatisClauseBuilder clauseBuilder,
+      final MybatisBindings bindings,
+      final Map<String, Object> whereConditions,
+      final Map<String, Object> updateMap,
+      final Integer limit,
+      final Integer offset,
+      final List<?> keysetValues) {
+    StringBuilder sb = new StringBuilder(length + slots.length * 16);
+    for (int i = 0; i < slots.length; i++) {
+      sb.append(fragments[i]);
+      Slot slot = slots[i];
+      Object value;
+      switch (slot.source) {
+        case WHERE:
+          value = whereConditions.get(slot.key);
+          break;
+        case UPDATE:
+          value = updateMap.get(slot.key);
+          break;
+        case LIMIT:
+          value = limit;
+          break;
+        case KEYSET:
+          value = keysetValues.get(slot.keysetIndex);
+          break;
+        default:
+          value = offset;
+          break;
+      }
+      if (slot.expand) {
+        clauseBuilder.appendInValues(sb, slot.dbColumnName, value, slot.isNotIn, bindings);
+      } else {
+        clauseBuilder.appendValue(sb, value, bindings);
+      }
+    }
+    sb.append(fragments[slots.length]);
+    return sb.toString();
+  }
+
+  public int getSlotCount() {
+    return slots.length;
+  }
+
+  private static final class Slot {
+    private final Source source;
+    private final String key;
+    private final boolean expand;
+    private final String dbColumnName;
+    private final boolean isNotIn;
+    private final int keysetIndex;
+
+    private Slot(Source source, String key, boolean expand, String dbColumnName, boolean isNotIn) {
+      this.source = source;
+      this.key = key;
+      this.keysetIndex = source == Source.KEYSET ? Integer.parseInt(key) : -1;
+      this.expand = expand;
+      this.dbColumnName = dbColumnName;
+      this.isNotIn = isNotIn;
+    }
+  }
+
+  /**
+   * 템플릿 컴파일용 MybatisBindings. 값을 바인딩하는 대신 slot 을 기록하고 SQL 에는 marker 를 남긴다.
+   *
+   * <p>컴파일이 끝나면 toTemplate 으로 marker 위치에서 SQL 을 잘라 템플릿을 만든다.
+   */
+  static final class Recorder extends MybatisBindings {
+    private final List<Slot> slots = new ArrayList<>();
+    private Source source;
+    private String key;
+
+    Recorder() {
+      super(null);
+    }
+
+    @Override
+    public void source(final Source source, final String key) {
+      this.source = source;
+      this.key = key;
+    }
+
+    @Override
+    public String bind(final Object value) {
+      return record(new Slot(source, key, false, null, false));
+    }
+
+    @Override
+    public String bindAll(
+        final String dbColumnName,
+        final boolean isNotIn,
+        final Collection<?> values,
+        final MybatisClauseBuilder clauseBuilder) {
+      return record(new Slot(source, key, true, dbColumnName, isNotIn));
+    }
+
+    private String record(final Slot slot) {
+      if (slot.source == null) {
+        throw new MybatisRepositoryException("template slot source is not specified");
+      }
+      slots.add(slot);
+      return MARKER + String.valueOf(slots.size() - 1) + MARKER;
+    }
+
+    MybatisSqlTemplate toTemplate(final String sql) {
+      String[] fragments = new String[slots.size() + 1];
+      Slot[] ordered = new Slot[slots.size()];
+      int count = 0;
+      int start = 0;
+      int open = sql.indexOf(MARKER);
+      while (open != -1) {
+        int close = sql.indexOf(MARKER, open + 1);
+        fragments[count] = sql.substring(start, open);
+        ordered[count] = slots.get(Integer.parseInt(sql.substring(open + 1, close)));
+        count++;
+        start = close + 1;
+        open = sql.indexOf(MARKER, start);
+      }
+      if (count != slots.size()) {
+        throw new MybatisRepositoryException(
+            "template slot mismatch: recorded " + slots.size() + ", rendered " + count);
+      }
+      fragments[count] = sql.substring(start);
+      return new MybatisSqlTemplate(fragments, ordered);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package io.github.bestheroz.mybatis;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 쿼리 형태(entity class + operation + 조건 키 + 컬럼 집합 + 정렬 목록 + limit/offset 유무)를 키로 {@link
+ * MybatisSqlTemplate} 을 보관하는 bounded 캐시.
+ *
+ * <p>최대 크기는 {@link MybatisRepositoryProperties#getSqlTemplateCacheSize()} 를 따르며 0 이면 캐시하지 않는다.
+ * dialect 가 바뀌면 저장된 템플릿을 모두 버린다.
+ */
+public class MybatisSqlTemplateCache {
+  private static final MybatisSqlTemplateCache INSTANCE =
+      new MybatisSqlTemplateCache(MybatisRepositoryProperties.getInstance());
+
+  private final Map<Shape, MybatisSqlTemplate> templates = new ConcurrentHashMap<>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private final MybatisRepositoryProperties properties;
+  // 템플릿을 만든 dialect. 바뀌면 (예: 자동 선택) 이전 문법으로 만든 템플릿을 버린다
+  private volatile MybatisDialect dialect;
+
+  public MybatisSqlTemplateCache(MybatisRepositoryProperties properties) {
+    this.properties = properties;
+  }
+
+  public static MybatisSqlTemplateCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * shape 에 해당하는 템플릿을 반환하고, 없으면 compiler 로 만들어 저장한다.
+   *
+   * @param parts shape 를 구성하는 값들. Collection 은 저장 시 복사된다.
+   */
+  public MybatisSqlTemplate getOrCompile(
+      final Supplier<MybatisSqlTemplate> compiler, final Object... parts) {
+    int maxSize = properties.getSqlTemplateCacheSize();
+    if (maxSize == 0) {
+      missCount.increment();
+      return compiler.get();
+    }
+
+    MybatisDialect current = properties.getDialect();
+    if (current != dialect) {
+      templates.clear();
+      dialect = current;
+    }
+
+    Shape shape = new Shape(parts);
+    MybatisSqlTemplate template = templates.get(shape);
+    if (template != null) {
+      hitCount.increment();
+      return template;
+    }
+
+    missCount.increment();
+    template = compiler.get();
+    if (templates.size() >= maxSize) {
+      evictOne();
+    }
+    templates.put(shape.copy(), template);
+    return template;
+  }
+
+  private void evictOne() {
+    Iterator<Shape> iterator = templates.keySet().iterator();
+    if (iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      evictionCount.increment();
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  public int size() {
+    return templates.size();
+  }
+
+  public void clear() {
+    templates.clear();
+    hitCount.reset();
+    missCount.reset();
+    evictionCount.reset();
+  }
+
+  @Override
+  public String toString() {
+    return "MybatisSqlTemplateCache{"
+        + "size="
+        + templates.size()
+        + ", hitCount="
+        + hitCount.sum()
+        + ", missCount="
+        + missCount.sum()
+        + ", evictionCount="
+        + evictionCount.sum()
+        + '}';
+  }
+
+  /** 캐시 키. 조회 시에는 호출자의 Collection 을 그대로 쓰고, 저장할 때만 복사본을 만든다. */
+  private static final class Shape {
+    private final Object[] parts;
+    private final int hash;
+
+    private Shape(Object[] parts) {
+      this.parts = parts;
+      this.hash = Arrays.hashCode(parts);
+    }
+
+    private Shape copy() {
+      Object[] copied = new Object[parts.length];
+      for (int i = 0; i < parts.length; i++) {
+        Object part = parts[i];
+        if (part instanceof Set) {
+          copied[i] = Collections.unmodifiableSet(new HashSet<>((Set<?>) part));
+        } else if (part instanceof List) {
+          copied[i] = Collections.unmodifiableList(new ArrayList<>((List<?>) part));
+        } else {
+          copied[i] = part;
+        }
+      }
+      return new Shape(copied);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o || (o instanceof Shape && Arrays.equals(parts, ((Shape) o).parts));
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
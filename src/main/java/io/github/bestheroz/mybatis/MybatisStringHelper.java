@@ -20,17 +20,33 @@ public class MybatisStringHelper {
     if (src == null) {
       return null;
     }
-    // SQL injection 방지를 위한 추가 이스케이프
-    return src.replace("'", "''")
-        .replace("\\", "\\\\")
-        .replace("\0", "\\0")
-        .replace("\n", "\\n")
-        .replace("\r", "\\r")
-        .replace("\t", "\\t")
-        .replace("\b", "\\b")
-        .replace("\f", "\\f")
-        .replace("\"", "\\\"")
-        .replace("\u001A", "\\Z");
+    MybatisDialect dialect = getDialect();
+    for (int i = 0; i < src.length(); i++) {
+      if (dialect.escapeCharacter(src.charAt(i)) != null) {
+        StringBuilder sb = new StringBuilder(src.length() + 16);
+        appendEscaped(sb, src);
+        return sb.toString();
+      }
+    }
+    return src;
+  }
+
+  /** escapeSingleQuote 와 같은 규칙으로 이스케이프하면서 sb 에 바로 붙인다 (한 번 순회). 규칙은 dialect 를 따른다 */
+  protected void appendEscaped(StringBuilder sb, String src) {
+    MybatisDialect dialect = getDialect();
+    for (int i = 0; i < src.length(); i++) {
+      char c = src.charAt(i);
+      String escaped = dialect.escapeCharacter(c);
+      if (escaped == null) {
+        sb.append(c);
+      } else {
+        sb.append(escaped);
+      }
+    }
+  }
+
+  protected MybatisDialect getDialect() {
+    return MybatisRepositoryProperties.getInstance().getDialect();
   }
 
   protected String substringBetween(String str, String open, String close) {
@@ -76,7 +92,8 @@ public class MybatisStringHelper {
       return false;
     }
     int countDash = 0, countColon = 0, countT = 0, countPlus = 0;
-    for (char c : value.toCharArray()) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
       if (c == '-') countDash++;
       if (c == ':') countColon++;
       if (c == 'T') countT++;
@@ -129,8 +146,8 @@ public class MybatisStringHelper {
     if (!isValidIdentifier(identifier)) {
       throw new IllegalArgumentException("Invalid identifier: " + identifier);
     }
-    // DBMS마다 다를 수 있으나, 예시로 백틱(`)을 사용
-    return "`" + identifier + "`";
+    // DBMS 별 인용 문자 (MySQL 백틱, PostgreSQL/H2 큰따옴표)
+    return getDialect().quoteIdentifier(identifier);
   }
 
   // 확장된 SQL 키워드 목록 (고정 비용 절약을 위해 static)
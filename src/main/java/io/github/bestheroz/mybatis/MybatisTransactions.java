@@ -0,0 +1,45 @@
+package io.github.bestheroz.mybatis;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * count / 엔티티 캐시가 Spring 트랜잭션을 따르도록 하는 도우미. spring-tx 가 없으면 트랜잭션이 없는 것으로 본다.
+ *
+ * <p>커밋 전의 조회 결과는 다른 스레드가 볼 수 없고 롤백되면 없던 값이 되므로 캐시하지 않는다. 캐시 무효화는 바로 한 번, 트랜잭션이 끝난 뒤
+ * (afterCompletion) 한 번 더 실행해서, 커밋 전에 다른 스레드가 이전 값을 다시 캐시한 경우도 지운다.
+ */
+final class MybatisTransactions {
+  private static final boolean SPRING_TX_PRESENT =
+      isPresent("org.springframework.transaction.support.TransactionSynchronizationManager");
+
+  private MybatisTransactions() {}
+
+  /** 현재 스레드가 실제 트랜잭션 (커넥션을 잡은 트랜잭션) 안에 있는지 */
+  static boolean isActualTransactionActive() {
+    return SPRING_TX_PRESENT && TransactionSynchronizationManager.isActualTransactionActive();
+  }
+
+  /** invalidation 을 바로 실행하고, 트랜잭션 동기화 중이면 트랜잭션이 끝난 뒤 (커밋 / 롤백 모두) 다시 실행한다 */
+  static void runNowAndAfterCompletion(final Runnable invalidation) {
+    invalidation.run();
+    if (SPRING_TX_PRESENT && TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+              invalidation.run();
+            }
+          });
+    }
+  }
+
+  private static boolean isPresent(final String className) {
+    try {
+      Class.forName(className, false, MybatisTransactions.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package io.github.bestheroz.mybatis;
+
+/** updateAllById / updateMapsById 실행 방식 */
+public enum MybatisUpdateBatchMode {
+  /**
+   * UPDATE … SET col = CASE id WHEN … THEN … ELSE col END … WHERE id IN (…) 형태의 UPDATE 문 하나.
+   * updateBatchMaxRows 개의 id 단위로 분할
+   */
+  CASE_WHEN,
+  /**
+   * id 마다 파라미터 바인딩된 UPDATE 를 ExecutorType.BATCH SqlSession 으로 실행하고 insertBatchFlushSize 행마다 flush.
+   * MybatisBatchExecutor 에 SqlSessionFactory 가 등록되어 있어야 한다.
+   */
+  JDBC_BATCH
+}
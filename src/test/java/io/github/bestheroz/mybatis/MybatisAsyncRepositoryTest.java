@@ -0,0 +1,229 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisAsyncRepositoryTest {
+  private final List<String> calls = new CopyOnWriteArrayList<>();
+  private final MybatisRepository<Member> repository = threadSafeProxy(MemberRepository.class);
+
+  @Table(name = "members")
+  static class Member {
+    @Column private Long id;
+  }
+
+  interface MemberRepository extends MybatisRepository<Member> {}
+
+  @SuppressWarnings("unchecked")
+  private static <P> P proxy(final Class<P> type) {
+    return (P)
+        Proxy.newProxyInstance(
+            type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> null);
+  }
+
+  // Spring 의 mapper 빈처럼 thread-safe 세션 (SqlSessionManager) 을 sqlSession 필드에 가진 mapper 프록시
+  @SuppressWarnings("unchecked")
+  private <P> P threadSafeProxy(final Class<P> type) {
+    SqlSessionManager sqlSession = SqlSessionManager.newInstance(proxy(SqlSessionFactory.class));
+    return (P)
+        Proxy.newProxyInstance(
+            type.getClassLoader(), new Class<?>[] {type}, new SessionHandler(sqlSession, calls));
+  }
+
+  @AfterEach
+  void tearDown() {
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("독립적인 작업은 executor 에서 동시에 실행되어야 한다")
+  void supply_ShouldOverlapIndependentCalls() throws Exception {
+    // given
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    MybatisAsyncRepository<Member> async = MybatisAsyncRepository.of(repository, executor);
+    CountDownLatch bothStarted = new CountDownLatch(2);
+
+    // when
+    CompletableFuture<Boolean> first =
+        async.supply(
+            repo -> {
+              bothStarted.countDown();
+              return await(bothStarted);
+            });
+    CompletableFuture<Boolean> second =
+        async.supply(
+            repo -> {
+              bothStarted.countDown();
+              return await(bothStarted);
+            });
+
+    // then
+    assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+  }
+
+  @Test
+  @DisplayName("SqlSessionFactory 로 만들면 작업마다 세션을 열고 닫아야 한다")
+  void of_ShouldOpenSessionPerTask() throws Exception {
+    // given
+    AtomicInteger opened = new AtomicInteger();
+    AtomicInteger closed = new AtomicInteger();
+    SqlSession session =
+        (SqlSession)
+            Proxy.newProxyInstance(
+                SqlSession.class.getClassLoader(),
+                new Class<?>[] {SqlSession.class},
+                (proxy, method, args) -> {
+                  if ("close".equals(method.getName())) {
+                    closed.incrementAndGet();
+                  }
+                  return "getMapper".equals(method.getName()) ? repository : null;
+                });
+    SqlSessionFactory factory =
+        (SqlSessionFactory)
+            Proxy.newProxyInstance(
+                SqlSessionFactory.class.getClassLoader(),
+                new Class<?>[] {SqlSessionFactory.class},
+                (proxy, method, args) -> {
+                  opened.incrementAndGet();
+                  return session;
+                });
+    MybatisAsyncRepository<Member> async =
+        MybatisAsyncRepository.of(factory, MemberRepository.class);
+
+    // when
+    async.run(repo -> {}).get(5, TimeUnit.SECONDS);
+    Object mapper = async.supply(repo -> repo).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(opened.get()).isEqualTo(2);
+    assertThat(closed.get()).isEqualTo(2);
+    assertThat(mapper).isSameAs(repository);
+  }
+
+  @Test
+  @DisplayName("virtual thread 를 쓰지 않으면 기본 executor 는 asyncPoolSize 스레드 풀이어야 한다")
+  void defaultExecutor_ShouldUsePlatformThreadPool() throws Exception {
+    // given
+    MybatisRepositoryProperties.getInstance().setAsyncVirtualThreads(false);
+    MybatisRepositoryProperties.getInstance().setAsyncPoolSize(2);
+    MybatisAsyncRepository<Member> async = MybatisAsyncRepository.of(repository);
+
+    // when
+    String threadName =
+        async.supply(repo -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(threadName).startsWith("mybatis-async-");
+  }
+
+  @Test
+  @DisplayName("세션 하나에 묶인 mapper 는 of(repository) 로 감쌀 수 없어야 한다")
+  void of_ShouldRejectSessionBoundMapper() {
+    assertThatIllegalArgumentException()
+        .isThrownBy(() -> MybatisAsyncRepository.of(proxy(MemberRepository.class)));
+  }
+
+  @Test
+  @DisplayName("조회 변형과 변경 메서드는 같은 이름의 리포지토리 메서드를 실행해야 한다")
+  void wrappers_ShouldDelegateToRepository() throws Exception {
+    // given
+    MybatisAsyncRepository<Member> async = MybatisAsyncRepository.of(repository, Runnable::run);
+    Map<String, Object> where = Collections.singletonMap("id", 1L);
+
+    // when
+    async.getItemsByMapOrderBy(where, Collections.singletonList("id")).get(5, TimeUnit.SECONDS);
+    async.getDistinctAndTargetItemsByMapOrderByLimitOffset(
+            Collections.singleton("id"), Collections.singleton("id"), where, null, 10, 0)
+        .get(5, TimeUnit.SECONDS);
+    async.updateByMap(new Member(), where).get(5, TimeUnit.SECONDS);
+    async.upsertBatch(Collections.singletonList(new Member())).get(5, TimeUnit.SECONDS);
+    async.updateMapsById(Collections.singletonMap(1L, where)).get(5, TimeUnit.SECONDS);
+    async.deleteByMapInChunks(where, 100, Duration.ZERO).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertThat(calls)
+        .containsExactly(
+            "getItemsByMapOrderBy",
+            "getDistinctAndTargetItemsByMapOrderByLimitOffset",
+            "updateByMap",
+            "upsertBatch",
+            "updateMapsById",
+            "deleteByMapInChunks");
+  }
+
+  @Test
+  @DisplayName("설정이 바뀌어도 이미 받아 간 기본 executor 는 release 전까지 shutdown 되지 않아야 한다")
+  void acquire_ShouldKeepHandedOutExecutorUntilReleased() throws Exception {
+    // given
+    MybatisRepositoryProperties.getInstance().setAsyncVirtualThreads(false);
+    MybatisRepositoryProperties.getInstance().setAsyncPoolSize(2);
+    MybatisAsyncExecutor.Pool inFlight = MybatisAsyncExecutor.acquire();
+
+    // when
+    MybatisRepositoryProperties.getInstance().setAsyncPoolSize(3);
+    MybatisAsyncExecutor.Pool next = MybatisAsyncExecutor.acquire();
+    String stillRunning = inFlight.executor.submit(() -> "ok").get(5, TimeUnit.SECONDS);
+    MybatisAsyncExecutor.release(inFlight);
+    MybatisAsyncExecutor.release(next);
+
+    // then
+    assertThat(next).isNotSameAs(inFlight);
+    assertThat(stillRunning).isEqualTo("ok");
+    assertThat(inFlight.executor.isShutdown()).isTrue();
+    assertThat(next.executor.isShutdown()).isFalse();
+  }
+
+  // MyBatis 의 MapperProxy 처럼 sqlSession 필드를 가진 handler. 호출한 메서드 이름을 기록한다
+  private static final class SessionHandler implements InvocationHandler {
+    private final Object sqlSession;
+    private final List<String> calls;
+
+    private SessionHandler(final Object sqlSession, final List<String> calls) {
+      this.sqlSession = sqlSession;
+      this.calls = calls;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+      calls.add(method.getName());
+      if (method.getReturnType() == long.class) {
+        return 0L;
+      }
+      return method.getReturnType() == int.class ? 0 : null;
+    }
+  }
+
+  private static boolean await(final CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisBatchExecutorTest {
+  private final List<String> calls = new ArrayList<>();
+  private final List<Map<?, ?>> updateParams = new ArrayList<>();
+  private final MybatisBatchExecutor executor = new MybatisBatchExecutor();
+  private int pending;
+
+  @Table(name = "items")
+  static class Item {
+    @Column private Long id;
+    @Column private String name;
+
+    Item(Long id) {
+      this.id = id;
+    }
+  }
+
+  interface ItemRepository extends MybatisRepository<Item> {}
+
+  @BeforeEach
+  void setUp() {
+    SqlSession session =
+        (SqlSession)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] {SqlSession.class},
+                (proxy, method, args) -> {
+                  calls.add(method.getName());
+                  switch (method.getName()) {
+                    case "insert":
+                      assertThat(args[0])
+                          .isEqualTo(ItemRepository.class.getName() + ".buildInsertBindSQL");
+                      assertThat(((Map<?, ?>) args[1]).get("param2")).isInstanceOf(Item.class);
+                      pending++;
+                      return 1;
+                    case "update":
+                      assertThat(args[0])
+                          .isEqualTo(ItemRepository.class.getName() + ".buildUpdateBindSQL");
+                      assertThat(((Map<?, ?>) args[1]).get("param3")).isInstanceOf(Map.class);
+                      updateParams.add((Map<?, ?>) args[1]);
+                      pending++;
+                      return 1;
+                    case "flushStatements":
+                      BatchResult result = new BatchResult(null, "INSERT");
+                      int[] counts = new int[pending];
+                      Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+                      result.setUpdateCounts(counts);
+                      pending = 0;
+                      return Collections.singletonList(result);
+                    default:
+                      return null;
+                  }
+                });
+    executor.setSqlSessionFactory(
+        (SqlSessionFactory)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] {SqlSessionFactory.class},
+                (proxy, method, args) -> {
+                  assertThat(args[0]).isEqualTo(ExecutorType.BATCH);
+                  return session;
+                }));
+  }
+
+  @AfterEach
+  void tearDown() {
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("insertBatchFlushSize 행마다 flush 하고 전체 영향받은 행 수를 반환해야 한다")
+  void insertBatch_ShouldFlushEveryFlushSizeRows() {
+    // given
+    MybatisRepositoryProperties.getInstance().setInsertBatchFlushSize(2);
+    List<Item> items = new ArrayList<>();
+    for (long i = 0; i < 5; i++) {
+      items.add(new Item(i));
+    }
+
+    // when
+    int affectedRows = executor.insertBatch(mapper(), items);
+
+    // then
+    assertThat(affectedRows).isEqualTo(5);
+    assertThat(Collections.frequency(calls, "flushStatements")).isEqualTo(3);
+    assertThat(calls).contains("commit", "close");
+  }
+
+  private ItemRepository mapper() {
+    return (ItemRepository)
+        Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {ItemRepository.class},
+            (proxy, method, args) -> null);
+  }
+
+  @Test
+  @DisplayName("updateBatch 는 id 마다 bind UPDATE 를 실행하고 전체 영향받은 행 수를 반환해야 한다")
+  void updateBatch_ShouldUpdateEveryId() {
+    // given
+    MybatisRepositoryProperties.getInstance().setInsertBatchFlushSize(2);
+    Map<Long, Map<String, Object>> updateMaps = new LinkedHashMap<>();
+    for (long i = 0; i < 3; i++) {
+      Map<String, Object> updateMap = new LinkedHashMap<>();
+      updateMap.put("id", i);
+      updateMap.put("name", "item" + i);
+      updateMaps.put(i, updateMap);
+    }
+
+    // when
+    int affectedRows = executor.updateBatch(mapper(), updateMaps);
+
+    // then
+    assertThat(affectedRows).isEqualTo(3);
+    assertThat(Collections.frequency(calls, "update")).isEqualTo(3);
+    assertThat(Collections.frequency(calls, "flushStatements")).isEqualTo(2);
+    assertThat(updateParams.get(1).get("param2"))
+        .isEqualTo(Collections.singletonMap("name", "item1"));
+    assertThat(updateParams.get(1).get("param3")).isEqualTo(Collections.singletonMap("id", 1L));
+  }
+
+  @Test
+  @DisplayName("updateBatch 는 id 필드만 있는 updateMap 을 실행 전에 거부해야 한다")
+  void updateBatch_ShouldRejectIdOnlyUpdateMap() {
+    // given
+    Map<Long, Map<String, Object>> updateMaps = new LinkedHashMap<>();
+    updateMaps.put(1L, Collections.singletonMap("name", "a"));
+    updateMaps.put(2L, Collections.singletonMap("id", 2L));
+
+    // when & then
+    assertThatThrownBy(() -> executor.updateBatch(mapper(), updateMaps))
+        .isInstanceOf(MybatisRepositoryException.class)
+        .hasMessageContaining("no columns to update");
+    assertThat(calls).isEmpty();
+  }
+
+  @Test
+  @DisplayName("updateBatch 는 빈 updateMap 을 실행 전에 거부해야 한다")
+  void updateBatch_ShouldRejectEmptyUpdateMap() {
+    // given
+    Map<Long, Map<String, Object>> updateMaps =
+        Collections.singletonMap(1L, Collections.<String, Object>emptyMap());
+
+    // when & then
+    assertThatThrownBy(() -> executor.updateBatch(mapper(), updateMaps))
+        .isInstanceOf(MybatisRepositoryException.class)
+        .hasMessageContaining("no columns to update");
+    assertThat(calls).isEmpty();
+  }
+}
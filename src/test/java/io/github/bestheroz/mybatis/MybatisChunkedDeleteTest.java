@@ -0,0 +1,77 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisChunkedDeleteTest {
+
+  @AfterEach
+  void tearDown() {
+    // 인터럽트 테스트가 남긴 상태를 지운다
+    Thread.interrupted();
+  }
+
+  @Test
+  @DisplayName("chunk 가 chunkSize 보다 적게 지우면 멈추고 전체 지운 행 수를 반환해야 한다")
+  void execute_ShouldStopWhenChunkIsNotFull() {
+    // given
+    AtomicInteger remaining = new AtomicInteger(250);
+    List<Long> progress = new ArrayList<>();
+
+    // when
+    long deletedRows =
+        MybatisChunkedDelete.execute(
+            () -> {
+              int deleted = Math.min(100, remaining.get());
+              remaining.addAndGet(-deleted);
+              return deleted;
+            },
+            100,
+            Duration.ZERO,
+            (chunkCount, deleted, total) -> progress.add(total));
+
+    // then
+    assertThat(deletedRows).isEqualTo(250L);
+    assertThat(progress).containsExactly(100L, 200L, 250L);
+  }
+
+  @Test
+  @DisplayName("스레드가 인터럽트되면 다음 chunk 를 시작하지 않아야 한다")
+  void execute_ShouldStopWhenInterrupted() {
+    // given
+    AtomicInteger calls = new AtomicInteger();
+
+    // when
+    long deletedRows =
+        MybatisChunkedDelete.execute(
+            () -> {
+              calls.incrementAndGet();
+              Thread.currentThread().interrupt();
+              return 10;
+            },
+            10,
+            Duration.ofMinutes(1),
+            null);
+
+    // then
+    assertThat(deletedRows).isEqualTo(10L);
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(Thread.currentThread().isInterrupted()).isTrue();
+  }
+
+  @Test
+  @DisplayName("chunkSize 는 양수여야 한다")
+  void execute_ShouldRejectNonPositiveChunkSize() {
+    assertThatThrownBy(() -> MybatisChunkedDelete.execute(() -> 0, 0, null, null))
+        .isInstanceOf(MybatisRepositoryException.class);
+  }
+}
@@ -0,0 +1,209 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.bestheroz.mybatis.type.ValueEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisClauseBuilderTest {
+  private MybatisClauseBuilder clauseBuilder;
+
+  @Table(name = "posts")
+  static class Post {
+    @Column private Long id;
+    @Column private Instant createdAt;
+  }
+
+  enum Status implements ValueEnum {
+    ACTIVE;
+
+    @Override
+    public String getValue() {
+      return "A";
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    MybatisStringHelper stringHelper = new MybatisStringHelper();
+    clauseBuilder = new MybatisClauseBuilder(stringHelper, new MybatisEntityHelper(stringHelper));
+  }
+
+  @AfterEach
+  void tearDown() {
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("bindings 가 없으면 값을 SQL 리터럴로 포맷해야 한다")
+  void formatValue_ShouldInlineLiteralWithoutBindings() {
+    // when
+    String result = clauseBuilder.formatValue("It's", null);
+
+    // then
+    assertThat(result).isEqualTo("'It''s'");
+  }
+
+  @Test
+  @DisplayName("bindings 가 있으면 placeholder 를 반환하고 변환된 값을 파라미터 맵에 등록해야 한다")
+  void formatValue_ShouldBindPlaceholder() {
+    // given
+    Map<String, Object> params = new HashMap<>();
+    MybatisBindings bindings = new MybatisBindings(params);
+
+    // when
+    String first = clauseBuilder.formatValue("It's", bindings);
+    String second = clauseBuilder.formatValue(Instant.parse("2025-01-02T12:34:56Z"), bindings);
+
+    // then
+    assertThat(first).isEqualTo("#{__bind0}");
+    assertThat(second).isEqualTo("#{__bind1}");
+    assertThat(params)
+        .containsEntry("__bind0", "It's")
+        .containsEntry("__bind1", Timestamp.valueOf("2025-01-02 12:34:56"));
+  }
+
+  @Test
+  @DisplayName("리터럴 모드는 bind-parameter 모드와 같은 문자열 값을 따옴표로 감싸 써야 한다")
+  void formatValueForSQL_ShouldQuoteBindValue() {
+    // given
+    MybatisRepositoryProperties.getInstance().setDialect(MybatisPostgreSqlDialect.getInstance());
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("name", "It's");
+    map.put("count", 2);
+
+    // when
+    Object collectionBind = clauseBuilder.toBindValue(Arrays.asList("a", 2));
+    Object mapBind = clauseBuilder.toBindValue(map);
+    String collectionLiteral = clauseBuilder.formatValueForSQL(Arrays.asList("a", 2));
+    String mapLiteral = clauseBuilder.formatValueForSQL(map);
+
+    // then
+    assertThat(collectionBind).isEqualTo("[\"a\", 2]");
+    assertThat(collectionLiteral).isEqualTo("'[\"a\", 2]'");
+    assertThat(mapBind).isEqualTo("{\"name\":\"It's\", \"count\":2}");
+    assertThat(mapLiteral).isEqualTo("'{\"name\":\"It''s\", \"count\":2}'");
+    assertThat(clauseBuilder.formatValueForSQL(Instant.parse("2025-01-02T12:34:56Z")))
+        .isEqualTo("'2025-01-02 12:34:56.000'");
+  }
+
+  @Test
+  @DisplayName("bind-parameter 모드는 날짜 / 시간을 문자열이 아닌 JDBC 날짜 타입으로 바인딩해야 한다")
+  void toBindValue_ShouldBindJdbcTemporalTypes() {
+    // given
+    Map<String, Object> params = new HashMap<>();
+    MybatisBindings bindings = new MybatisBindings(params);
+    Instant instant = Instant.parse("2025-01-02T12:34:56Z");
+
+    // when
+    clauseBuilder.formatValue(instant, bindings);
+    clauseBuilder.formatValue("2025-01-02T21:34:56+09:00", bindings);
+    clauseBuilder.formatValue(OffsetDateTime.parse("2025-01-02T21:34:56+09:00"), bindings);
+    clauseBuilder.formatValue(LocalDateTime.of(2025, 1, 2, 12, 34, 56), bindings);
+    clauseBuilder.formatValue(LocalDate.of(2025, 1, 2), bindings);
+    clauseBuilder.formatValue(Date.from(instant), bindings);
+    clauseBuilder.formatValue(Status.ACTIVE, bindings);
+
+    // then
+    Timestamp utcWallClock = Timestamp.valueOf("2025-01-02 12:34:56");
+    assertThat(params)
+        .containsEntry("__bind0", utcWallClock)
+        .containsEntry("__bind1", utcWallClock)
+        .containsEntry("__bind2", utcWallClock)
+        .containsEntry("__bind3", utcWallClock)
+        .containsEntry("__bind4", java.sql.Date.valueOf("2025-01-02"))
+        .containsEntry("__bind5", new Timestamp(instant.toEpochMilli()))
+        .containsEntry("__bind6", "A");
+  }
+
+  @Test
+  @DisplayName("bind-parameter 모드의 IN 절은 원소마다 placeholder 를 만들어야 한다")
+  void buildInClause_ShouldBindEachElement() {
+    // given
+    Map<String, Object> params = new HashMap<>();
+    MybatisBindings bindings = new MybatisBindings(params);
+
+    // when
+    String result =
+        clauseBuilder.buildInClause(
+            "id", new LinkedHashSet<>(Arrays.asList(1L, 2L, 3L)), false, bindings);
+
+    // then
+    assertThat(result).isEqualTo("`id`  IN (#{__bind0}, #{__bind1}, #{__bind2})");
+    assertThat(params).containsEntry("__bind0", 1L).containsEntry("__bind2", 3L);
+  }
+
+  @Test
+  @DisplayName("정렬 방향이 같으면 keyset 조건을 row-value 비교로 만들어야 한다")
+  void buildKeysetClause_ShouldUseRowValueComparisonForUniformDirection() {
+    // when
+    String result =
+        clauseBuilder.buildKeysetClause(
+            Arrays.asList("-createdAt", "-id"), Arrays.asList("2025-01-01", 10L), Post.class, null);
+
+    // then
+    assertThat(result).isEqualTo("(`created_at`, `id`) < ('2025-01-01', 10)");
+  }
+
+  @Test
+  @DisplayName("정렬 방향이 섞여 있으면 keyset 조건을 OR 로 펼쳐야 한다")
+  void buildKeysetClause_ShouldExpandMixedDirections() {
+    // given
+    Map<String, Object> params = new HashMap<>();
+    MybatisBindings bindings = new MybatisBindings(params);
+
+    // when
+    String result =
+        clauseBuilder.buildKeysetClause(
+            Arrays.asList("-createdAt", "id"),
+            Arrays.asList("2025-01-01", 10L),
+            Post.class,
+            bindings);
+
+    // then
+    assertThat(result)
+        .isEqualTo(
+            "((`created_at` < #{__bind0}) OR (`created_at` = #{__bind1} AND `id` > #{__bind2}))");
+    assertThat(params).containsEntry("__bind1", "2025-01-01").containsEntry("__bind2", 10L);
+  }
+
+  @Test
+  @DisplayName("Condition.from 은 대소문자와 관계없이 찾고, 모르는 코드는 EQ 로 처리해야 한다")
+  void conditionFrom_ShouldIgnoreCaseAndDefaultToEq() {
+    // when & then
+    assertThat(Condition.from("notIn")).isEqualTo(Condition.NOT_IN);
+    assertThat(Condition.from("NOTIN")).isEqualTo(Condition.NOT_IN);
+    assertThat(Condition.from("unknown")).isEqualTo(Condition.EQ);
+  }
+
+  @Test
+  @DisplayName("appendClause 는 buildClause 와 같은 조건식을 StringBuilder 에 붙여야 한다")
+  void appendClause_ShouldMatchBuildClause() {
+    // given
+    StringBuilder sb = new StringBuilder("WHERE ");
+
+    // when
+    Condition.ENDS_WITH.appendClause(sb, "name", "It's", clauseBuilder, null);
+
+    // then
+    assertThat(sb.toString())
+        .isEqualTo("WHERE " + Condition.ENDS_WITH.buildClause("name", "It's", clauseBuilder))
+        .isEqualTo("WHERE RIGHT(`name`, CHAR_LENGTH('It''s')) = 'It''s'");
+  }
+}
@@ -0,0 +1,480 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisCommandTest {
+  private final MybatisCommand command = new MybatisCommand();
+
+  @Table(name = "items")
+  static class Item {
+    @Column private Long id;
+    @Column private String name;
+
+    Item(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  interface ItemRepository extends MybatisRepository<Item> {}
+
+  interface ItemNoIdRepository extends MybatisNoIdRepository<Item> {}
+
+  /** ProviderContext 는 MyBatis 내부에서만 생성하므로 reflection 으로 만든다 (mapperType 만 사용) */
+  private static ProviderContext providerContext() throws ReflectiveOperationException {
+    return providerContext(ItemRepository.class);
+  }
+
+  private static ProviderContext providerContext(final Class<?> mapperType)
+      throws ReflectiveOperationException {
+    Constructor<ProviderContext> constructor =
+        ProviderContext.class.getDeclaredConstructor(Class.class, Method.class, String.class);
+    constructor.setAccessible(true);
+    return constructor.newInstance(mapperType, null, null);
+  }
+
+  /**
+   * default 메서드는 그대로 실행하고, buildSelectCursorSQL 인자는 MyBatis 의 ParamMap 처럼 param1.. 키로 담는 mapper
+   * 프록시
+   */
+  @SuppressWarnings("unchecked")
+  private static <R> R cursorRecorder(final Class<R> mapperType, final Map<String, Object> params) {
+    return (R)
+        Proxy.newProxyInstance(
+            mapperType.getClassLoader(),
+            new Class<?>[] {mapperType},
+            (proxy, method, args) -> {
+              if (method.isDefault()) {
+                return invokeDefault(proxy, method, args);
+              }
+              if ("buildSelectCursorSQL".equals(method.getName())) {
+                for (int i = 0; i < args.length; i++) {
+                  params.put("param" + (i + 1), args[i]);
+                }
+              }
+              return null;
+            });
+  }
+
+  private static Object invokeDefault(final Object proxy, final Method method, final Object[] args)
+      throws Throwable {
+    Class<?> declaringClass = method.getDeclaringClass();
+    MethodHandles.Lookup lookup;
+    try {
+      // Java 9 이상
+      lookup =
+          (MethodHandles.Lookup)
+              MethodHandles.class
+                  .getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class)
+                  .invoke(null, declaringClass, MethodHandles.lookup());
+    } catch (NoSuchMethodException e) {
+      Constructor<MethodHandles.Lookup> constructor =
+          MethodHandles.Lookup.class.getDeclaredConstructor(Class.class);
+      constructor.setAccessible(true);
+      lookup = constructor.newInstance(declaringClass);
+    }
+    return lookup
+        .unreflectSpecial(method, declaringClass)
+        .bindTo(proxy)
+        .invokeWithArguments(args == null ? new Object[0] : args);
+  }
+
+  private static List<Item> items(int count) {
+    List<Item> items = new ArrayList<>();
+    for (long i = 0; i < count; i++) {
+      items.add(new Item(i, "name" + i));
+    }
+    return items;
+  }
+
+  @AfterEach
+  void tearDown() {
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("insertBatch SQL 은 행마다 VALUES 튜플을 하나씩 만들어야 한다")
+  void buildInsertBatchSQL_ShouldRenderOneTuplePerRow() {
+    // when
+    String sql = command.buildInsertBatchSQL(Arrays.asList(new Item(1L, "a"), new Item(2L, "b")));
+
+    // then
+    assertThat(sql).contains("(1, 'a')");
+    assertThat(sql).contains("(2, 'b')");
+    assertThat(sql).doesNotContain("((");
+  }
+
+  @Test
+  @DisplayName("insertBatchMaxRows 를 넘으면 여러 chunk 로 나누어야 한다")
+  void splitInsertBatch_ShouldSplitByRowCount() {
+    // given
+    MybatisRepositoryProperties.getInstance().setInsertBatchMaxRows(2);
+
+    // when
+    List<List<Item>> chunks = MybatisCommand.splitInsertBatch(items(5));
+
+    // then
+    assertThat(chunks).hasSize(3);
+    assertThat(chunks.get(2)).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("insertBatchMaxBytes 를 넘으면 여러 chunk 로 나누어야 한다")
+  void splitInsertBatch_ShouldSplitByEstimatedSize() {
+    // given
+    MybatisRepositoryProperties.getInstance().setInsertBatchMaxBytes(200);
+
+    // when
+    List<List<Item>> chunks = MybatisCommand.splitInsertBatch(items(20));
+
+    // then
+    assertThat(chunks.size()).isGreaterThan(1);
+    int total = 0;
+    for (List<Item> chunk : chunks) {
+      assertThat(command.buildInsertBatchSQL(chunk).length()).isLessThanOrEqualTo(200);
+      total += chunk.size();
+    }
+    assertThat(total).isEqualTo(20);
+  }
+
+  @Test
+  @DisplayName("JDBC batch 용 INSERT 는 모드와 관계없이 값을 파라미터로 바인딩해야 한다")
+  void provideInsertSQL_ShouldBindValues() {
+    // given
+    Map<String, Object> params = new HashMap<>();
+    params.put("param2", new Item(1L, "a"));
+
+    // when
+    String sql = command.provideInsertSQL(null, params);
+
+    // then
+    assertThat(sql).contains("#{__bind0}", "#{__bind1}");
+    assertThat(params.get("__bind0")).isEqualTo(1L);
+    assertThat(params.get("__bind1")).isEqualTo("a");
+  }
+
+  @Test
+  @DisplayName("MySQL upsert 는 ON DUPLICATE KEY UPDATE 로 id 를 뺀 컬럼을 바꿔야 한다")
+  void buildUpsertSQL_ShouldUseOnDuplicateKeyOnMySql() {
+    // when
+    String sql = command.buildUpsertSQL(Arrays.asList(new Item(1L, "a"), new Item(2L, "b")), null);
+
+    // then
+    assertThat(sql)
+        .isEqualTo(
+            "INSERT INTO `items` (`id`, `name`)\nVALUES (1, 'a')\n, (2, 'b')\n"
+                + "ON DUPLICATE KEY UPDATE `name` = VALUES(`name`)");
+  }
+
+  @Test
+  @DisplayName("PostgreSQL upsert 는 id 로 ON CONFLICT 를 만들어야 한다")
+  void buildUpsertSQL_ShouldUseOnConflictOnPostgreSql() {
+    // given
+    MybatisRepositoryProperties.getInstance().setDialect(MybatisPostgreSqlDialect.getInstance());
+
+    // when
+    String sql =
+        command.buildUpsertSQL(
+            Collections.singletonList(new Item(1L, "a")), Collections.singleton("name"));
+
+    // then
+    assertThat(sql)
+        .isEqualTo(
+            "INSERT INTO \"items\" (\"id\", \"name\")\nVALUES (1, 'a')\n"
+                + "ON CONFLICT (\"id\") DO UPDATE SET \"name\" = EXCLUDED.\"name\"");
+  }
+
+  @Test
+  @DisplayName("H2 upsert 는 VALUES 를 source 로 하는 MERGE 를 만들어야 한다")
+  void buildUpsertSQL_ShouldUseMergeOnH2() {
+    // given
+    MybatisRepositoryProperties.getInstance().setDialect(MybatisH2Dialect.getInstance());
+
+    // when
+    String sql = command.buildUpsertSQL(Collections.singletonList(new Item(1L, "a")), null);
+
+    // then
+    assertThat(sql)
+        .isEqualTo(
+            "MERGE INTO \"items\" T\nUSING (VALUES (1, 'a')) S (\"id\", \"name\")\n"
+                + "ON T.\"id\" = S.\"id\"\n"
+                + "WHEN MATCHED THEN UPDATE SET \"name\" = S.\"name\"\n"
+                + "WHEN NOT MATCHED THEN INSERT (\"id\", \"name\") VALUES (S.\"id\", S.\"name\")");
+  }
+
+  @Test
+  @DisplayName("bind-parameter 모드의 upsert provider 는 값을 #{...} placeholder 로 바인딩해야 한다")
+  void provideUpsertSQL_ShouldBindValuesInBindMode() {
+    // given
+    MybatisRepositoryProperties.getInstance().setBindParameterMode(true);
+    Map<String, Object> params = new HashMap<>();
+    params.put("param2", Arrays.asList(new Item(1L, "a'b"), new Item(2L, "c")));
+
+    // when
+    String sql = command.provideUpsertSQL(null, params);
+
+    // then
+    assertThat(sql)
+        .isEqualTo(
+            "INSERT INTO `items` (`id`, `name`)\n"
+                + "VALUES (#{__bind0}, #{__bind1})\n, (#{__bind2}, #{__bind3})\n"
+                + "ON DUPLICATE KEY UPDATE `name` = VALUES(`name`)");
+    assertThat(params.get("__bind0")).isEqualTo(1L);
+    assertThat(params.get("__bind1")).isEqualTo("a'b");
+    assertThat(params.get("__bind3")).isEqualTo("c");
+  }
+
+  @Test
+  @DisplayName("upsert 의 updateFields 에 엔티티에 없는 필드가 있으면 예외가 발생해야 한다")
+  void buildUpsertSQL_ShouldRejectUnknownField() {
+    assertThatThrownBy(
+            () ->
+                command.buildUpsertSQL(
+                    Collections.singletonList(new Item(1L, "a")), Collections.singleton("age")))
+        .isInstanceOf(MybatisRepositoryException.class);
+  }
+
+  @Test
+  @DisplayName("updateAllById SQL 은 컬럼마다 CASE id WHEN 을 만들고 id 로 IN 조건을 걸어야 한다")
+  void buildUpdateAllByIdSQL_ShouldRenderCaseWhenPerColumn() {
+    // when
+    String sql = command.buildUpdateAllByIdSQL(Arrays.asList(new Item(1L, "a"), new Item(2L, "b")));
+
+    // then
+    assertThat(sql)
+        .isEqualTo(
+            "UPDATE `items`\nSET `name` = CASE `id` WHEN 1 THEN 'a' WHEN 2 THEN 'b' ELSE `name` END"
+                + "\nWHERE `id` IN (1, 2)");
+  }
+
+  @Test
+  @DisplayName("bind-parameter 모드의 updateMapsById 는 WHEN 과 IN 의 id 도 같은 placeholder 로 바인딩해야 한다")
+  void provideUpdateMapsByIdSQL_ShouldBindIdsInBindMode() throws Exception {
+    // given
+    MybatisRepositoryProperties.getInstance().setBindParameterMode(true);
+    Map<Long, Map<String, Object>> updateMaps = new LinkedHashMap<>();
+    updateMaps.put(1L, Collections.singletonMap("name", "a"));
+    updateMaps.put(2L, Collections.singletonMap("name", "b"));
+    Map<String, Object> params = new HashMap<>();
+    params.put("param2", updateMaps);
+
+    // when
+    String sql = command.provideUpdateMapsByIdSQL(providerContext(), params);
+
+    // then
+    assertThat(sql)
+        .isEqualTo(
+            "UPDATE `items`\nSET `name` = CASE `id` WHEN #{__bind0} THEN #{__bind2}"
+                + " WHEN #{__bind1} THEN #{__bind3} ELSE `name` END"
+                + "\nWHERE `id` IN (#{__bind0}, #{__bind1})");
+    assertThat(params.get("__bind0")).isEqualTo(1L);
+    assertThat(params.get("__bind1")).isEqualTo(2L);
+    assertThat(params.get("__bind3")).isEqualTo("b");
+  }
+
+  @Test
+  @DisplayName("updateAllById 는 null 필드를 바꾸지 않고 기존 값을 유지해야 한다")
+  void updateAllById_ShouldSkipNullFields() {
+    // given
+    List<Item> items = Arrays.asList(new Item(1L, "a"), new Item(2L, null));
+
+    // when
+    Map<Long, Map<String, Object>> updateMaps = MybatisCommand.toUpdateMapsById(items);
+    String sql = command.buildUpdateAllByIdSQL(items);
+
+    // then
+    assertThat(updateMaps.get(2L)).doesNotContainKey("name");
+    assertThat(sql)
+        .isEqualTo(
+            "UPDATE `items`\nSET `name` = CASE `id` WHEN 1 THEN 'a' ELSE `name` END"
+                + "\nWHERE `id` IN (1, 2)");
+  }
+
+  @Test
+  @DisplayName("updateBatchMaxRows 를 넘으면 id 순서를 유지하며 여러 chunk 로 나누어야 한다")
+  void splitUpdateBatch_ShouldSplitByRowCount() {
+    // given
+    MybatisRepositoryProperties.getInstance().setUpdateBatchMaxRows(2);
+    Map<Long, Map<String, Object>> updateMaps = MybatisCommand.toUpdateMapsById(items(5));
+
+    // when
+    List<Map<Long, Map<String, Object>>> chunks = MybatisCommand.splitUpdateBatch(updateMaps);
+
+    // then
+    assertThat(chunks).hasSize(3);
+    assertThat(chunks.get(0).keySet()).containsExactly(0L, 1L);
+    assertThat(chunks.get(2).keySet()).containsExactly(4L);
+  }
+
+  @Test
+  @DisplayName("updateAllById 는 id 가 없는 엔티티를 거부해야 한다")
+  void toUpdateMapsById_ShouldRejectMissingId() {
+    assertThatThrownBy(
+            () -> MybatisCommand.toUpdateMapsById(Collections.singletonList(new Item(null, "a"))))
+        .isInstanceOf(MybatisRepositoryException.class);
+  }
+
+  @Test
+  @DisplayName("exists SQL 은 COUNT 대신 SELECT 1 … LIMIT 1 을 만들어야 한다")
+  void buildExistsSQL_ShouldSelectOneRowAtMost() throws ReflectiveOperationException {
+    // when
+    String sql = command.buildExistsSQL(providerContext(), Collections.singletonMap("name", "a"));
+
+    // then
+    assertThat(sql).startsWith("SELECT 1\nFROM items\nWHERE ");
+    assertThat(sql).contains("`name` = 'a'");
+    assertThat(sql).endsWith("LIMIT 1");
+    assertThat(sql).doesNotContain("COUNT");
+  }
+
+  @Test
+  @DisplayName("나눠 지우기 SQL 은 dialect 에 인용된 테이블명을 넘겨야 한다")
+  void buildDeleteLimitSQL_ShouldPassQuotedTableToDialect() throws ReflectiveOperationException {
+    // given
+    MybatisRepositoryProperties.getInstance().setDialect(MybatisPostgreSqlDialect.getInstance());
+
+    // when
+    String sql =
+        command.buildDeleteLimitSQL(providerContext(), Collections.singletonMap("name", "a"), 10);
+
+    // then
+    assertThat(sql)
+        .startsWith("DELETE FROM \"items\"\nWHERE \"id\" IN (SELECT \"id\"\nFROM \"items\"");
+    assertThat(sql).endsWith("LIMIT 10)");
+  }
+
+  @Test
+  @DisplayName("추정 count 는 MySQL 통계를 읽고, 통계가 없는 H2 는 정확한 COUNT 를 만들어야 한다")
+  void buildCountEstimateSQL_ShouldFollowDialect() throws ReflectiveOperationException {
+    // when
+    String mysql = command.buildCountEstimateSQL(providerContext());
+    MybatisRepositoryProperties.getInstance().setDialect(MybatisH2Dialect.getInstance());
+    String h2 = command.buildCountEstimateSQL(providerContext());
+
+    // then
+    assertThat(mysql)
+        .isEqualTo(
+            "SELECT TABLE_ROWS FROM information_schema.TABLES"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'items'");
+    assertThat(h2).startsWith("SELECT COUNT(1)");
+  }
+
+  @Test
+  @DisplayName("Cursor 조회 문은 두 리포지토리 모두 FORWARD_ONLY 와 fetchSize 로 선언되어야 한다")
+  void buildSelectCursorSQL_ShouldStreamForwardOnly() throws NoSuchMethodException {
+    for (Class<?> repositoryType :
+        Arrays.asList(MybatisRepository.class, MybatisNoIdRepository.class)) {
+      // when
+      Method method =
+          repositoryType.getMethod(
+              "buildSelectCursorSQL",
+              ProviderContext.class,
+              Set.class,
+              Set.class,
+              Map.class,
+              List.class,
+              Integer.class,
+              Integer.class);
+      Options options = method.getAnnotation(Options.class);
+      SelectProvider provider = method.getAnnotation(SelectProvider.class);
+
+      // then
+      assertThat(method.getReturnType()).isEqualTo(Cursor.class);
+      assertThat(options.resultSetType()).isEqualTo(ResultSetType.FORWARD_ONLY);
+      assertThat(options.fetchSize()).isPositive();
+      assertThat(provider.type()).isEqualTo(MybatisCommand.class);
+      assertThat(provider.method()).isEqualTo(MybatisCommand.PROVIDE_SELECT_ITEMS);
+    }
+  }
+
+  @Test
+  @DisplayName("stream 메서드는 조건과 정렬, 대상 컬럼을 Cursor 조회 문에 그대로 넘겨야 한다")
+  void streamItems_ShouldPassArgumentsToCursorStatement() throws ReflectiveOperationException {
+    // given
+    Map<String, Object> byMapOrderBy = new HashMap<>();
+    Map<String, Object> targetItems = new HashMap<>();
+    Map<String, Object> noIdByMap = new HashMap<>();
+    Map<String, Object> all = new HashMap<>();
+
+    // when
+    cursorRecorder(ItemRepository.class, byMapOrderBy)
+        .streamItemsByMapOrderBy(
+            Collections.singletonMap("name", "a"), Collections.singletonList("-id"));
+    cursorRecorder(ItemRepository.class, targetItems)
+        .streamTargetItemsByMapOrderBy(Collections.singleton("name"), null, null);
+    cursorRecorder(ItemNoIdRepository.class, noIdByMap)
+        .streamItemsByMap(Collections.singletonMap("name", "b"));
+    cursorRecorder(ItemRepository.class, all).streamItems();
+
+    // then
+    assertThat(command.provideSelectSQL(providerContext(), byMapOrderBy))
+        .contains("WHERE", "`name` = 'a'", "ORDER BY `id` DESC")
+        .doesNotContain("LIMIT");
+    assertThat(command.provideSelectSQL(providerContext(), targetItems))
+        .startsWith("SELECT `name`")
+        .doesNotContain("WHERE", "ORDER BY");
+    assertThat(targetItems.get("param4")).isEqualTo(Collections.emptyMap());
+    assertThat(command.provideSelectSQL(providerContext(ItemNoIdRepository.class), noIdByMap))
+        .contains("`name` = 'b'");
+    assertThat(all.get("param5")).isEqualTo(Collections.emptyList());
+    assertThat(all.get("param6")).isNull();
+    assertThat(all.get("param7")).isNull();
+  }
+
+  @Test
+  @DisplayName("keyset 의 lastKeys 에 null 이 있으면 빈 페이지 대신 컬럼명을 담은 예외를 던져야 한다")
+  void provideSelectKeysetSQL_ShouldRejectNullLastKey() {
+    // given
+    Map<String, Object> params = new HashMap<>();
+    params.put("param2", Collections.emptyMap());
+    params.put("param3", Arrays.asList("name", "id"));
+    params.put("param4", Arrays.asList(null, 10L));
+    params.put("param5", 21);
+
+    // when & then
+    assertThatThrownBy(() -> command.provideSelectKeysetSQL(providerContext(), params))
+        .isInstanceOf(MybatisRepositoryException.class)
+        .hasMessageContaining("'name'");
+  }
+
+  @Test
+  @DisplayName("다음 페이지가 있는데 마지막 행의 정렬 컬럼 값이 null 이면 예외를 던져야 한다")
+  void keysetPageOf_ShouldRejectNullSortValueInLastRow() {
+    // given
+    List<Item> rows = Arrays.asList(new Item(1L, "a"), new Item(2L, null), new Item(3L, "c"));
+
+    // when
+    MybatisKeysetPage<Item> lastPage = MybatisKeysetPage.of(rows, Arrays.asList("name", "id"), 3);
+
+    // then
+    assertThat(lastPage.hasNext()).isFalse();
+    assertThatThrownBy(() -> MybatisKeysetPage.of(rows, Arrays.asList("name", "id"), 2))
+        .isInstanceOf(MybatisRepositoryException.class)
+        .hasMessageContaining("'name'");
+  }
+}
@@ -0,0 +1,183 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MybatisCountCacheTest {
+  private final MybatisCountCache cache = MybatisCountCache.getInstance();
+  private final AtomicInteger exactCalls = new AtomicInteger();
+
+  private long exact() {
+    return 100L + exactCalls.incrementAndGet();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    cache.clear();
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("CACHED 모드는 같은 조건의 count 를 재사용하고 invalidate 후에는 다시 세야 한다")
+  void cached_ShouldReuseUntilInvalidated() {
+    // given
+    Map<String, Object> where = Collections.singletonMap("removedFlag", false);
+
+    // when
+    long first = cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+    long second = cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+    cache.invalidate(String.class);
+    long third = cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+
+    // then
+    assertThat(first).isEqualTo(101L);
+    assertThat(second).isEqualTo(101L);
+    assertThat(third).isEqualTo(102L);
+  }
+
+  @Test
+  @DisplayName("CACHED 모드는 조건 값과 리포지토리가 다르면 따로 세야 한다")
+  void cached_ShouldKeyByRepositoryAndValues() {
+    // when
+    cache.count(
+        String.class,
+        Collections.singletonMap("id", 1L),
+        MybatisCountMode.CACHED,
+        this::exact,
+        () -> 1L);
+    cache.count(
+        String.class,
+        Collections.singletonMap("id", 2L),
+        MybatisCountMode.CACHED,
+        this::exact,
+        () -> 1L);
+    cache.count(
+        Integer.class,
+        Collections.singletonMap("id", 1L),
+        MybatisCountMode.CACHED,
+        this::exact,
+        () -> 1L);
+
+    // then
+    assertThat(exactCalls.get()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("count 도중 invalidate 되면 그 결과는 캐시하지 않아야 한다")
+  void cached_ShouldNotStoreResultRacingWithInvalidate() {
+    // given
+    Map<String, Object> where = Collections.emptyMap();
+
+    // when
+    cache.count(
+        String.class,
+        where,
+        MybatisCountMode.CACHED,
+        () -> {
+          cache.invalidate(String.class);
+          return exact();
+        },
+        () -> 1L);
+    long next = cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+
+    // then
+    assertThat(next).isEqualTo(102L);
+  }
+
+  @Test
+  @DisplayName("ESTIMATED 모드는 조건이 없을 때만 추정치를 쓰고, 추정치가 없으면 정확히 세야 한다")
+  void estimated_ShouldFallBackToExact() {
+    // when
+    long estimated =
+        cache.count(String.class, null, MybatisCountMode.ESTIMATED, this::exact, () -> 7L);
+    long withConditions =
+        cache.count(
+            String.class,
+            Collections.singletonMap("id", 1L),
+            MybatisCountMode.ESTIMATED,
+            this::exact,
+            () -> 7L);
+    long noStatistics =
+        cache.count(String.class, null, MybatisCountMode.ESTIMATED, this::exact, () -> null);
+
+    // then
+    assertThat(estimated).isEqualTo(7L);
+    assertThat(withConditions).isEqualTo(101L);
+    assertThat(noStatistics).isEqualTo(102L);
+  }
+
+  @Test
+  @DisplayName("ESTIMATED 가 EXACT 로 바뀐 리포지토리만 한 번 알린 것으로 기록해야 한다")
+  void estimated_ShouldRecordFallbackPerRepository() {
+    // given
+    Map<String, Object> conditions = Collections.singletonMap("id", 1L);
+
+    // when
+    cache.count(String.class, null, MybatisCountMode.ESTIMATED, this::exact, () -> 7L);
+    boolean afterEstimate = cache.isEstimateFallbackLogged(String.class);
+    cache.count(String.class, conditions, MybatisCountMode.ESTIMATED, this::exact, () -> 7L);
+    cache.count(String.class, conditions, MybatisCountMode.ESTIMATED, this::exact, () -> 7L);
+
+    // then
+    assertThat(afterEstimate).isFalse();
+    assertThat(cache.isEstimateFallbackLogged(String.class)).isTrue();
+    assertThat(cache.isEstimateFallbackLogged(Integer.class)).isFalse();
+    assertThat(exactCalls.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안의 count 는 캐시를 읽지도 채우지도 않아야 한다")
+  void cached_ShouldBypassInsideTransaction() {
+    // given
+    Map<String, Object> where = Collections.emptyMap();
+    cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+
+    // when
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    long inTransaction =
+        cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    long afterTransaction =
+        cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+
+    // then
+    assertThat(inTransaction).isEqualTo(102L);
+    assertThat(afterTransaction).isEqualTo(101L);
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안의 invalidate 는 트랜잭션이 끝난 뒤 다시 실행되어야 한다")
+  void invalidate_ShouldRepeatAfterCompletion() {
+    // given
+    Map<String, Object> where = Collections.emptyMap();
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    cache.invalidate(String.class);
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    // 커밋 전에 다른 조회가 이전 행 수를 캐시한다
+    cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+
+    // when
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+    }
+    long afterCommit =
+        cache.count(String.class, where, MybatisCountMode.CACHED, this::exact, () -> 1L);
+
+    // then
+    assertThat(afterCommit).isEqualTo(102L);
+  }
+}
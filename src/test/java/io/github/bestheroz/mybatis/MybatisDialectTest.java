@@ -0,0 +1,155 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisDialectTest {
+  private final MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+  private MybatisClauseBuilder clauseBuilder;
+
+  @Table(name = "members")
+  static class Member {
+    @Column private Long id;
+    @Column private String loginId;
+  }
+
+  @BeforeEach
+  void setUp() {
+    MybatisStringHelper stringHelper = new MybatisStringHelper();
+    clauseBuilder = new MybatisClauseBuilder(stringHelper, new MybatisEntityHelper(stringHelper));
+  }
+
+  @AfterEach
+  void tearDown() {
+    properties.resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("기본 dialect 는 MySQL 이고 백틱과 INSTR 을 사용해야 한다")
+  void defaultDialect_ShouldBeMySql() {
+    // when
+    String contains = Condition.CONTAINS.buildClause("login_id", "abc", clauseBuilder);
+
+    // then
+    assertThat(properties.getDialect()).isSameAs(MybatisMySqlDialect.getInstance());
+    assertThat(contains).isEqualTo("INSTR(`login_id`, 'abc') > 0");
+  }
+
+  @Test
+  @DisplayName("PostgreSQL dialect 는 큰따옴표 식별자와 strpos/starts_with 를 사용해야 한다")
+  void postgreSql_ShouldRenderNativeConditions() {
+    // given
+    properties.setDialect(MybatisPostgreSqlDialect.getInstance());
+
+    // when
+    String equal = Condition.EQ.buildClause("login_id", "abc", clauseBuilder);
+    String notContains = Condition.NOT_CONTAINS.buildClause("login_id", "abc", clauseBuilder);
+    String startsWith = Condition.STARTS_WITH.buildClause("login_id", "abc", clauseBuilder);
+    String endsWith = Condition.ENDS_WITH.buildClause("login_id", "abc", clauseBuilder);
+
+    // then
+    assertThat(equal).isEqualTo("\"login_id\" = 'abc'");
+    assertThat(notContains).isEqualTo("strpos(\"login_id\", 'abc') = 0");
+    assertThat(startsWith).isEqualTo("starts_with(\"login_id\", 'abc')");
+    assertThat(endsWith).isEqualTo("RIGHT(\"login_id\", CHAR_LENGTH('abc')) = 'abc'");
+  }
+
+  @Test
+  @DisplayName("H2 dialect 는 LOCATE 를 사용하고 bind 모드에서는 값을 쓸 때마다 바인딩해야 한다")
+  void h2_ShouldBindEachValueOccurrence() {
+    // given
+    properties.setDialect(MybatisH2Dialect.getInstance());
+    Map<String, Object> params = new HashMap<>();
+    MybatisBindings bindings = new MybatisBindings(params);
+
+    // when
+    String contains = Condition.CONTAINS.buildClause("login_id", "abc", clauseBuilder, bindings);
+    String startsWith =
+        Condition.STARTS_WITH.buildClause("login_id", "abc", clauseBuilder, bindings);
+
+    // then
+    assertThat(contains).isEqualTo("LOCATE(#{__bind0}, \"login_id\") > 0");
+    assertThat(startsWith).isEqualTo("LEFT(\"login_id\", CHAR_LENGTH(#{__bind1})) = #{__bind2}");
+    assertThat(params).hasSize(3);
+  }
+
+  @Test
+  @DisplayName("PostgreSQL/H2 는 작은따옴표만 이스케이프하고 백슬래시는 그대로 둬야 한다")
+  void standardStrings_ShouldOnlyDoubleSingleQuotes() {
+    // given
+    properties.setDialect(MybatisPostgreSqlDialect.getInstance());
+
+    // when
+    String result = clauseBuilder.formatValueForSQL("It's C:\\temp");
+
+    // then
+    assertThat(result).isEqualTo("'It''s C:\\temp'");
+  }
+
+  @Test
+  @DisplayName("dialect 가 바뀌면 엔티티 메타데이터의 인용된 컬럼명도 바뀌어야 한다")
+  void metadata_ShouldFollowDialect() {
+    // given
+    MybatisEntityMetadata metadata = MybatisEntityHelper.getMetadata(Member.class);
+    String mysql = metadata.getInsertColumnClause();
+
+    // when
+    properties.setDialect(MybatisPostgreSqlDialect.getInstance());
+
+    // then
+    assertThat(mysql).isEqualTo("`id`, `login_id`");
+    assertThat(metadata.getInsertColumnClause()).isEqualTo("\"id\", \"login_id\"");
+    assertThat(metadata.getWrappedColumnName(1)).isEqualTo("\"login_id\"");
+  }
+
+  @Test
+  @DisplayName("DB 제품명으로 dialect 를 고르고, 모르는 DB 는 MySQL 을 사용해야 한다")
+  void resolve_ShouldMatchDatabaseProductName() {
+    assertThat(MybatisDialectResolver.resolve("MariaDB"))
+        .isSameAs(MybatisMySqlDialect.getInstance());
+    assertThat(MybatisDialectResolver.resolve("PostgreSQL"))
+        .isSameAs(MybatisPostgreSqlDialect.getInstance());
+    assertThat(MybatisDialectResolver.resolve("H2")).isSameAs(MybatisH2Dialect.getInstance());
+    assertThat(MybatisDialectResolver.resolve("Oracle"))
+        .isSameAs(MybatisMySqlDialect.getInstance());
+  }
+
+  @Test
+  @DisplayName("dialect 는 null 로 설정할 수 없어야 한다")
+  void setDialect_ShouldRejectNull() {
+    assertThatIllegalArgumentException().isThrownBy(() -> properties.setDialect(null));
+  }
+
+  @Test
+  @DisplayName("나눠 지우기는 MySQL 은 LIMIT, H2 는 FETCH FIRST, PostgreSQL 은 키 subquery 를 사용해야 한다")
+  void buildDeleteLimit_ShouldFollowDialect() {
+    // when
+    String mysql =
+        MybatisMySqlDialect.getInstance()
+            .buildDeleteLimit("`logs`", "`id`", sql -> sql.WHERE("expired = 1"), "100");
+    String h2 =
+        MybatisH2Dialect.getInstance()
+            .buildDeleteLimit("\"logs\"", "\"id\"", sql -> sql.WHERE("expired = 1"), "100");
+    String postgreSql =
+        MybatisPostgreSqlDialect.getInstance()
+            .buildDeleteLimit("\"logs\"", null, sql -> sql.WHERE("expired = 1"), "100");
+
+    // then
+    assertThat(mysql).isEqualTo("DELETE FROM `logs`\nWHERE (expired = 1)\nLIMIT 100");
+    assertThat(h2)
+        .isEqualTo("DELETE FROM \"logs\"\nWHERE (expired = 1)\nFETCH FIRST 100 ROWS ONLY");
+    assertThat(postgreSql)
+        .isEqualTo(
+            "DELETE FROM \"logs\"\nWHERE ctid IN (SELECT ctid\nFROM \"logs\"\nWHERE (expired = 1)"
+                + "\nLIMIT 100)");
+  }
+}
@@ -0,0 +1,181 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MybatisEntityCacheTest {
+  private final MybatisEntityCache cache = MybatisEntityCache.getInstance();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @MybatisCacheable(maxSize = 2)
+  @Table(name = "codes")
+  static class Code {
+    @Column private Long id;
+  }
+
+  @MybatisCacheable(cacheMissing = false)
+  @Table(name = "countries")
+  static class Country {
+    @Column private Long id;
+  }
+
+  @Table(name = "members")
+  static class Member {
+    @Column private Long id;
+  }
+
+  interface CodeRepository extends MybatisRepository<Code> {}
+
+  interface CountryRepository extends MybatisRepository<Country> {}
+
+  interface MemberRepository extends MybatisRepository<Member> {}
+
+  private <E> Optional<E> load(final E entity) {
+    loads.incrementAndGet();
+    return Optional.ofNullable(entity);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    cache.clear();
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("@MybatisCacheable 엔티티는 같은 id 를 다시 조회하지 않고, evict 후에는 다시 조회해야 한다")
+  void get_ShouldCacheUntilEvicted() {
+    // given
+    Code code = new Code();
+
+    // when
+    Optional<Code> first = cache.get(CodeRepository.class, 1L, () -> load(code));
+    Optional<Code> second = cache.get(CodeRepository.class, 1L, () -> load(code));
+    cache.evict(CodeRepository.class, 1L);
+    cache.get(CodeRepository.class, 1L, () -> load(code));
+
+    // then
+    assertThat(first.get()).isSameAs(code);
+    assertThat(second.get()).isSameAs(code);
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("없는 id 도 캐시하고, insert 후 evictMissing 으로 지워야 한다")
+  void get_ShouldCacheMissingUntilInsert() {
+    // when
+    cache.get(CodeRepository.class, 1L, () -> load(null));
+    Optional<Code> cachedMissing = cache.get(CodeRepository.class, 1L, () -> load(new Code()));
+    cache.evictMissing(CodeRepository.class);
+    Optional<Code> afterInsert = cache.get(CodeRepository.class, 1L, () -> load(new Code()));
+
+    // then
+    assertThat(cachedMissing).isEmpty();
+    assertThat(afterInsert).isPresent();
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("cacheMissing = false 이면 없는 id 는 매번 조회해야 한다")
+  void get_ShouldNotCacheMissingWhenDisabled() {
+    // when
+    cache.get(CountryRepository.class, 1L, () -> load(null));
+    cache.get(CountryRepository.class, 1L, () -> load(null));
+
+    // then
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("어노테이션이 없는 엔티티는 entityCacheClasses 에 있을 때만 캐시해야 한다")
+  void get_ShouldFollowEntityCacheClasses() {
+    // when
+    cache.get(MemberRepository.class, 1L, () -> load(new Member()));
+    cache.get(MemberRepository.class, 1L, () -> load(new Member()));
+    MybatisRepositoryProperties.getInstance()
+        .setEntityCacheClasses(Collections.singleton(Member.class));
+    cache.get(MemberRepository.class, 1L, () -> load(new Member()));
+    cache.get(MemberRepository.class, 1L, () -> load(new Member()));
+
+    // then
+    assertThat(loads.get()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("maxSize 에 닿으면 항목을 하나 버려야 한다")
+  void get_ShouldEvictWhenFull() {
+    // when
+    for (long id = 1; id <= 3; id++) {
+      cache.get(CodeRepository.class, id, () -> load(new Code()));
+    }
+
+    // then
+    assertThat(cache.getEvictionCount()).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("롤백된 트랜잭션 안에서 조회한 행은 캐시되지 않아야 한다")
+  void get_ShouldNotCacheRowsReadInsideRolledBackTransaction() {
+    // given
+    Code uncommitted = new Code();
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    Optional<Code> inTransaction = cache.get(CodeRepository.class, 1L, () -> load(uncommitted));
+
+    // when
+    completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+    Optional<Code> afterRollback = cache.get(CodeRepository.class, 1L, () -> load(null));
+
+    // then
+    assertThat(inTransaction.get()).isSameAs(uncommitted);
+    assertThat(afterRollback).isEmpty();
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안의 evict 는 커밋 전에 다른 스레드가 다시 캐시한 이전 값도 트랜잭션이 끝난 뒤 지워야 한다")
+  void evict_ShouldRepeatAfterCompletion() {
+    // given
+    Code before = new Code();
+    Code after = new Code();
+    TransactionSynchronizationManager.initSynchronization();
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    cache.evict(CodeRepository.class, 1L);
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    // 커밋 전에 트랜잭션 밖의 조회가 이전 행을 캐시한다
+    Optional<Code> beforeCommit = cache.get(CodeRepository.class, 1L, () -> load(before));
+
+    // when
+    completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+    Optional<Code> afterCommit = cache.get(CodeRepository.class, 1L, () -> load(after));
+
+    // then
+    assertThat(beforeCommit.get()).isSameAs(before);
+    assertThat(afterCommit.get()).isSameAs(after);
+  }
+
+  // 트랜잭션 매니저처럼 등록된 동기화의 afterCompletion 을 호출하고 트랜잭션을 끝낸다
+  private static void completeTransaction(final int status) {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCompletion(status);
+    }
+    TransactionSynchronizationManager.clearSynchronization();
+  }
+}
@@ -0,0 +1,148 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.bestheroz.mybatis.exception.MybatisRepositoryException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisEntityMetadataTest {
+  private final MybatisStringHelper stringHelper = new MybatisStringHelper();
+
+  static class BaseEntity {
+    @Id @Column protected Long id;
+  }
+
+  @Table(name = "users")
+  static class User extends BaseEntity {
+    @Column private String loginId;
+
+    @Column(name = "nm")
+    private String name;
+
+    private String notColumn;
+
+    User(Long id, String loginId, String name) {
+      this.id = id;
+      this.loginId = loginId;
+      this.name = name;
+    }
+  }
+
+  @Table(name = "products")
+  static class Product {
+    @Id @Column private Long id;
+    @Column String productName;
+
+    Product(Long id, String productName) {
+      this.id = id;
+      this.productName = productName;
+    }
+  }
+
+  static class AuditLog {
+    @Column private String message;
+  }
+
+  @Test
+  @DisplayName("@Column 필드와 컬럼명, 테이블명, id 를 미리 계산해야 한다")
+  void create_ShouldPrecomputeColumns() {
+    // when
+    MybatisEntityMetadata metadata = MybatisEntityMetadata.create(User.class, stringHelper);
+
+    // then
+    assertThat(metadata.getTableName()).isEqualTo("users");
+    assertThat(metadata.getFieldNames()).containsExactly("loginId", "name", "id");
+    assertThat(metadata.getColumnName(metadata.indexOfField("loginId"))).isEqualTo("login_id");
+    assertThat(metadata.getWrappedColumnName(metadata.indexOfField("name"))).isEqualTo("`nm`");
+    assertThat(metadata.indexOfColumn("nm")).isEqualTo(metadata.indexOfField("name"));
+    assertThat(metadata.indexOfField("notColumn")).isEqualTo(-1);
+    assertThat(metadata.getIdColumnName()).isEqualTo("id");
+  }
+
+  @Test
+  @DisplayName("MybatisEntityHelper 는 생성자로 받은 stringHelper 의 규칙으로 컬럼명을 만들어야 한다")
+  void entityHelper_ShouldUseInjectedStringHelper() {
+    // given
+    MybatisStringHelper upperCase =
+        new MybatisStringHelper() {
+          @Override
+          protected String getCamelCaseToSnakeCase(final String str) {
+            return super.getCamelCaseToSnakeCase(str).toUpperCase();
+          }
+        };
+
+    // when
+    String custom = new MybatisEntityHelper(upperCase).getColumnName(User.class, "loginId");
+    String standard = new MybatisEntityHelper(stringHelper).getColumnName(User.class, "loginId");
+
+    // then
+    assertThat(custom).isEqualTo("LOGIN_ID");
+    assertThat(standard).isEqualTo("login_id");
+    assertThat(MybatisEntityHelper.getMetadata(User.class).getColumnName(0)).isEqualTo("login_id");
+  }
+
+  @Test
+  @DisplayName("@Table 이 없으면 클래스명을 snake_case 로, id 가 없으면 예외를 던져야 한다")
+  void create_ShouldFallBackWithoutAnnotations() {
+    // when
+    MybatisEntityMetadata metadata = MybatisEntityMetadata.create(AuditLog.class, stringHelper);
+
+    // then
+    assertThat(metadata.getTableName()).isEqualTo("audit_log");
+    assertThat(metadata.hasId()).isFalse();
+    assertThatThrownBy(metadata::getIdFieldName).isInstanceOf(MybatisRepositoryException.class);
+  }
+
+  @Test
+  @DisplayName("getter 로 필드 값을 컬럼 순서대로 읽어야 한다")
+  void getValues_ShouldReadFieldsInColumnOrder() {
+    // given
+    MybatisEntityMetadata metadata = MybatisEntityMetadata.create(User.class, stringHelper);
+
+    // when
+    Object[] values = metadata.getValues(new User(1L, "login", "name"));
+
+    // then
+    assertThat(values).containsExactly("login", "name", 1L);
+  }
+
+  @Test
+  @DisplayName("생성된 메타데이터 클래스가 있으면 리플렉션 대신 사용해야 한다")
+  void create_ShouldUseGeneratedMetadata() {
+    // when
+    MybatisEntityMetadata metadata = MybatisEntityMetadata.create(Product.class, stringHelper);
+
+    // then
+    assertThat(metadata.getTableName()).isEqualTo("generated_products");
+    assertThat(metadata.getInsertColumnClause()).isEqualTo("`product_name`, `id`");
+    assertThat(metadata.getIdFieldName()).isEqualTo("id");
+    assertThat(metadata.getValues(new Product(1L, "book"))).containsExactly("book", 1L);
+  }
+
+  @Test
+  @DisplayName("기본이 아닌 stringHelper 는 생성된 메타데이터 대신 그 규칙으로 스캔해야 한다")
+  void create_ShouldIgnoreGeneratedMetadataForCustomStringHelper() {
+    // given
+    MybatisStringHelper upperCase =
+        new MybatisStringHelper() {
+          @Override
+          protected String getCamelCaseToSnakeCase(final String str) {
+            return super.getCamelCaseToSnakeCase(str).toUpperCase();
+          }
+        };
+
+    // when
+    String column = new MybatisEntityHelper(upperCase).getColumnName(Product.class, "productName");
+    MybatisEntityMetadata metadata = MybatisEntityMetadata.create(Product.class, upperCase);
+
+    // then
+    assertThat(column).isEqualTo("PRODUCT_NAME");
+    assertThat(metadata.getTableName()).isEqualTo("products");
+    assertThat(metadata.getFieldNames()).containsExactly("id", "productName");
+  }
+}
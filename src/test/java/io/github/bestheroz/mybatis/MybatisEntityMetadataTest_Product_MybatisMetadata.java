@@ -0,0 +1,48 @@
+package io.github.bestheroz.mybatis;
+
+/** MybatisEntityMetadataTest.Product 용. mybatis-repository-processor 가 만드는 클래스와 같은 형태 */
+public final class MybatisEntityMetadataTest_Product_MybatisMetadata
+    implements MybatisGeneratedMetadata {
+  private static final String[] FIELD_NAMES = {"productName", "id"};
+  private static final String[] COLUMN_NAMES = {"product_name", "id"};
+
+  @Override
+  public String getTableName() {
+    return "generated_products";
+  }
+
+  @Override
+  public String[] getFieldNames() {
+    return FIELD_NAMES.clone();
+  }
+
+  @Override
+  public String[] getColumnNames() {
+    return COLUMN_NAMES.clone();
+  }
+
+  @Override
+  public int getIdIndex() {
+    return 1;
+  }
+
+  @Override
+  public boolean isReadable(int index) {
+    switch (index) {
+      case 0:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public Object getValue(Object entity, int index) {
+    switch (index) {
+      case 0:
+        return ((MybatisEntityMetadataTest.Product) entity).productName;
+      default:
+        throw new IllegalArgumentException("Field is not readable: " + index);
+    }
+  }
+}
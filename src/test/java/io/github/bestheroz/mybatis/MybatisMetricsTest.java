@@ -0,0 +1,157 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisMetricsTest {
+  private SimpleMeterRegistry registry;
+
+  @Table(name = "items")
+  static class Item {
+    @Column private Long id;
+    @Column private String name;
+
+    Item(Long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  interface ItemRepository extends MybatisRepository<Item> {}
+
+  /** MyBatis 가 mapper 메서드마다 만드는 ProviderContext 를 reflection 으로 만든다 */
+  private static ProviderContext providerContext(final String methodName)
+      throws ReflectiveOperationException {
+    Method mapperMethod =
+        Stream.of(ItemRepository.class.getMethods())
+            .filter(method -> method.getName().equals(methodName))
+            .findFirst()
+            .orElseThrow(NoSuchMethodException::new);
+    Constructor<ProviderContext> constructor =
+        ProviderContext.class.getDeclaredConstructor(Class.class, Method.class, String.class);
+    constructor.setAccessible(true);
+    return constructor.newInstance(ItemRepository.class, mapperMethod, null);
+  }
+
+  private long buildCount(final String operation) {
+    return registry
+        .get(MybatisMicrometerMetrics.BUILD)
+        .tags("entity", "Item", "operation", operation)
+        .timer()
+        .count();
+  }
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    MybatisMetrics.setInstance(new MybatisMicrometerMetrics(registry));
+  }
+
+  @AfterEach
+  void tearDown() {
+    MybatisMetrics.setInstance(null);
+  }
+
+  @Test
+  @DisplayName("기본 MybatisMetrics 는 비활성이며 시간을 측정하지 않아야 한다")
+  void defaultMetrics_ShouldBeDisabled() {
+    // given
+    MybatisMetrics.setInstance(null);
+
+    // when
+    MybatisMetrics metrics = MybatisMetrics.getInstance();
+
+    // then
+    assertThat(metrics.isEnabled()).isFalse();
+    assertThat(metrics.start()).isEqualTo(0L);
+  }
+
+  @Test
+  @DisplayName("insertBatch SQL 생성 시 entity/operation 태그로 생성 시간과 batch 크기를 기록해야 한다")
+  void buildInsertBatchSQL_ShouldRecordBuildTimeAndBatchSize() {
+    // when
+    new MybatisCommand().buildInsertBatchSQL(Arrays.asList(new Item(1L, "a"), new Item(2L, "b")));
+
+    // then
+    assertThat(
+            registry
+                .get(MybatisMicrometerMetrics.BUILD)
+                .tags("entity", "Item", "operation", MybatisCommand.INSERT_BATCH)
+                .timer()
+                .count())
+        .isEqualTo(1L);
+    assertThat(
+            registry
+                .get(MybatisMicrometerMetrics.BATCH_SIZE)
+                .tags("entity", "Item", "operation", MybatisCommand.INSERT_BATCH)
+                .summary()
+                .totalAmount())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("인터셉터는 리포지토리 mapper 문에서만 엔티티 클래스를 찾아야 한다")
+  void interceptor_ShouldResolveEntityClassOfRepositoryStatements() {
+    // given
+    MybatisMetricsInterceptor interceptor = new MybatisMetricsInterceptor();
+    String statementId = ItemRepository.class.getName() + "." + MybatisCommand.SELECT_ITEMS;
+
+    // when
+    Class<?> entityClass = interceptor.resolveEntityClass(statementId);
+
+    // then
+    assertThat(entityClass).isEqualTo(Item.class);
+    assertThat(MybatisMetricsInterceptor.operationOf(statementId))
+        .isEqualTo(MybatisCommand.SELECT_ITEMS);
+    assertThat(interceptor.resolveEntityClass("com.example.UnknownMapper.select")).isNull();
+  }
+
+  @Test
+  @DisplayName("provider 는 생성 지표의 operation 태그로 실행 지표와 같은 mapper 메서드 이름을 써야 한다")
+  void provider_ShouldTagBuildWithMapperMethodName() throws Exception {
+    // given
+    MybatisCommand command = new MybatisCommand();
+    Map<String, Object> selectOneParams = new HashMap<>();
+    selectOneParams.put("param2", Collections.singletonMap("id", 1L));
+    Map<String, Object> keysetParams = new HashMap<>();
+    keysetParams.put("param3", Collections.singletonList("id"));
+    keysetParams.put("param5", 10);
+
+    // when
+    command.provideSelectOneSQL(providerContext("buildSelectOneSQL"), selectOneParams);
+    command.provideSelectKeysetSQL(providerContext("buildSelectKeysetSQL"), keysetParams);
+
+    // then
+    assertThat(buildCount("buildSelectOneSQL")).isEqualTo(1L);
+    assertThat(buildCount("buildSelectKeysetSQL")).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("인터셉터는 Cursor 조회(queryCursor)도 가로채야 한다")
+  void interceptor_ShouldInterceptQueryCursor() {
+    // when
+    Intercepts intercepts = MybatisMetricsInterceptor.class.getAnnotation(Intercepts.class);
+
+    // then
+    assertThat(Stream.of(intercepts.value()).map(Signature::method).collect(Collectors.toList()))
+        .contains("update", "query", "queryCursor");
+  }
+}
@@ -0,0 +1,190 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisMultiGetTest {
+  private final MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+
+  @Table(name = "members")
+  static class Member {
+    @Column private Long id;
+
+    Member(final Long id) {
+      this.id = id;
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    properties.resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("null 과 중복을 뺀 값을 maxInClauseSize 개씩 나누어 조회해야 한다")
+  void query_ShouldSplitDistinctValues() {
+    // given
+    properties.setMaxInClauseSize(2);
+    List<Set<Object>> chunks = new ArrayList<>();
+
+    // when
+    List<Object> result =
+        MybatisMultiGet.query(
+            Arrays.asList(1L, 2L, null, 2L, 3L, 1L, 4L, 5L),
+            true,
+            chunk -> {
+              chunks.add(chunk);
+              return new ArrayList<>(chunk);
+            });
+
+    // then
+    assertThat(chunks).hasSize(3);
+    assertThat(new ArrayList<>(chunks.get(2))).containsExactly(5L);
+    assertThat(result).containsExactly(1L, 2L, 3L, 4L, 5L);
+  }
+
+  @Test
+  @DisplayName("값이 없으면 조회하지 않고 빈 목록을 반환해야 한다")
+  void query_ShouldSkipEmptyValues() {
+    // when
+    List<Object> result =
+        MybatisMultiGet.query(
+            Collections.emptyList(),
+            true,
+            chunk -> {
+              throw new IllegalStateException("should not query");
+            });
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  @DisplayName("multiGetParallelism 이 2 이상이면 chunk 를 다른 스레드에서 조회하고 chunk 순서대로 합쳐야 한다")
+  void query_ShouldMergeParallelChunksInOrder() {
+    // given
+    properties.setMaxInClauseSize(1);
+    properties.setMultiGetParallelism(3);
+    List<String> threads = new CopyOnWriteArrayList<>();
+    List<Long> ids = Arrays.asList(5L, 4L, 3L, 2L, 1L);
+
+    // when
+    List<Object> result =
+        MybatisMultiGet.query(
+            ids,
+            true,
+            chunk -> {
+              threads.add(Thread.currentThread().getName());
+              try {
+                // 뒤 chunk 가 먼저 끝나도록
+                Thread.sleep((Long) chunk.iterator().next() * 10);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return new ArrayList<>(chunk);
+            });
+
+    // then
+    assertThat(result).containsExactly(5L, 4L, 3L, 2L, 1L);
+    assertThat(threads.stream().allMatch(name -> name.startsWith("mybatis-multi-get-")))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("thread-safe 가 아닌 mapper 는 multiGetParallelism 과 관계없이 호출 스레드에서 차례로 조회해야 한다")
+  void query_ShouldStaySequentialForNonThreadSafeMapper() {
+    // given
+    properties.setMaxInClauseSize(1);
+    properties.setMultiGetParallelism(3);
+    Object mapper =
+        Proxy.newProxyInstance(
+            Runnable.class.getClassLoader(),
+            new Class<?>[] {Runnable.class},
+            new SessionHandler(new Object()));
+    List<String> threads = new CopyOnWriteArrayList<>();
+
+    // when
+    List<Object> result =
+        MybatisMultiGet.query(
+            Arrays.asList(1L, 2L, 3L),
+            mapper,
+            chunk -> {
+              threads.add(Thread.currentThread().getName());
+              return new ArrayList<>(chunk);
+            });
+
+    // then
+    assertThat(result).containsExactly(1L, 2L, 3L);
+    String caller = Thread.currentThread().getName();
+    assertThat(threads.stream().allMatch(caller::equals)).isTrue();
+    assertThat(MybatisMultiGet.isThreadSafe(new Object())).isFalse();
+  }
+
+  @Test
+  @DisplayName("multiGetParallelism 이 바뀌어도 이미 받아 간 풀은 release 전까지 shutdown 되지 않아야 한다")
+  void acquire_ShouldKeepHandedOutPoolUntilReleased() throws Exception {
+    // given
+    properties.setMultiGetParallelism(2);
+    MybatisMultiGet.Pool inFlight = MybatisMultiGet.acquire();
+
+    // when
+    properties.setMultiGetParallelism(3);
+    MybatisMultiGet.Pool next = MybatisMultiGet.acquire();
+    String stillRunning = inFlight.executor.submit(() -> "ok").get(5, TimeUnit.SECONDS);
+    MybatisMultiGet.release(inFlight);
+    MybatisMultiGet.release(next);
+
+    // then
+    assertThat(next).isNotSameAs(inFlight);
+    assertThat(stillRunning).isEqualTo("ok");
+    assertThat(inFlight.executor.isShutdown()).isTrue();
+    assertThat(next.executor.isShutdown()).isFalse();
+  }
+
+  // MyBatis 의 MapperProxy 처럼 sqlSession 필드를 가진 handler
+  private static final class SessionHandler implements InvocationHandler {
+    private final Object sqlSession;
+
+    private SessionHandler(final Object sqlSession) {
+      this.sqlSession = sqlSession;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+      return null;
+    }
+  }
+
+  @Test
+  @DisplayName("mapById 는 입력 id 순서를 유지하고 없는 id 는 빼야 한다")
+  void mapById_ShouldFollowInputOrder() {
+    // given
+    List<Member> items = Arrays.asList(new Member(1L), new Member(3L), new Member(2L));
+
+    // when
+    Map<Long, Member> result = MybatisMultiGet.mapById(Arrays.asList(3L, 9L, 1L, 2L), items);
+
+    // then
+    assertThat(new ArrayList<>(result.keySet())).containsExactly(3L, 1L, 2L);
+    assertThat(result.get(3L)).isSameAs(items.get(1));
+    assertThat(result.values().stream().map(m -> m.id).collect(Collectors.toList()))
+        .containsExactly(3L, 1L, 2L);
+  }
+}
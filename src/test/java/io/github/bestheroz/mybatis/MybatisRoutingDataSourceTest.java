@@ -0,0 +1,205 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MybatisRoutingDataSourceTest {
+  private final DataSource primary = dataSource("primary", false);
+  private final DataSource replica1 = dataSource("replica1", false);
+  private final DataSource replica2 = dataSource("replica2", false);
+
+  @MybatisCacheable
+  @Table(name = "codes")
+  static class Code {
+    @Column private Long id;
+  }
+
+  interface CodeRepository extends MybatisRepository<Code> {}
+
+  // toString 이 이름인 커넥션을 여는 DataSource
+  private static DataSource dataSource(final String name, final boolean failing) {
+    Connection connection =
+        (Connection)
+            Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> "toString".equals(method.getName()) ? name : null);
+    return (DataSource)
+        Proxy.newProxyInstance(
+            DataSource.class.getClassLoader(),
+            new Class<?>[] {DataSource.class},
+            (proxy, method, args) -> {
+              if ("getConnection".equals(method.getName())) {
+                if (failing) {
+                  throw new SQLException(name + " is down");
+                }
+                return connection;
+              }
+              return "toString".equals(method.getName()) ? name : null;
+            });
+  }
+
+  // MybatisReadRoutingInterceptor 처럼 조회 문 실행 중에 커넥션을 연다
+  private static String read(final DataSource dataSource, final long elapsedNanos)
+      throws SQLException {
+    boolean previous = MybatisReadWriteRouting.beginRead();
+    try {
+      return dataSource.getConnection().toString();
+    } finally {
+      MybatisReadWriteRouting.endRead(previous, elapsedNanos);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    MybatisReadWriteRouting.setPrimaryOnly(false);
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+    MybatisEntityCache.getInstance().clear();
+    MybatisCountCache.getInstance().clear();
+  }
+
+  // read 를 SQLException 없이 호출한다
+  private static String readUnchecked(final DataSource dataSource) {
+    try {
+      return read(dataSource, 1);
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Test
+  @DisplayName("조회 문의 커넥션은 replica 를 돌아가며 쓰고, 그 밖의 커넥션은 primary 를 써야 한다")
+  void getConnection_ShouldRoundRobinReads() throws SQLException {
+    // given
+    MybatisRoutingDataSource routing =
+        new MybatisRoutingDataSource(primary, Arrays.asList(replica1, replica2));
+
+    // when
+    String first = read(routing, 1);
+    String second = read(routing, 1);
+    String third = read(routing, 1);
+    String write = routing.getConnection().toString();
+
+    // then
+    assertThat(first).isEqualTo("replica1");
+    assertThat(second).isEqualTo("replica2");
+    assertThat(third).isEqualTo("replica1");
+    assertThat(write).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("onPrimary / setPrimaryOnly / readOnly 가 아닌 트랜잭션 안의 조회는 primary 를 써야 한다")
+  void getConnection_ShouldReadYourWritesOnPrimary() throws SQLException {
+    // given
+    MybatisRoutingDataSource routing =
+        new MybatisRoutingDataSource(primary, Arrays.asList(replica1, replica2));
+
+    // when
+    String perCall = MybatisReadWriteRouting.onPrimary(() -> readUnchecked(routing));
+    MybatisReadWriteRouting.setPrimaryOnly(true);
+    String perThread = read(routing, 1);
+    MybatisReadWriteRouting.setPrimaryOnly(false);
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    String readWriteTransaction = read(routing, 1);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    String readOnlyTransaction = read(routing, 1);
+
+    // then
+    assertThat(perCall).isEqualTo("primary");
+    assertThat(perThread).isEqualTo("primary");
+    assertThat(readWriteTransaction).isEqualTo("primary");
+    assertThat(readOnlyTransaction).startsWith("replica");
+  }
+
+  @Test
+  @DisplayName("LEAST_LATENCY 는 측정된 실행 시간이 가장 짧은 replica 를 써야 한다")
+  void getConnection_ShouldPreferFastestReplica() throws SQLException {
+    // given
+    MybatisRepositoryProperties.getInstance()
+        .setReplicaSelection(MybatisReplicaSelection.LEAST_LATENCY);
+    MybatisRoutingDataSource routing =
+        new MybatisRoutingDataSource(primary, Arrays.asList(replica1, replica2));
+    routing.getReplicas().get(0).recordLatency(50_000_000);
+    routing.getReplicas().get(1).recordLatency(1_000_000);
+
+    // when
+    String first = read(routing, 1_000_000);
+    String second = read(routing, 1_000_000);
+
+    // then
+    assertThat(first).isEqualTo("replica2");
+    assertThat(second).isEqualTo("replica2");
+  }
+
+  @Test
+  @DisplayName("replica 커넥션을 열지 못하면 primary 를 쓰고 그 replica 를 뒤로 미뤄야 한다")
+  void getConnection_ShouldFallBackToPrimary() throws SQLException {
+    // given
+    MybatisRepositoryProperties.getInstance()
+        .setReplicaSelection(MybatisReplicaSelection.LEAST_LATENCY);
+    MybatisRoutingDataSource routing =
+        new MybatisRoutingDataSource(primary, Arrays.asList(dataSource("down", true), replica2));
+    routing.getReplicas().get(1).recordLatency(1_000_000);
+
+    // when
+    String first = read(routing, 1);
+    String second = read(routing, 1);
+
+    // then
+    assertThat(first).isEqualTo("primary");
+    assertThat(second).isEqualTo("replica2");
+    assertThat(MybatisReadWriteRouting.isPrimaryOnly()).isFalse();
+  }
+
+  @Test
+  @DisplayName("엔티티 / count 캐시를 채우는 조회는 replica 가 아닌 primary 를 써야 한다")
+  void getConnection_ShouldFillCachesFromPrimary() {
+    // given
+    MybatisRoutingDataSource routing =
+        new MybatisRoutingDataSource(primary, Arrays.asList(replica1, replica2));
+    AtomicReference<String> entityRead = new AtomicReference<>();
+    AtomicReference<String> countRead = new AtomicReference<>();
+
+    // when
+    MybatisEntityCache.getInstance()
+        .get(
+            CodeRepository.class,
+            1L,
+            () -> {
+              entityRead.set(readUnchecked(routing));
+              return Optional.of(new Code());
+            });
+    MybatisCountCache.getInstance()
+        .count(
+            CodeRepository.class,
+            Collections.emptyMap(),
+            MybatisCountMode.CACHED,
+            () -> {
+              countRead.set(readUnchecked(routing));
+              return 1L;
+            },
+            () -> 1L);
+    String uncached = readUnchecked(routing);
+
+    // then
+    assertThat(entityRead.get()).isEqualTo("primary");
+    assertThat(countRead.get()).isEqualTo("primary");
+    assertThat(uncached).startsWith("replica");
+  }
+}
@@ -0,0 +1,47 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisSqlLoggerTest {
+
+  @AfterEach
+  void tearDown() {
+    MybatisRepositoryProperties.getInstance().resetToDefaults();
+  }
+
+  @Test
+  @DisplayName("최대 길이 이하의 SQL 은 줄바꿈만 공백으로 바꿔야 한다")
+  void abbreviate_ShouldFlattenShortSql() {
+    // when
+    String result = MybatisSqlLogger.abbreviate("SELECT *\nFROM users\nWHERE id = 1", 100);
+
+    // then
+    assertThat(result).isEqualTo("SELECT * FROM users WHERE id = 1");
+  }
+
+  @Test
+  @DisplayName("최대 길이를 넘는 SQL 은 잘라내고 전체 길이를 덧붙여야 한다")
+  void abbreviate_ShouldTruncateLongSql() {
+    // when
+    String result = MybatisSqlLogger.abbreviate("SELECT *\nFROM users", 8);
+
+    // then
+    assertThat(result).isEqualTo("SELECT *... (19 chars)");
+  }
+
+  @Test
+  @DisplayName("sqlLogSampleRate 는 0.0 ~ 1.0 범위만 허용해야 한다")
+  void setSqlLogSampleRate_ShouldRejectOutOfRange() {
+    // given
+    MybatisRepositoryProperties properties = MybatisRepositoryProperties.getInstance();
+
+    // when & then
+    assertThrows(IllegalArgumentException.class, () -> properties.setSqlLogSampleRate(1.5));
+    assertThrows(IllegalArgumentException.class, () -> properties.setSqlLogSampleRate(-0.1));
+  }
+}
@@ -0,0 +1,80 @@
+package io.github.bestheroz.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MybatisSqlTemplateCacheTest {
+  private MybatisRepositoryProperties properties;
+  private MybatisSqlTemplateCache cache;
+
+  @BeforeEach
+  void setUp() {
+    properties = new MybatisRepositoryProperties();
+    cache = new MybatisSqlTemplateCache(properties);
+  }
+
+  private static MybatisSqlTemplate template(String sql) {
+    return new MybatisSqlTemplate.Recorder().toTemplate(sql);
+  }
+
+  @Test
+  @DisplayName("같은 형태의 요청은 캐시된 템플릿을 반환하고 hit/miss 를 집계해야 한다")
+  void getOrCompile_ShouldReturnCachedTemplateForSameShape() {
+    // given
+    MybatisSqlTemplate first =
+        cache.getOrCompile(
+            () -> template("SELECT 1"), Object.class, "select", new HashSet<>(Arrays.asList("a")));
+
+    // when
+    MybatisSqlTemplate second =
+        cache.getOrCompile(
+            () -> template("SELECT 2"),
+            Object.class,
+            "select",
+            new LinkedHashSet<>(Collections.singletonList("a")));
+
+    // then
+    assertThat(second).isSameAs(first);
+    assertThat(cache.getHitCount()).isEqualTo(1L);
+    assertThat(cache.getMissCount()).isEqualTo(1L);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("최대 크기를 넘으면 기존 템플릿을 제거해야 한다")
+  void getOrCompile_ShouldStayBounded() {
+    // given
+    properties.setSqlTemplateCacheSize(2);
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      cache.getOrCompile(() -> template("SELECT 1"), Object.class, "select", i);
+    }
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(3L);
+  }
+
+  @Test
+  @DisplayName("캐시 크기가 0 이면 매번 새로 컴파일해야 한다")
+  void getOrCompile_ShouldNotCacheWhenDisabled() {
+    // given
+    properties.setSqlTemplateCacheSize(0);
+
+    // when
+    cache.getOrCompile(() -> template("SELECT 1"), Object.class, "select");
+    cache.getOrCompile(() -> template("SELECT 1"), Object.class, "select");
+
+    // then
+    assertThat(cache.size()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(2L);
+  }
+}